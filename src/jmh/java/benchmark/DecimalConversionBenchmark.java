@@ -0,0 +1,141 @@
+package benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import lexer.DecimalAccumulator;
+
+/**
+ * A benchmark to compare the conversion of number literals by a `DecimalAccumulator` against the previous conversion
+ * of `ExpressionLexer` (a `float` accumulator, a division per fractional digit and `Math.pow` for the exponent) and
+ * against `Double.parseDouble`. Each invocation converts a batch of literals from one distribution.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecimalConversionBenchmark {
+
+    // the number of literals in a batch
+    private static final int BATCH_SIZE = 1024;
+
+    // the distribution of the literals: small integers, decimals with a few fractional digits, literals with
+    // exponents, or literals with 17 significant digits (as the shortest representations of doubles have)
+    @Param({"integers", "decimals", "scientific", "long"})
+    public String distribution;
+
+    private String[] literals;
+    private final DecimalAccumulator decimal = new DecimalAccumulator();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(0);
+        literals = new String[BATCH_SIZE];
+        for (int index = 0; index < BATCH_SIZE; index++) {
+            literals[index] = switch (distribution) {
+                case "integers" -> Integer.toString(random.nextInt(10000));
+                case "decimals" -> random.nextInt(1000) + "." + (1 + random.nextInt(9999));
+                case "scientific" ->
+                    (1 + random.nextInt(9)) + "." + random.nextInt(1000) + "e" + (random.nextInt(40) - 20);
+                case "long" -> Double.toString(random.nextDouble()).replace("E", "e");
+                default -> throw new IllegalArgumentException(
+                    "[DecimalConversionBenchmark:setUp] Unknown distribution " + distribution + "."
+                );
+            };
+        }
+    }
+
+    /**
+     * Converts the batch by the previous conversion of `ExpressionLexer`.
+     * @return the sum of the values
+     */
+    @Benchmark
+    public double previous() {
+        double sum = 0;
+        for (String literal : literals) {
+            sum += convertPreviously(literal);
+        }
+        return sum;
+    }
+
+    /**
+     * Converts the batch by a `DecimalAccumulator`.
+     * @return the sum of the values
+     */
+    @Benchmark
+    public double accumulator() {
+        double sum = 0;
+        for (String literal : literals) {
+            sum += convertByAccumulator(literal);
+        }
+        return sum;
+    }
+
+    /**
+     * Converts the batch by `Double.parseDouble`.
+     * @return the sum of the values
+     */
+    @Benchmark
+    public double parseDouble() {
+        double sum = 0;
+        for (String literal : literals) {
+            sum += Double.parseDouble(literal);
+        }
+        return sum;
+    }
+
+    /**
+     * Converts an unsigned literal as `ExpressionLexer` previously did.
+     * @param literal an unsigned literal
+     * @return the literal's (single-precision) value
+     */
+    private static double convertPreviously(String literal) {
+        int index = 0;
+        int integer = 0;
+        while (index < literal.length() && Character.isDigit(literal.charAt(index))) {
+            integer = 10 * integer + Character.digit(literal.charAt(index++), 10);
+        }
+        double fraction = 0;
+        if (index < literal.length() && literal.charAt(index) == '.') {
+            index++;
+            int divisor = 10;
+            while (index < literal.length() && Character.isDigit(literal.charAt(index))) {
+                fraction = fraction + (double) Character.digit(literal.charAt(index++), 10) / divisor;
+                divisor *= 10;
+            }
+        }
+        float value = integer;
+        value += fraction;
+        if (index < literal.length() && literal.charAt(index) == 'e') {
+            value *= Math.pow(10, Integer.parseInt(literal, index + 1, literal.length(), 10));
+        }
+        return value;
+    }
+
+    /**
+     * Converts an unsigned literal by the accumulator.
+     * @param literal an unsigned literal
+     * @return the literal's value
+     */
+    private double convertByAccumulator(String literal) {
+        decimal.clear();
+        int index = 0;
+        while (index < literal.length() && Character.isDigit(literal.charAt(index))) {
+            decimal.appendIntegerDigit(Character.digit(literal.charAt(index++), 10));
+        }
+        if (index < literal.length() && literal.charAt(index) == '.') {
+            index++;
+            while (index < literal.length() && Character.isDigit(literal.charAt(index))) {
+                decimal.appendFractionDigit(Character.digit(literal.charAt(index++), 10));
+            }
+        }
+        if (index < literal.length() && literal.charAt(index) == 'e') {
+            decimal.setExponent(Integer.parseInt(literal, index + 1, literal.length(), 10));
+        }
+        return decimal.toDouble();
+    }
+}
@@ -0,0 +1,76 @@
+package benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import lexer.IllegalLexemeException;
+import parser.IllegalTokenException;
+import service.ExpressionService;
+
+/**
+ * A benchmark of the scalability of an `ExpressionService`: the throughput of `evaluateAll` on a batch of short
+ * expressions with a work-stealing pool of 1 to N threads, and with the default executor (virtual threads where the
+ * runtime supports them). Pass `-p parallelism=1,2,...,N` to match the machine's processors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionServiceBenchmark {
+
+    // the number of expressions in a batch
+    private static final int BATCH_SIZE = 10000;
+    // the number of threads in the pool, or `0` for the service's default executor
+    @Param({"0", "1", "2", "4", "8"})
+    public int parallelism;
+
+    private List<String> batch;
+    private ExecutorService executor;
+    private ExpressionService service;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(0);
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int index = 0; index < BATCH_SIZE; index++) {
+            batch.add(String.format(
+                "%d.%d + cos %d - %d! ^ 2 - 1e-%d",
+                random.nextInt(1000),
+                random.nextInt(1000),
+                random.nextInt(100),
+                random.nextInt(20),
+                random.nextInt(10)
+            ));
+        }
+        if (parallelism == 0) {
+            executor = null;
+            service = new ExpressionService();
+        } else {
+            executor = Executors.newWorkStealingPool(parallelism);
+            service = new ExpressionService(executor);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.close();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<Double> evaluateAll() throws IOException, IllegalLexemeException, IllegalTokenException {
+        return service.evaluateAll(batch);
+    }
+}
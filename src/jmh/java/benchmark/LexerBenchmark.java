@@ -0,0 +1,116 @@
+package benchmark;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import lexer.CharSequenceExpressionLexer;
+import lexer.DfaExpressionLexer;
+import lexer.ExpressionLexer;
+import lexer.IllegalLexemeException;
+import lexer.Lexer;
+import lexer.TokenCursor;
+import lexer.token.ExpressionTokenTag;
+
+/**
+ * A benchmark to compare the lexers on a long generated expression. Each invocation lexes the whole expression.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LexerBenchmark {
+
+    // the number of operands in the expression
+    private static final int OPERAND_COUNT = 10000;
+
+    private String inputString;
+
+    @Setup
+    public void setUp() {
+        inputString = generateExpression(new Random(0), OPERAND_COUNT);
+    }
+
+    /**
+     * Generates a valid expression of operands (numbers of several forms, some with factorials or cosines) joined by
+     * binary operators.
+     * @param random a random number generator
+     * @param operandCount the number of operands
+     * @return the expression
+     */
+    static String generateExpression(Random random, int operandCount) {
+        String[] operators = {" + ", " - ", "^", "-", "+"};
+        StringBuilder expression = new StringBuilder();
+        for (int index = 0; index < operandCount; index++) {
+            if (index > 0) {
+                expression.append(operators[random.nextInt(operators.length)]);
+                if (index % 16 == 0) {
+                    expression.append('\n');
+                }
+            }
+            switch (random.nextInt(5)) {
+                case 0 -> expression.append(random.nextInt(100)).append('!');
+                case 1 -> expression.append("cos ").append(random.nextInt(1000));
+                case 2 -> expression.append(random.nextInt(1000)).append('.').append(random.nextInt(1000));
+                case 3 -> expression.append(1 + random.nextInt(9)).append(".5e").append(random.nextInt(20) - 10);
+                default -> expression.append(random.nextInt(100000));
+            }
+        }
+        return expression.toString();
+    }
+
+    /**
+     * Counts a lexer's tokens.
+     * @param lexer a lexer
+     * @return the number of tokens
+     */
+    private static int count(Lexer<ExpressionTokenTag> lexer) throws IOException, IllegalLexemeException {
+        int count = 0;
+        while (lexer.scan() != null) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Counts a token cursor's tokens without materialising them.
+     * @param cursor a token cursor
+     * @return the number of tokens
+     */
+    private static int advanceAll(TokenCursor<ExpressionTokenTag> cursor) throws IOException, IllegalLexemeException {
+        int count = 0;
+        while (cursor.advance() != TokenCursor.EOF) {
+            count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int expressionLexer() throws IOException, IllegalLexemeException {
+        return count(new ExpressionLexer(inputString));
+    }
+
+    @Benchmark
+    public int charSequenceLexer() throws IOException, IllegalLexemeException {
+        return count(new CharSequenceExpressionLexer(inputString));
+    }
+
+    @Benchmark
+    public int dfaLexer() throws IOException, IllegalLexemeException {
+        return count(new DfaExpressionLexer(inputString));
+    }
+
+    @Benchmark
+    public int expressionCursor() throws IOException, IllegalLexemeException {
+        return advanceAll(new ExpressionLexer(inputString));
+    }
+
+    @Benchmark
+    public int dfaCursor() throws IOException, IllegalLexemeException {
+        return advanceAll(new DfaExpressionLexer(inputString));
+    }
+}
@@ -0,0 +1,93 @@
+package benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import lexer.ExpressionLexer;
+import lexer.IllegalLexemeException;
+import lexer.Lexer;
+import lexer.MappedFileExpressionLexer;
+import lexer.token.ExpressionTokenTag;
+
+/**
+ * A benchmark of the throughput of lexing a large expression file with a `MappedFileExpressionLexer` against an
+ * `ExpressionLexer` over a buffered reader. The auxiliary `bytes` counter reports the throughput in bytes per second
+ * (so MB/s is its score divided by 10^6).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappedFileBenchmark {
+
+    // the number of operands in the file's expression (about 8 bytes each)
+    private static final int OPERAND_COUNT = 2_000_000;
+
+    private Path path;
+    private long size;
+
+    /**
+     * A counter of the bytes that a benchmark lexes, which JMH reports as a rate.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long bytes;
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        path = Files.createTempFile("expression", ".txt");
+        Files.writeString(
+            path,
+            LexerBenchmark.generateExpression(new Random(0), OPERAND_COUNT),
+            StandardCharsets.US_ASCII
+        );
+        size = Files.size(path);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(path);
+    }
+
+    /**
+     * Counts a lexer's tokens.
+     * @param lexer a lexer
+     * @return the number of tokens
+     */
+    private static int count(Lexer<ExpressionTokenTag> lexer) throws IOException, IllegalLexemeException {
+        int count = 0;
+        while (lexer.scan() != null) {
+            count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int mappedFile(Counters counters) throws IOException, IllegalLexemeException {
+        try (MappedFileExpressionLexer lexer = new MappedFileExpressionLexer(path)) {
+            int count = count(lexer);
+            counters.bytes += size;
+            return count;
+        }
+    }
+
+    @Benchmark
+    public int reader(Counters counters) throws IOException, IllegalLexemeException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            int count = count(new ExpressionLexer(reader));
+            counters.bytes += size;
+            return count;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import parser.symbol.CosineNonterminal;
+import parser.symbol.FactorialNonterminal;
+import parser.symbol.OperationMemo;
+import parser.symbol.PowerNonterminal;
+
+/**
+ * A benchmark to compare computing factorials, cosines and powers against consulting an `OperationMemo`, on operands
+ * drawn from a few (so most lookups hit) or many (so most miss) distinct values. Each invocation computes every
+ * operand of a stream. The memo benchmarks install a fresh memo per iteration and print each operator's hit ratio and
+ * whether the memo disabled itself for the operator.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperationMemoBenchmark {
+
+    // the number of operands in a stream
+    private static final int OPERAND_COUNT = 4096;
+
+    // the number of distinct operands
+    @Param({"64", "1048576"})
+    public int distinctCount;
+
+    private double[] operands;
+    private double[] exponents;
+    private double[] factorialOperands;
+    private OperationMemo memo;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(0);
+        operands = new double[OPERAND_COUNT];
+        exponents = new double[OPERAND_COUNT];
+        factorialOperands = new double[OPERAND_COUNT];
+        for (int index = 0; index < OPERAND_COUNT; index++) {
+            int value = random.nextInt(distinctCount);
+            operands[index] = 1 + value / 1000.0;
+            exponents[index] = 0.5 + value % 7;
+            // the largest operands whose factorials the evaluator accepts, down to the least that the memo holds
+            factorialOperands[index] = 170 - value % Math.min(distinctCount, 151);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+        memo = new OperationMemo();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownIteration() {
+        OperationMemo.setGlobal(null);
+        if (memo.getHitCount(OperationMemo.Operator.COSINE) + memo.getMissCount(OperationMemo.Operator.COSINE) > 0) {
+            report(OperationMemo.Operator.COSINE);
+        }
+        if (memo.getHitCount(OperationMemo.Operator.POWER) + memo.getMissCount(OperationMemo.Operator.POWER) > 0) {
+            report(OperationMemo.Operator.POWER);
+        }
+        if (memo.getHitCount(OperationMemo.Operator.FACTORIAL) > 0) {
+            report(OperationMemo.Operator.FACTORIAL);
+        }
+    }
+
+    /**
+     * Prints an operator's hit ratio and whether the memo holds its values.
+     * @param operator the operator
+     */
+    private void report(OperationMemo.Operator operator) {
+        System.out.printf(
+            "%n%s: hit ratio %.4f, enabled %b%n",
+            operator,
+            memo.getHitRatio(operator),
+            memo.isEnabled(operator)
+        );
+    }
+
+    @Benchmark
+    public double cosine() {
+        OperationMemo.setGlobal(null);
+        double sum = 0;
+        for (double operand : operands) {
+            sum += CosineNonterminal.cosine(operand);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double memoCosine() {
+        OperationMemo.setGlobal(memo);
+        double sum = 0;
+        for (double operand : operands) {
+            sum += CosineNonterminal.cosine(operand);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double power() {
+        OperationMemo.setGlobal(null);
+        double sum = 0;
+        for (int index = 0; index < OPERAND_COUNT; index++) {
+            sum += PowerNonterminal.power(operands[index], exponents[index]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double memoPower() {
+        OperationMemo.setGlobal(memo);
+        double sum = 0;
+        for (int index = 0; index < OPERAND_COUNT; index++) {
+            sum += PowerNonterminal.power(operands[index], exponents[index]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long factorial() {
+        OperationMemo.setGlobal(null);
+        long sum = 0;
+        for (double operand : factorialOperands) {
+            sum += FactorialNonterminal.factorial(operand);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long memoFactorial() {
+        OperationMemo.setGlobal(memo);
+        long sum = 0;
+        for (double operand : factorialOperands) {
+            sum += FactorialNonterminal.factorial(operand);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,47 @@
+package benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import lexer.ExpressionLexer;
+import lexer.IllegalLexemeException;
+import parser.ExpressionParser;
+import parser.IllegalTokenException;
+import parser.symbol.Nonterminal;
+
+/**
+ * A benchmark to compare parsing with the shared parsing table against building a new table for every parse (the
+ * previous behaviour of `ExpressionParser`).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseTableBenchmark {
+
+    // the input string to parse
+    @Param({"4+2.3", "3.06e+2^-.89+5!-cos3!", "2. + cos89-34- 54 + 4! ^ 2 - cos cos 0.5"})
+    public String inputString;
+
+    /**
+     * Parses the input string with the parsing table that all `ExpressionParser` objects share.
+     * @return the resulting parse tree
+     */
+    @Benchmark
+    public Nonterminal<?, ?> sharedTable() throws IOException, IllegalLexemeException, IllegalTokenException {
+        return new ExpressionParser(new ExpressionLexer(inputString)).run();
+    }
+
+    /**
+     * Parses the input string with a parsing table that we build for this parse alone.
+     * @return the resulting parse tree
+     */
+    @Benchmark
+    public Nonterminal<?, ?> perParseTable() throws IOException, IllegalLexemeException, IllegalTokenException {
+        return new ExpressionParser(new ExpressionLexer(inputString), ExpressionParser.createTable()).run();
+    }
+}
@@ -0,0 +1,51 @@
+package benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import lexer.ExpressionLexer;
+import lexer.IllegalLexemeException;
+import parser.ExpressionEvaluator;
+import parser.ExpressionParser;
+import parser.IllegalTokenException;
+import parser.ParserContext;
+import parser.symbol.Nonterminal;
+
+/**
+ * A benchmark to compare parsing and evaluating with a new lexer and driver per input against reusing a thread's
+ * `ParserContext`. Run with `-prof gc` to compare the allocation per input.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserContextBenchmark {
+
+    // the input string to parse
+    @Param({"4+2.3", "2. + cos89-34- 54 + 4! ^ 2 - cos cos 0.5"})
+    public String inputString;
+
+    @Benchmark
+    public Nonterminal<?, ?> newParser() throws IOException, IllegalLexemeException, IllegalTokenException {
+        return new ExpressionParser(new ExpressionLexer(inputString)).run();
+    }
+
+    @Benchmark
+    public Nonterminal<?, ?> contextParser() throws IOException, IllegalLexemeException, IllegalTokenException {
+        return ParserContext.current().parse(inputString);
+    }
+
+    @Benchmark
+    public double newEvaluator() throws IOException, IllegalLexemeException, IllegalTokenException {
+        return new ExpressionEvaluator(new ExpressionLexer(inputString)).run();
+    }
+
+    @Benchmark
+    public double contextEvaluator() throws IOException, IllegalLexemeException, IllegalTokenException {
+        return ParserContext.current().evaluate(inputString);
+    }
+}
@@ -0,0 +1,96 @@
+package benchmark;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import lexer.IllegalLexemeException;
+import parser.IllegalTokenException;
+import parser.ParserContext;
+import parser.PlanCache;
+
+/**
+ * A benchmark to compare evaluating a stream of expressions from a few hundred templates (each with fresh numbers)
+ * by driving the automaton against evaluating by the reduction plans of a `PlanCache`. Each invocation evaluates
+ * every expression of the stream. The plan benchmark prints the cache's hit ratio and memory use after each trial.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlanCacheBenchmark {
+
+    // the number of templates and expressions
+    private static final int TEMPLATE_COUNT = 300;
+    private static final int EXPRESSION_COUNT = 10000;
+    // the operators and operand forms of a template
+    private static final String[] OPERATORS = {" + ", " - ", " ^ "};
+    private static final String[] OPERANDS = {"%d", "cos %d", "%d!", "%d.%d", "cos cos %d"};
+
+    // the number of operators per template
+    @Param({"2", "8"})
+    public int operatorCount;
+
+    private String[] expressions;
+    private PlanCache cache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(0);
+        String[] templates = new String[TEMPLATE_COUNT];
+        for (int index = 0; index < TEMPLATE_COUNT; index++) {
+            StringBuilder template = new StringBuilder(OPERANDS[random.nextInt(OPERANDS.length)]);
+            for (int count = 0; count < operatorCount; count++) {
+                template.append(OPERATORS[random.nextInt(OPERATORS.length)])
+                    .append(OPERANDS[random.nextInt(OPERANDS.length)]);
+            }
+            templates[index] = template.toString();
+        }
+        expressions = new String[EXPRESSION_COUNT];
+        for (int index = 0; index < EXPRESSION_COUNT; index++) {
+            // a template has at most twice as many numbers as operands
+            Object[] numbers = new Object[2 * (operatorCount + 1)];
+            for (int number = 0; number < numbers.length; number++) {
+                numbers[number] = 1 + random.nextInt(9);
+            }
+            expressions[index] = String.format(templates[random.nextInt(TEMPLATE_COUNT)], numbers);
+        }
+        cache = new PlanCache();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (cache.getHitCount() + cache.getMissCount() > 0) {
+            System.out.printf(
+                "%nplan cache: hit ratio %.4f, %d plans, %d bytes%n",
+                cache.getHitRatio(),
+                cache.getPlanCount(),
+                cache.getMemoryUsage()
+            );
+        }
+    }
+
+    @Benchmark
+    public double automaton() throws IOException, IllegalLexemeException, IllegalTokenException {
+        ParserContext context = ParserContext.current();
+        double sum = 0;
+        for (String expression : expressions) {
+            sum += context.evaluate(expression);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double plans() throws IOException, IllegalLexemeException, IllegalTokenException {
+        ParserContext context = ParserContext.current();
+        double sum = 0;
+        for (String expression : expressions) {
+            sum += context.evaluate(expression, cache);
+        }
+        return sum;
+    }
+}
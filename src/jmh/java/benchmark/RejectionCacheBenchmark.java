@@ -0,0 +1,146 @@
+package benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import main.PositionedException;
+import service.ExpressionService;
+import service.RejectionCache;
+
+/**
+ * A benchmark to compare a service that evaluates every retried malformed input against a service with a
+ * `RejectionCache`, which replays the first failure's exception without a stack trace, and against looking the
+ * rejections up without any exception (`RejectionCache.find`). Each invocation of those benchmarks evaluates a stream
+ * of retries of a few hundred malformed inputs (illegal lexemes and illegal tokens, some failing near their ends);
+ * `failure` and `hit` compare the original failure of a single input with a cache hit on it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RejectionCacheBenchmark {
+
+    // the number of malformed inputs and of retries in the stream
+    private static final int INPUT_COUNT = 300;
+    private static final int RETRY_COUNT = 10000;
+    // the malformed suffixes of an input
+    private static final String[] SUFFIXES = {" + 3e+", " 2", " + + 1", " cos", " 01", " $"};
+
+    private String[] retries;
+    // a malformed input whose rejection the cache holds
+    private String retry;
+    private ExpressionService service;
+    private ExpressionService cachedService;
+    private RejectionCache cache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(0);
+        String[] inputs = new String[INPUT_COUNT];
+        for (int index = 0; index < INPUT_COUNT; index++) {
+            inputs[index] = String.format(
+                "%d.%d + cos %d - %d! ^ 2%s",
+                random.nextInt(1000),
+                random.nextInt(1000),
+                random.nextInt(100),
+                random.nextInt(20),
+                SUFFIXES[random.nextInt(SUFFIXES.length)]
+            );
+        }
+        retries = new String[RETRY_COUNT];
+        for (int index = 0; index < RETRY_COUNT; index++) {
+            retries[index] = inputs[random.nextInt(INPUT_COUNT)];
+        }
+        cache = new RejectionCache();
+        service = new ExpressionService(Runnable::run);
+        cachedService = new ExpressionService(Runnable::run, null, null, cache);
+        retry = retries[0];
+        try {
+            cachedService.evaluate(retry);
+        } catch (Exception exception) {
+            // the cache now holds the input's rejection
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (cache.getHitCount() + cache.getMissCount() > 0) {
+            System.out.printf(
+                "%nrejection cache: %d hits, %d misses, %d rejections%n",
+                cache.getHitCount(),
+                cache.getMissCount(),
+                cache.getSize()
+            );
+        }
+    }
+
+    @Benchmark
+    public int uncached() throws Exception {
+        int characterSum = 0;
+        for (String retry : retries) {
+            try {
+                service.evaluate(retry);
+            } catch (PositionedException exception) {
+                characterSum += exception.getCharacterNumber();
+            }
+        }
+        return characterSum;
+    }
+
+    @Benchmark
+    public int cached() throws Exception {
+        int characterSum = 0;
+        for (String retry : retries) {
+            try {
+                cachedService.evaluate(retry);
+            } catch (PositionedException exception) {
+                characterSum += exception.getCharacterNumber();
+            }
+        }
+        return characterSum;
+    }
+
+    @Benchmark
+    public int find() throws Exception {
+        int characterSum = 0;
+        for (String retry : retries) {
+            RejectionCache.Rejection rejection = cache.find(retry);
+            if (rejection == null) {
+                try {
+                    cachedService.evaluate(retry);
+                } catch (PositionedException exception) {
+                    characterSum += exception.getCharacterNumber();
+                }
+            } else {
+                characterSum += rejection.getCharacterNumber();
+            }
+        }
+        return characterSum;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int failure() throws Exception {
+        try {
+            service.evaluate(retry);
+            return 0;
+        } catch (PositionedException exception) {
+            return exception.getCharacterNumber();
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int hit() throws Exception {
+        try {
+            cachedService.evaluate(retry);
+            return 0;
+        } catch (PositionedException exception) {
+            return exception.getCharacterNumber();
+        }
+    }
+}
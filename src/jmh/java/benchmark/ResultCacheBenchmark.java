@@ -0,0 +1,108 @@
+package benchmark;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import lexer.IllegalLexemeException;
+import parser.IllegalTokenException;
+import service.ExpressionService;
+import service.ResultCache;
+
+/**
+ * A benchmark to compare a service that evaluates every expression against a service with a `ResultCache`, on a
+ * stream in which a few hundred expressions (some with other whitespace) recur with Zipf-like frequencies among
+ * one-off expressions. Each invocation evaluates every expression of the stream on the calling thread. The cached
+ * benchmark prints the cache's hit ratio and counters after each trial.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultCacheBenchmark {
+
+    // the number of recurring expressions and of expressions in the stream
+    private static final int RECURRING_COUNT = 500;
+    private static final int EXPRESSION_COUNT = 10000;
+
+    // the percentage of one-off expressions in the stream
+    @Param({"10", "50"})
+    public int oneOffPercentage;
+
+    private String[] expressions;
+    private ExpressionService service;
+    private ExpressionService cachedService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(0);
+        String[] recurring = new String[RECURRING_COUNT];
+        for (int index = 0; index < RECURRING_COUNT; index++) {
+            recurring[index] = randomExpression(random);
+        }
+        expressions = new String[EXPRESSION_COUNT];
+        for (int index = 0; index < EXPRESSION_COUNT; index++) {
+            if (random.nextInt(100) < oneOffPercentage) {
+                expressions[index] = randomExpression(random);
+            } else {
+                // the square of a uniform variable favours the first expressions
+                double uniform = random.nextDouble();
+                String expression = recurring[(int) (uniform * uniform * RECURRING_COUNT)];
+                expressions[index] = random.nextBoolean() ? expression : expression.replace(" ", "  ");
+            }
+        }
+        service = new ExpressionService(Runnable::run);
+        cachedService = new ExpressionService(Runnable::run, null, new ResultCache(1024));
+    }
+
+    /**
+     * @param random a source of randomness
+     * @return an expression with random numbers
+     */
+    private static String randomExpression(Random random) {
+        return String.format(
+            "%d.%d + cos %d - %d! ^ 2 - 1e-%d",
+            random.nextInt(1000),
+            random.nextInt(1000),
+            random.nextInt(100),
+            random.nextInt(20),
+            random.nextInt(10)
+        );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ResultCache cache = cachedService.getResultCache();
+        if (cache.getHitCount() + cache.getMissCount() > 0) {
+            System.out.printf(
+                "%nresult cache: hit ratio %.4f, %d entries, %d evictions, %d rejections%n",
+                cache.getHitRatio(),
+                cache.getSize(),
+                cache.getEvictionCount(),
+                cache.getRejectionCount()
+            );
+        }
+    }
+
+    @Benchmark
+    public double uncached() throws IOException, IllegalLexemeException, IllegalTokenException {
+        double sum = 0;
+        for (String expression : expressions) {
+            sum += service.evaluate(expression);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double cached() throws IOException, IllegalLexemeException, IllegalTokenException {
+        double sum = 0;
+        for (String expression : expressions) {
+            sum += cachedService.evaluate(expression);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,156 @@
+package benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import main.BinaryResultWriter;
+import main.PositionedException;
+import main.ResultFile;
+import main.ResultFileReader;
+import main.ResultSink;
+import main.ResultWriter;
+import parser.ExpectedOperandException;
+
+/**
+ * A benchmark of the cost of writing a batch's results to a file and reading them back, as text (with a
+ * `ResultWriter` in shortest mode, read by parsing each line) against a binary result file (with a
+ * `BinaryResultWriter`, read through the mapped columns of a `ResultFileReader`). A reader sums the values and counts
+ * the errors. Each invocation writes or reads every result. The binary reader maps the file once per iteration, since
+ * the JVM unmaps a mapped buffer only when it collects the buffer, so mapping per invocation exhausts the mappings
+ * that the process can hold long before a collection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultFileBenchmark {
+
+    // the number of results
+    private static final int RESULT_COUNT = 100_000;
+    // one result in this many is an error
+    private static final int ERROR_PERIOD = 20;
+
+    private String[] lines;
+    private double[] values;
+    private PositionedException exception;
+    private Path textPath;
+    private Path binaryPath;
+    // the file that `writeBinary` writes (which differs from `binaryPath` so that it does not truncate a mapped file)
+    private Path binaryOutputPath;
+    private ResultFileReader binaryReader;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(0);
+        lines = new String[RESULT_COUNT];
+        values = new double[RESULT_COUNT];
+        for (int index = 0; index < RESULT_COUNT; index++) {
+            int left = random.nextInt(1000);
+            int right = random.nextInt(1000);
+            lines[index] = String.format("%d.%d + cos %d", left, right, index % 100);
+            values[index] = Double.parseDouble(left + "." + right) + Math.cos(index % 100);
+        }
+        exception = new ExpectedOperandException("Parser", "run", 1, 3, "Expected an operand.");
+        textPath = Files.createTempFile("results", ".txt");
+        binaryPath = Files.createTempFile("results", ".bin");
+        binaryOutputPath = Files.createTempFile("results", ".bin");
+        writeText();
+        write(new BinaryResultWriter(binaryPath));
+    }
+
+    @Setup(Level.Iteration)
+    public void openBinary() throws IOException {
+        binaryReader = new ResultFileReader(binaryPath);
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeBinary() throws IOException {
+        binaryReader.close();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(textPath);
+        Files.delete(binaryPath);
+        Files.delete(binaryOutputPath);
+    }
+
+    /**
+     * Writes every result to a sink.
+     * @param sink a sink
+     */
+    private void write(ResultSink sink) throws IOException {
+        try (sink) {
+            for (int index = 0; index < RESULT_COUNT; index++) {
+                if (index % ERROR_PERIOD == 0) {
+                    sink.writeError(index, lines[index], exception);
+                } else {
+                    sink.writeValue(index, lines[index], values[index]);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void writeText() throws IOException {
+        write(new ResultWriter(
+            FileChannel.open(
+                textPath,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE
+            ),
+            false,
+            false
+        ));
+    }
+
+    @Benchmark
+    public void writeBinary() throws IOException {
+        write(new BinaryResultWriter(binaryOutputPath));
+    }
+
+    @Benchmark
+    public double readText() throws IOException {
+        double sum = 0;
+        int errorCount = 0;
+        try (BufferedReader reader = Files.newBufferedReader(textPath, StandardCharsets.UTF_8)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                int separator = line.lastIndexOf(" = ");
+                if (separator < 0) {
+                    errorCount++;
+                } else {
+                    sum += Double.parseDouble(line.substring(separator + 3));
+                }
+            }
+        }
+        return sum + errorCount;
+    }
+
+    @Benchmark
+    public double readBinary() {
+        double sum = 0;
+        int errorCount = 0;
+        DoubleBuffer values = binaryReader.getValues();
+        for (int index = 0; index < binaryReader.getCount(); index++) {
+            if (binaryReader.getStatus(index) == ResultFile.OK) {
+                sum += values.get(index);
+            } else {
+                errorCount++;
+            }
+        }
+        return sum + errorCount;
+    }
+}
@@ -0,0 +1,88 @@
+package benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import main.ResultWriter;
+
+/**
+ * A benchmark of the throughput of writing a batch's results with a `ResultWriter` (in shortest and fixed modes)
+ * against formatting each line with `String.format` into a buffered writer. The writers write to a null stream, so the
+ * benchmark measures formatting and encoding. Each invocation writes every result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultWriterBenchmark {
+
+    // the number of results
+    private static final int RESULT_COUNT = 100_000;
+    // the size of the buffered writer's buffer
+    private static final int WRITER_BUFFER_SIZE = 1 << 16;
+
+    private String[] lines;
+    private double[] values;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(0);
+        lines = new String[RESULT_COUNT];
+        values = new double[RESULT_COUNT];
+        for (int index = 0; index < RESULT_COUNT; index++) {
+            int left = random.nextInt(1000);
+            int right = random.nextInt(1000);
+            lines[index] = String.format("%d.%d + cos %d", left, right, index % 100);
+            values[index] = Double.parseDouble(left + "." + right) + Math.cos(index % 100);
+        }
+    }
+
+    @Benchmark
+    public void stringFormat() throws IOException {
+        try (Writer writer = new BufferedWriter(
+            new OutputStreamWriter(OutputStream.nullOutputStream(), StandardCharsets.UTF_8),
+            WRITER_BUFFER_SIZE
+        )) {
+            for (int index = 0; index < RESULT_COUNT; index++) {
+                writer.write(String.format("%s = %f%n", lines[index], values[index]));
+            }
+        }
+    }
+
+    /**
+     * Writes every result with a result writer over a null stream.
+     * @param fixed whether the writer formats values as `%f`
+     */
+    private void write(boolean fixed) throws IOException {
+        try (ResultWriter writer = new ResultWriter(
+            Channels.newChannel(OutputStream.nullOutputStream()),
+            fixed,
+            false
+        )) {
+            for (int index = 0; index < RESULT_COUNT; index++) {
+                writer.writeValue(index, lines[index], values[index]);
+            }
+        }
+    }
+
+    @Benchmark
+    public void shortestWriter() throws IOException {
+        write(false);
+    }
+
+    @Benchmark
+    public void fixedWriter() throws IOException {
+        write(true);
+    }
+}
@@ -0,0 +1,88 @@
+package benchmark;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import lexer.IllegalLexemeException;
+import parser.ExpressionParser;
+import parser.IllegalTokenException;
+import parser.ShapeBatchEvaluator;
+
+/**
+ * A benchmark to compare parsing each expression of a batch with `ExpressionParser.parse` against evaluating the
+ * batch shape by shape with a `ShapeBatchEvaluator`. The batch's expressions come from a few templates of sums,
+ * differences and powers (so most lanes vectorise), each with fresh numbers. Each invocation evaluates the whole
+ * batch. Run with the `vector` profile as well (`mvn -Pbenchmark,vector ...`) for the vector kernel.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShapeBatchBenchmark {
+
+    // the number of expressions
+    private static final int EXPRESSION_COUNT = 10000;
+    // the operators and operand forms of a template
+    private static final String[] OPERATORS = {" + ", " - ", " ^ "};
+    private static final String[] OPERANDS = {"%d", "%d.%d", "%d", "cos %d"};
+
+    // the number of templates
+    @Param({"4", "64"})
+    public int templateCount;
+
+    private List<String> expressions;
+    private Exception[] failures;
+    private ShapeBatchEvaluator evaluator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(0);
+        String[] templates = new String[templateCount];
+        for (int index = 0; index < templateCount; index++) {
+            StringBuilder template = new StringBuilder(OPERANDS[random.nextInt(OPERANDS.length)]);
+            for (int count = 0; count < 6; count++) {
+                template.append(OPERATORS[random.nextInt(OPERATORS.length)])
+                    .append(OPERANDS[random.nextInt(OPERANDS.length)]);
+            }
+            templates[index] = template.toString();
+        }
+        String[] batch = new String[EXPRESSION_COUNT];
+        for (int index = 0; index < EXPRESSION_COUNT; index++) {
+            // a template has at most twice as many numbers as operands
+            Object[] numbers = new Object[14];
+            for (int number = 0; number < numbers.length; number++) {
+                numbers[number] = 1 + random.nextInt(9);
+            }
+            batch[index] = String.format(templates[random.nextInt(templateCount)], numbers);
+        }
+        expressions = Arrays.asList(batch);
+        failures = new Exception[EXPRESSION_COUNT];
+        evaluator = new ShapeBatchEvaluator();
+        System.out.printf("%nvectorized: %b%n", evaluator.isVectorized());
+    }
+
+    @Benchmark
+    public double parse() throws IOException, IllegalLexemeException, IllegalTokenException {
+        double sum = 0;
+        for (String expression : expressions) {
+            sum += ExpressionParser.parse(expression).getValue();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double shapes() {
+        double sum = 0;
+        for (double value : evaluator.evaluate(expressions, failures)) {
+            sum += value;
+        }
+        return sum;
+    }
+}
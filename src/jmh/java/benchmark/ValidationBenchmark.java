@@ -0,0 +1,71 @@
+package benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import lexer.DfaExpressionLexer;
+import lexer.IllegalLexemeException;
+import lexer.TokenCursor;
+
+/**
+ * A benchmark of a validate-only workload: lexing a long generated expression to check that its lexemes are valid,
+ * without using its numbers' values. It compares a lexer that converts every number with one that defers the
+ * conversions (and so skips them all).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    // the number of operands in the expression
+    private static final int OPERAND_COUNT = 10000;
+
+    private String inputString;
+
+    @Setup
+    public void setUp() {
+        inputString = LexerBenchmark.generateExpression(new Random(0), OPERAND_COUNT);
+    }
+
+    /**
+     * Validates an input with a lexer.
+     * @param lexer a lexer
+     * @return the number of tokens
+     */
+    private static int validate(DfaExpressionLexer lexer) throws IllegalLexemeException {
+        int count = 0;
+        while (lexer.advance() != TokenCursor.EOF) {
+            count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int eagerNumbers() throws IllegalLexemeException {
+        return validate(new DfaExpressionLexer(inputString));
+    }
+
+    @Benchmark
+    public int lazyNumbers() throws IllegalLexemeException {
+        DfaExpressionLexer lexer = new DfaExpressionLexer(inputString);
+        lexer.setLazyNumbers(true);
+        return validate(lexer);
+    }
+
+    @Benchmark
+    public int lazyNumberTokens() throws IllegalLexemeException {
+        // A caller that needs token objects still skips the conversions.
+        DfaExpressionLexer lexer = new DfaExpressionLexer(inputString);
+        lexer.setLazyNumbers(true);
+        int count = 0;
+        while (lexer.scan() != null) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,50 @@
+package lexer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A class to represent a lexer that reads an expression directly from the bytes of an ASCII byte buffer, with no
+ * charset decoding and no intermediate string.
+ * The lexer reads the bytes between the buffer's position and limit (without changing either), so the buffer can be
+ * a heap or direct buffer, a slice of a larger one or a view of mapped or foreign memory. It drives the same
+ * automaton as a `DfaExpressionLexer`, so it generates exactly the same tokens and exceptions (at the same positions)
+ * as an `ExpressionLexer` reading the bytes decoded as US-ASCII: a byte outside ASCII is the replacement character
+ * U+FFFD, which is an illegal character.
+ */
+public class ByteBufferExpressionLexer extends DfaExpressionLexer {
+
+    // the character that replaces a byte outside ASCII
+    private static final char REPLACEMENT = '\uFFFD';
+
+    // the lexer's input
+    private final ByteBuffer input;
+    // the index in `input` of the next byte to read
+    private int index;
+    // the index in `input` after its last byte
+    private final int limit;
+
+    /**
+     * Initialises this lexer to read a byte buffer's remaining bytes.
+     * @param input an input byte buffer
+     */
+    public ByteBufferExpressionLexer(ByteBuffer input) {
+        this.input = input;
+        this.index = input.position();
+        this.limit = input.limit();
+        // initialise `peek` to be the input's first character
+        readCharacter();
+    }
+
+    /**
+     * Reads the next byte of the buffer as a character.
+     * @return the next character, or `END` at the buffer's limit
+     */
+    @Override
+    protected int nextCharacter() {
+        if (index == limit) {
+            return END;
+        }
+        byte next = input.get(index++);
+        return next >= 0 ? next : REPLACEMENT;
+    }
+}
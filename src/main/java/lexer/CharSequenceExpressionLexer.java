@@ -0,0 +1,380 @@
+package lexer;
+import lexer.token.*;
+
+import java.nio.CharBuffer;
+
+/**
+ * A class to represent a lexer that reads an expression from a character sequence to generate tokens with attributes.
+ * The lexer generates exactly the same tokens and exceptions (at the same positions) as an `ExpressionLexer`, but
+ * reads its input by index rather than through a `Reader` and keeps the current character as a primitive.
+ * The `peek` instance field stores the next character for the lexer to read, or `-1` at the input's end.
+ * A method can update `peek` to the next character by calling an overload of `readCharacter`.
+ * A method that attempts to generate a token reads from `peek`, assuming that `peek` points to the start of that token.
+ * The method reports invalid tokens using exceptions iff it has irreversibly read characters.
+ */
+public class CharSequenceExpressionLexer implements Lexer<ExpressionTokenTag> {
+
+    // the value of `peek` at the input's end
+    protected static final int END = -1;
+
+    // the lexer's input
+    private final CharSequence input;
+    // the index of `peek` in the input
+    private int index = -1;
+    // the current character, or `END` at the input's end
+    protected int peek = END;
+    // whether the previous token was a number token
+    private boolean wasNumber = false;
+    // the accumulator for the digits and exponent of the number that the lexer is reading
+    private final DecimalAccumulator decimal = new DecimalAccumulator();
+    // `lineNumber` and `characterNumber` give the position of the lexer in the input.
+    private int lineNumber = 1;
+    private int characterNumber = 0;
+
+    /**
+     * Initialises this lexer to read a character sequence.
+     * @param input an input character sequence
+     */
+    public CharSequenceExpressionLexer(CharSequence input) {
+        this.input = input;
+        // initialise `peek` to be the input's first character
+        readCharacter();
+    }
+
+    /**
+     * Initialises this lexer to read a character array (without copying it).
+     * @param input an input character array
+     */
+    public CharSequenceExpressionLexer(char[] input) {
+        this(CharBuffer.wrap(input));
+    }
+
+    /**
+     * @return the number of the current line
+     */
+    @Override
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * @return the number of the current character on its line
+     */
+    @Override
+    public int getCharacterNumber() {
+        return characterNumber;
+    }
+
+    /**
+     * Updates `peek` to be the next unread character.
+     * If the lexer reaches its input's end then it sets `peek` to `END`.
+     */
+    protected void readCharacter() {
+        index++;
+        peek = index < input.length() ? input.charAt(index) : END;
+        // increment the character number
+        characterNumber++;
+    }
+
+    /**
+     * Updates `peek` to be the next unread character and determines whether that character matches an expected
+     * character.
+     * @param expected an expected character
+     * @return whether the next character matches the expected character
+     */
+    protected boolean readCharacter(char expected) {
+        readCharacter();
+        // determine whether the new current character that which we expect
+        return peek == expected;
+    }
+
+    /**
+     * Updates `peek` to be the first unread character that is not whitespace.
+     */
+    private void skipWhitespace() {
+        // The lexer does nothing iff it has reached the end of the file or the current character is not whitespace.
+        // Otherwise, it skips the current character.
+        while (CharacterClasses.isWhitespace(peek)) {
+            if (peek == '\n') {
+                lineNumber++;
+                characterNumber = 0;
+            }
+            readCharacter();
+        }
+    }
+
+    /**
+     * Attempts to parse a string representing a nonempty unsigned integer that has no leading zeros.
+     * The string can be "0", representing `0`. The value saturates once it exceeds `EXPONENT_LIMIT`.
+     * The caller must ensure that `peek` is a digit.
+     * @return the value of the unsigned integer
+     * @throws LeadingZeroException the integer has leading zeros
+     */
+    protected int getInteger() throws LeadingZeroException {
+        // initialise `value` to be the integer value of the input's first character
+        int value = CharacterClasses.digit(peek);
+        boolean isZero = value == 0;
+        readCharacter();
+
+        while (CharacterClasses.isDigit(peek)) {
+            // throw a `LeadingZeroException` if characters appear after a first character of '0'
+            if (isZero) {
+                throw new LeadingZeroException(
+                    "CharSequenceExpressionLexer",
+                    "getInteger",
+                    lineNumber,
+                    characterNumber,
+                    "Illegal leading zero."
+                );
+            }
+            // recognise the current character as an additional digit of `value` unless `value` has saturated
+            if (value <= DecimalAccumulator.EXPONENT_LIMIT) {
+                value = 10 * value + CharacterClasses.digit(peek);
+            }
+            // advance `peek`
+            readCharacter();
+        }
+        return value;
+    }
+
+    /**
+     * Attempts to parse the integral part of a number: a string representing a nonempty unsigned integer that has no
+     * leading zeros. Appends the integer's digits to `decimal`. The caller must ensure that `peek` is a digit.
+     * @throws LeadingZeroException the integer has leading zeros
+     */
+    protected void getIntegralPart() throws LeadingZeroException {
+        // recognise the input's first character as the first digit
+        boolean isZero = CharacterClasses.digit(peek) == 0;
+        decimal.appendIntegerDigit(CharacterClasses.digit(peek));
+        readCharacter();
+
+        while (CharacterClasses.isDigit(peek)) {
+            // throw a `LeadingZeroException` if characters appear after a first character of '0'
+            if (isZero) {
+                throw new LeadingZeroException(
+                    "CharSequenceExpressionLexer",
+                    "getInteger",
+                    lineNumber,
+                    characterNumber,
+                    "Illegal leading zero."
+                );
+            }
+            // recognise the current character as an additional digit
+            decimal.appendIntegerDigit(CharacterClasses.digit(peek));
+            // advance `peek`
+            readCharacter();
+        }
+    }
+
+    /**
+     * Attempts to parse a string representing a nonempty signed integer that has no leading zeros. Infers the sign.
+     * @return the value of the signed integer
+     * @throws LeadingZeroException the integer has leading zeros
+     * @throws MissingIntegerException neither a sign nor a digit starts the input, or an integer does not follow a sign
+     */
+    protected int getSignedInteger() throws LeadingZeroException, MissingIntegerException {
+        // initialise `sign` to be `peek` (and advance `peek`) iff `peek` is a sign
+        int sign = (peek == '+' || peek == '-') ? peek : END;
+        if (sign != END) {
+            readCharacter();
+        }
+        // throw a `MissingIntegerException` iff no integer follows the optional sign
+        if (!CharacterClasses.isDigit(peek)) {
+            throw new MissingIntegerException(
+                "CharSequenceExpressionLexer",
+                sign != END ? "getOptionalSignedInteger" : "getNumberToken",
+                lineNumber,
+                characterNumber,
+                sign != END ? "Sign without a following integer" : "Missing exponent after 'e'."
+            );
+        }
+        // retrieve the integer that follows the optional sign and negate it iff its sign indicates that it is negative
+        int integer = getInteger();
+        return sign == '-' ? -integer : integer;
+    }
+
+    /**
+     * Retrieves the fractional part of decimal number, starting directly after the decimal point. Appends the part's
+     * digits to `decimal`. The caller must ensure that `peek` is a digit.
+     */
+    protected void getFraction() {
+        while (CharacterClasses.isDigit(peek)) {
+            // recognise the current character as an additional digit
+            decimal.appendFractionDigit(CharacterClasses.digit(peek));
+            // advance `peek`
+            readCharacter();
+        }
+    }
+
+    /**
+     * Attempts to retrieve a number (with a value attribute) or sign (character token that represents a sign) token.
+     * @return a found number token and otherwise `null`
+     * @throws EmptyNumberException the number's integral and fractional parts are empty, and it has a decimal point.
+     * @throws MissingIntegerException an integer does not follow a sign or 'e'
+     * @throws LeadingZeroException an integer has a leading zero
+     */
+    protected Token<ExpressionTokenTag> getOptionalNumberToken() throws
+            EmptyNumberException,
+            MissingIntegerException,
+            LeadingZeroException
+    {
+        // initialise `sign` to be `peek` (and advance `peek`) iff `peek` is a sign
+        int sign = (peek == '+' || peek == '-') ? peek : END;
+        if (sign != END) {
+            readCharacter();
+        }
+
+        // retrieve the number's integral part
+        decimal.clear();
+        boolean hasInteger = CharacterClasses.isDigit(peek);
+        if (hasInteger) {
+            getIntegralPart();
+        }
+
+        // retrieve the number's fractional part iff it has a decimal point
+        boolean fractional = peek == '.';
+        boolean hasFraction = false;
+        if (fractional) {
+            // advance `peek` past '.'
+            readCharacter();
+            hasFraction = CharacterClasses.isDigit(peek);
+            if (hasFraction) {
+                getFraction();
+            }
+        }
+
+        if (!hasInteger) {
+            if (fractional && !hasFraction) {
+                // throw an `EmptyNumberException` iff the number is fractional and both its parts are empty
+                throw new EmptyNumberException(
+                    "CharSequenceExpressionLexer",
+                    "getNumberToken",
+                    lineNumber,
+                    characterNumber,
+                    "Illegal empty number."
+                );
+            } else if (!fractional) {
+                // return a nonnull sign token iff the number is signed, empty and not fractional
+                // Note that, in this case, `peek` has advanced exactly one space beyond the initial sign character.
+                if (sign != END) {
+                    return getOptionalCharacterToken(sign);
+                }
+                // return `null` iff the number is not signed, empty and not fractional
+                return null;
+            }
+        }
+
+        // retrieve the number's exponent iff the current input starts with 'e'
+        if (peek == 'e') {
+            // advance `peek` past 'e'
+            readCharacter();
+            decimal.setExponent(getSignedInteger());
+        }
+
+        // convert the number's digits and exponent to the nearest double
+        double value = decimal.toDouble();
+        // negate `value` iff its sign indicates that it is negative
+        if (sign == '-') {
+            value = -value;
+        }
+        // wrap `value` in a number token
+        return new NumberToken(value);
+    }
+
+    /**
+     * Attempts to retrieve a character token. A token is a character token iff its lexeme is exactly one character.
+     * @return a found token and otherwise `null`
+     */
+    protected Token<ExpressionTokenTag> getOptionalCharacterToken() {
+        // map `peek` to a token and otherwise `null`
+        Token<ExpressionTokenTag> tagToken = getOptionalCharacterToken(peek);
+        // advance `peek` iff it produced a `token`
+        if (tagToken != null) {
+            readCharacter();
+        }
+        return tagToken;
+    }
+
+    /**
+     * Attempts to retrieve a character token from an explicit character.
+     * @param character a character, or `END` for the input's end
+     * @return a found token and otherwise `null`
+     */
+    static protected Token<ExpressionTokenTag> getOptionalCharacterToken(int character) {
+        // map `character` to a token and otherwise `null`
+        return switch (character) {
+            case '+' -> PlusToken.INSTANCE;
+            case '-' -> MinusToken.INSTANCE;
+            case '^' -> PowerToken.INSTANCE;
+            case '!' -> FactorialToken.INSTANCE;
+            default -> null;
+        };
+    }
+
+    /**
+     * Attempts to retrieve a cosine token.
+     * @return a found cosine token and otherwise `null`
+     * @throws IncompleteCosineException the input starts with 'c' but does not continue to produce "cos"
+     */
+    protected CosineToken getOptionalCosineToken() throws IncompleteCosineException {
+        // return `null` iff the input does not start with 'c'
+        if (peek != 'c') {
+            return null;
+        }
+        // throw an `IncompleteCosineException` iff 'c' is not a prefix to "cos"
+        if (!(readCharacter('o') && readCharacter('s'))) {
+            throw new IncompleteCosineException(
+                "CharSequenceExpressionLexer",
+                "getOptionalCosineToken",
+                lineNumber,
+                characterNumber,
+                "'c' should be a prefix to \"cos\"."
+            );
+        }
+        // advance peek
+        readCharacter();
+        return CosineToken.INSTANCE;
+    }
+
+    /**
+     * Generates a token from the current input.
+     * Returns `null` if the lexer reaches its input's end.
+     * @return a found token
+     * @throws IllegalLexemeException the current input produces an invalid token
+     */
+    @Override
+    public Token<ExpressionTokenTag> scan() throws IllegalLexemeException {
+        // skip all whitespace
+        skipWhitespace();
+
+        // return `null` iff the lexer reaches its input's end
+        if (peek == END) {
+            return null;
+        }
+
+        // The lexer checks for a character then a number token iff `wasNumber` is set. It does the reverse otherwise.
+        Token<ExpressionTokenTag> token;
+        if (wasNumber) {
+            token = getOptionalCharacterToken();
+            if (token == null) { token = getOptionalNumberToken(); }
+        } else {
+            token = getOptionalNumberToken();
+            if (token == null) { token = getOptionalCharacterToken(); }
+        }
+        if (token == null) { token = getOptionalCosineToken(); }
+        // We throw an `IllegalCharacterException` if the current character is a prefix to no lexemes.
+        if (token == null) {
+            throw new IllegalCharacterException(
+                "CharSequenceExpressionLexer",
+                "scan",
+                lineNumber,
+                characterNumber,
+                "Illegal character."
+            );
+        }
+
+        // set `wasNumber` iff the token is a number token
+        wasNumber = token.getTag() == ExpressionTokenTag.NUMBER;
+        return token;
+    }
+}
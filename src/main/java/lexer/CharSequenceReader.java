@@ -0,0 +1,60 @@
+package lexer;
+
+import java.io.Reader;
+
+/**
+ * A class to represent an unsynchronised reader of a character sequence that a lexer can reset to read another
+ * sequence without allocation.
+ */
+final class CharSequenceReader extends Reader {
+
+    // the sequence that the reader reads
+    private CharSequence input = "";
+    // the index of the next character to read
+    private int index = 0;
+
+    /**
+     * Resets this reader to read a character sequence from its start.
+     * @param input an input character sequence
+     */
+    void reset(CharSequence input) {
+        this.input = input;
+        this.index = 0;
+    }
+
+    /**
+     * @return the next character, or `-1` at the sequence's end
+     */
+    @Override
+    public int read() {
+        return index < input.length() ? input.charAt(index++) : -1;
+    }
+
+    /**
+     * Reads characters into a portion of an array.
+     * @param buffer the destination array
+     * @param offset the index of the portion's first element
+     * @param length the portion's length
+     * @return the number of characters read, or `-1` at the sequence's end
+     */
+    @Override
+    public int read(char[] buffer, int offset, int length) {
+        if (index >= input.length()) {
+            return -1;
+        }
+        int count = Math.min(length, input.length() - index);
+        for (int position = 0; position < count; position++) {
+            buffer[offset + position] = input.charAt(index++);
+        }
+        return count;
+    }
+
+    /**
+     * Closes this reader (which holds no resources).
+     */
+    @Override
+    public void close() {
+        input = "";
+        index = 0;
+    }
+}
@@ -0,0 +1,60 @@
+package lexer;
+
+/**
+ * A class to classify characters (as `int` code units, with `-1` for the input's end) as lexers need.
+ * ASCII characters use lookup tables. Other characters use the (slower) `Character` methods, so every method agrees
+ * exactly with its `Character` counterpart.
+ */
+final class CharacterClasses {
+
+    // the number of ASCII characters
+    private static final int ASCII_COUNT = 128;
+    // a mapping from an ASCII character to its decimal digit value, or `-1` if it is not a decimal digit
+    private static final byte[] DIGIT_VALUES = new byte[ASCII_COUNT];
+    // a mapping from an ASCII character to whether it is whitespace
+    private static final boolean[] WHITESPACE = new boolean[ASCII_COUNT];
+
+    static {
+        // derive the tables from the `Character` methods so that the fast and slow paths agree
+        for (char character = 0; character < ASCII_COUNT; character++) {
+            DIGIT_VALUES[character] = (byte) Character.digit(character, 10);
+            WHITESPACE[character] = Character.isWhitespace(character);
+        }
+    }
+
+    private CharacterClasses() {
+    }
+
+    /**
+     * @param character a character, or `-1` for the input's end
+     * @return whether the character is a decimal digit (equivalently to `Character.isDigit`)
+     */
+    static boolean isDigit(int character) {
+        if (character < ASCII_COUNT) {
+            return character >= 0 && DIGIT_VALUES[character] >= 0;
+        }
+        return Character.isDigit(character);
+    }
+
+    /**
+     * @param character a decimal digit (as `isDigit` determines)
+     * @return the digit's value (equivalently to `Character.digit` with a radix of `10`)
+     */
+    static int digit(int character) {
+        if (character < ASCII_COUNT) {
+            return DIGIT_VALUES[character];
+        }
+        return Character.digit(character, 10);
+    }
+
+    /**
+     * @param character a character, or `-1` for the input's end
+     * @return whether the character is whitespace (equivalently to `Character.isWhitespace`)
+     */
+    static boolean isWhitespace(int character) {
+        if (character < ASCII_COUNT) {
+            return character >= 0 && WHITESPACE[character];
+        }
+        return Character.isWhitespace(character);
+    }
+}
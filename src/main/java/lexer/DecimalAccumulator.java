@@ -0,0 +1,165 @@
+package lexer;
+
+/**
+ * A class to accumulate the digits of a decimal number as a lexer reads them, and to convert the number exactly.
+ * The accumulator keeps the first 19 significant digits in a `long` significand (which can not overflow) and counts
+ * the fractional digits as a decimal exponent, so it does no floating-point arithmetic per digit. If a number has
+ * more significant digits, the accumulator also keeps all of them as text for the (rare) case in which the dropped
+ * digits decide the rounding. `clear` prepares the accumulator for the next number without allocation.
+ */
+public final class DecimalAccumulator {
+
+    // the number of significant decimal digits that an unsigned `long` always holds
+    private static final int MAX_DIGITS = 19;
+    // the value above which an explicit exponent saturates rather than overflows
+    // Any number whose exponent saturates is zero or infinite, so saturation does not change its value.
+    public static final int EXPONENT_LIMIT = 100_000_000;
+
+    // the first `MAX_DIGITS` significant digits, as an unsigned integer
+    private long significand = 0;
+    // the number of significant digits in `significand`
+    private int digitCount = 0;
+    // the number of digits that follow the decimal point
+    private int fractionCount = 0;
+    // the number of significant digits beyond `MAX_DIGITS`
+    private int droppedCount = 0;
+    // whether a nonzero digit is beyond `MAX_DIGITS`
+    private boolean truncated = false;
+    // the explicit exponent (after 'e')
+    private int exponent = 0;
+    // all the significant digits, which the accumulator keeps iff `droppedCount` is positive
+    private StringBuilder digits = null;
+
+    /**
+     * Empties this accumulator.
+     */
+    public void clear() {
+        significand = 0;
+        digitCount = 0;
+        fractionCount = 0;
+        droppedCount = 0;
+        truncated = false;
+        exponent = 0;
+    }
+
+    /**
+     * Appends a digit of the number's integral part.
+     * @param digit a decimal digit value
+     */
+    public void appendIntegerDigit(int digit) {
+        appendDigit(digit);
+    }
+
+    /**
+     * Appends a digit of the number's fractional part.
+     * @param digit a decimal digit value
+     */
+    public void appendFractionDigit(int digit) {
+        appendDigit(digit);
+        fractionCount++;
+    }
+
+    /**
+     * Appends a digit to the number's significand.
+     * @param digit a decimal digit value
+     */
+    private void appendDigit(int digit) {
+        if (digitCount < MAX_DIGITS) {
+            // the product does not overflow an unsigned `long` since `significand` has fewer than `MAX_DIGITS` digits
+            significand = 10 * significand + digit;
+            // leading zeros are not significant
+            if (significand != 0) {
+                digitCount++;
+            }
+            return;
+        }
+        // start keeping the digits as text iff this is the first dropped digit
+        if (droppedCount == 0) {
+            if (digits == null) {
+                digits = new StringBuilder();
+            }
+            digits.setLength(0);
+            digits.append(Long.toUnsignedString(significand));
+        }
+        digits.append((char) ('0' + digit));
+        droppedCount++;
+        truncated |= digit != 0;
+    }
+
+    /**
+     * Sets the number's explicit exponent.
+     * @param exponent the exponent, which should saturate at `EXPONENT_LIMIT` in magnitude
+     */
+    public void setExponent(int exponent) {
+        this.exponent = exponent;
+    }
+
+    /**
+     * Converts the accumulated number to the nearest double.
+     * @return the double nearest to the number
+     */
+    public double toDouble() {
+        // the exponent of the full significand and that of the first `MAX_DIGITS` digits
+        int fullExponent = exponent - fractionCount;
+        int significandExponent = fullExponent + droppedCount;
+        if (!truncated) {
+            // the dropped digits are all zeros, so the significand is exact
+            return DecimalConversion.toDouble(significand, significandExponent);
+        }
+        // The number is strictly between `significand` and `significand + 1` (scaled). If both round to the same
+        // double then so does the number.
+        double lower = DecimalConversion.tryToDouble(significand, significandExponent);
+        double upper = DecimalConversion.tryToDouble(significand + 1, significandExponent);
+        if (lower == upper) {
+            return lower;
+        }
+        return Double.parseDouble(digits + "E" + fullExponent);
+    }
+
+    /**
+     * Converts the lexeme of a number that a lexer has already validated to the nearest double: an optional sign,
+     * digits with an optional decimal point, and an optional exponent ('e', an optional sign and digits). Empties this
+     * accumulator first.
+     * @param lexeme a character sequence that contains the lexeme
+     * @param start the index of the lexeme's first character
+     * @param end the index after the lexeme's last character
+     * @return the double nearest to the number
+     */
+    public double convert(CharSequence lexeme, int start, int end) {
+        clear();
+        int index = start;
+        boolean negative = lexeme.charAt(index) == '-';
+        if (negative || lexeme.charAt(index) == '+') {
+            index++;
+        }
+        // accumulate the digits before and after the decimal point
+        boolean fractional = false;
+        for (; index < end && lexeme.charAt(index) != 'e'; index++) {
+            char character = lexeme.charAt(index);
+            if (character == '.') {
+                fractional = true;
+            } else if (fractional) {
+                appendFractionDigit(CharacterClasses.digit(character));
+            } else {
+                appendIntegerDigit(CharacterClasses.digit(character));
+            }
+        }
+        // accumulate the explicit exponent (after 'e') until it saturates
+        if (index < end) {
+            index++;
+            boolean negativeExponent = lexeme.charAt(index) == '-';
+            if (negativeExponent || lexeme.charAt(index) == '+') {
+                index++;
+            }
+            int value = 0;
+            for (; index < end; index++) {
+                if (value <= EXPONENT_LIMIT) {
+                    value = 10 * value + CharacterClasses.digit(lexeme.charAt(index));
+                }
+            }
+            setExponent(negativeExponent ? -value : value);
+        }
+        double value = toDouble();
+        return negative ? -value : value;
+    }
+}
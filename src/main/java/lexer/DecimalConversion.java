@@ -0,0 +1,191 @@
+package lexer;
+
+import java.math.BigInteger;
+
+/**
+ * A class to convert a decimal number (an unsigned 64-bit significand `w` and a decimal exponent `q`, representing
+ * `w * 10^q`) to the nearest double, rounding ties to even.
+ * The conversion tries Clinger's fast path (exact when `w` and `10^|q|` are both exact doubles), then the
+ * Eisel-Lemire algorithm (a 128-bit approximation of `w * 5^q` from a table of powers of five). In the rare cases in
+ * which the approximation can not decide the rounding, it falls back to `Double.parseDouble`.
+ */
+public final class DecimalConversion {
+
+    // the smallest and largest decimal exponents in the table of powers of five
+    // A nonzero number below the smallest rounds to zero and one above the largest rounds to infinity.
+    private static final int SMALLEST_POWER = -342;
+    private static final int LARGEST_POWER = 308;
+    // the largest significand below which every integer is an exact double
+    private static final long MAX_EXACT_SIGNIFICAND = 1L << 53;
+    // the largest exponent for which `10^exponent` is an exact double
+    private static final int MAX_EXACT_POWER = 22;
+    // the powers of ten that are exact doubles, indexed by their exponents
+    private static final double[] EXACT_POWERS_OF_TEN = new double[MAX_EXACT_POWER + 1];
+    // the 128-bit normalised mantissas of the powers of five in `[SMALLEST_POWER, LARGEST_POWER]`, as consecutive high
+    // and low words
+    private static final long[] POWERS_OF_FIVE = new long[2 * (LARGEST_POWER - SMALLEST_POWER + 1)];
+    // the number of explicit bits in a double's mantissa
+    private static final int MANTISSA_BITS = 52;
+    // the biased exponent of an infinite double
+    private static final int INFINITE_POWER = 0x7FF;
+    // the exponents outside which a tie between two doubles is impossible
+    private static final int MIN_ROUND_TO_EVEN_POWER = -4;
+    private static final int MAX_ROUND_TO_EVEN_POWER = 23;
+    // the exponents within which a saturated low word still determines the rounding
+    private static final int MIN_SAFE_POWER = -27;
+    private static final int MAX_SAFE_POWER = 55;
+
+    static {
+        double power = 1;
+        for (int exponent = 0; exponent <= MAX_EXACT_POWER; exponent++) {
+            EXACT_POWERS_OF_TEN[exponent] = power;
+            power *= 10;
+        }
+        // We generate the table as the reference implementation does: truncating nonnegative powers and rounding up
+        // the reciprocals of negative ones.
+        BigInteger five = BigInteger.valueOf(5);
+        for (int exponent = SMALLEST_POWER; exponent <= LARGEST_POWER; exponent++) {
+            BigInteger mantissa;
+            if (exponent < 0) {
+                BigInteger power5 = five.pow(-exponent);
+                int bits = power5.bitLength();
+                int shift = exponent >= MIN_SAFE_POWER ? bits + 127 : 2 * bits + 128;
+                mantissa = BigInteger.ONE.shiftLeft(shift).divide(power5).add(BigInteger.ONE);
+            } else {
+                mantissa = five.pow(exponent);
+            }
+            // normalise the mantissa to exactly 128 bits
+            int excess = mantissa.bitLength() - 128;
+            mantissa = excess > 0 ? mantissa.shiftRight(excess) : mantissa.shiftLeft(-excess);
+            int index = 2 * (exponent - SMALLEST_POWER);
+            POWERS_OF_FIVE[index] = mantissa.shiftRight(64).longValue();
+            POWERS_OF_FIVE[index + 1] = mantissa.longValue();
+        }
+    }
+
+    private DecimalConversion() {
+    }
+
+    /**
+     * Converts a decimal number to the nearest double.
+     * @param significand the number's significand, as an unsigned integer
+     * @param exponent the number's decimal exponent
+     * @return the double nearest to `significand * 10^exponent`
+     */
+    public static double toDouble(long significand, int exponent) {
+        double value = tryToDouble(significand, exponent);
+        if (Double.isNaN(value)) {
+            // fall back to the (slow but exact) library conversion
+            return Double.parseDouble(Long.toUnsignedString(significand) + "E" + exponent);
+        }
+        return value;
+    }
+
+    /**
+     * Attempts to convert a decimal number to the nearest double without falling back to the library conversion.
+     * @param significand the number's significand, as an unsigned integer
+     * @param exponent the number's decimal exponent
+     * @return the double nearest to `significand * 10^exponent`, or `NaN` if the approximation is inconclusive
+     */
+    static double tryToDouble(long significand, int exponent) {
+        if (significand == 0 || exponent < SMALLEST_POWER) {
+            return 0;
+        }
+        if (exponent > LARGEST_POWER) {
+            return Double.POSITIVE_INFINITY;
+        }
+        // Clinger's fast path: a single correctly rounded operation on two exact doubles
+        if (Long.compareUnsigned(significand, MAX_EXACT_SIGNIFICAND) <= 0
+            && exponent >= -MAX_EXACT_POWER
+            && exponent <= MAX_EXACT_POWER
+        ) {
+            return exponent >= 0
+                ? significand * EXACT_POWERS_OF_TEN[exponent]
+                : significand / EXACT_POWERS_OF_TEN[-exponent];
+        }
+        long bits = computeBits(significand, exponent);
+        return bits < 0 ? Double.NaN : Double.longBitsToDouble(bits);
+    }
+
+    /**
+     * Computes the bits of the double nearest to a decimal number by the Eisel-Lemire algorithm.
+     * The caller must ensure that the significand is nonzero and that the exponent is in the table's range.
+     * @param significand the number's significand, as an unsigned integer
+     * @param exponent the number's decimal exponent
+     * @return the double's bits, or `-1` if the approximation is inconclusive
+     */
+    private static long computeBits(long significand, int exponent) {
+        // normalise the significand so that its most significant bit is set
+        int leadingZeros = Long.numberOfLeadingZeros(significand);
+        long normalised = significand << leadingZeros;
+
+        // approximate the product of the significand and the power of five by its high 128 bits
+        int index = 2 * (exponent - SMALLEST_POWER);
+        long high = unsignedMultiplyHigh(normalised, POWERS_OF_FIVE[index]);
+        long low = normalised * POWERS_OF_FIVE[index];
+        // refine the approximation with the low word of the power iff the bits below the mantissa are all set
+        int precisionMask = (1 << (64 - MANTISSA_BITS - 3)) - 1;
+        if ((high & precisionMask) == precisionMask) {
+            long secondHigh = unsignedMultiplyHigh(normalised, POWERS_OF_FIVE[index + 1]);
+            low += secondHigh;
+            if (Long.compareUnsigned(secondHigh, low) > 0) {
+                high++;
+            }
+        }
+        // give up iff the truncated bits could still carry into the mantissa
+        if (low == -1 && (exponent < MIN_SAFE_POWER || exponent > MAX_SAFE_POWER)) {
+            return -1;
+        }
+
+        // extract the mantissa (with a rounding bit) and the biased binary exponent
+        int upperBit = (int) (high >>> 63);
+        int shift = upperBit + 64 - MANTISSA_BITS - 3;
+        long mantissa = high >>> shift;
+        // `(217706 * exponent) >> 16` is the floor of `exponent * log2(10)` for every exponent in the table's range
+        int power2 = ((217706 * exponent) >> 16) + 63 + upperBit - leadingZeros + 1023;
+
+        if (power2 <= 0) {
+            // the number is subnormal (or rounds to zero)
+            if (-power2 + 1 >= 64) {
+                return 0;
+            }
+            mantissa >>>= -power2 + 1;
+            mantissa += mantissa & 1;
+            mantissa >>>= 1;
+            // a mantissa that rounds up to the smallest normal number has the smallest normal exponent
+            power2 = mantissa < (1L << MANTISSA_BITS) ? 0 : 1;
+            return mantissa | ((long) power2 << MANTISSA_BITS);
+        }
+
+        // A product that is exactly halfway between two doubles rounds to even rather than up.
+        if (Long.compareUnsigned(low, 1) <= 0
+            && exponent >= MIN_ROUND_TO_EVEN_POWER
+            && exponent <= MAX_ROUND_TO_EVEN_POWER
+            && (mantissa & 3) == 1
+            && (mantissa << shift) == high
+        ) {
+            mantissa &= ~1L;
+        }
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        // a mantissa that rounds up to the next power of two increments the exponent
+        if (mantissa >= (2L << MANTISSA_BITS)) {
+            mantissa = 1L << MANTISSA_BITS;
+            power2++;
+        }
+        mantissa &= ~(1L << MANTISSA_BITS);
+        if (power2 >= INFINITE_POWER) {
+            return (long) INFINITE_POWER << MANTISSA_BITS;
+        }
+        return mantissa | ((long) power2 << MANTISSA_BITS);
+    }
+
+    /**
+     * @param first an unsigned 64-bit integer
+     * @param second an unsigned 64-bit integer
+     * @return the high 64 bits of the integers' unsigned 128-bit product
+     */
+    private static long unsignedMultiplyHigh(long first, long second) {
+        return Math.multiplyHigh(first, second) + ((first >> 63) & second) + ((second >> 63) & first);
+    }
+}
@@ -0,0 +1,329 @@
+package lexer;
+import lexer.token.*;
+
+import java.nio.CharBuffer;
+
+/**
+ * A class to represent a lexer that generates tokens with attributes by driving the transition table of an
+ * `ExpressionDfa` over character classes.
+ * The lexer generates exactly the same tokens and exceptions (at the same positions) as an `ExpressionLexer`. It reads
+ * and classifies each character exactly once: `peek` and `peekClass` hold the next character to read and its class,
+ * and a token ends when the table has no transition for `peekClass`, so the next token starts at `peek`.
+ * A subclass can read from another source by overriding `nextCharacter`.
+ * The lexer is also a `TokenCursor`, and `scan` is an adapter over `advance`.
+ * A lexer over a character sequence can defer the conversion of its numbers (see `setLazyNumbers`): it still validates
+ * every number as it reads it, but converts a number to a double only when a caller asks for the number's value.
+ */
+public class DfaExpressionLexer implements Lexer<ExpressionTokenTag>, TokenCursor<ExpressionTokenTag> {
+
+    // the value of `peek` at the input's end
+    protected static final int END = -1;
+    // the tags of the tokens, indexed by their ordinals
+    private static final ExpressionTokenTag[] TAGS = ExpressionTokenTag.values();
+
+    // the lexer's input (if it reads from a character sequence)
+    private final CharSequence input;
+    // the index of `peek` in the input
+    private int index = -1;
+    // the current character, or `END` at the input's end
+    protected int peek = END;
+    // the class of `peek`
+    private int peekClass = ExpressionDfa.END_CLASS;
+    // the number of characters that the lexer has read
+    private int readCount = 0;
+    // whether the previous token was a number token
+    private boolean wasNumber = false;
+    // `lineNumber` and `characterNumber` give the position of the lexer in the input.
+    private int lineNumber = 1;
+    private int characterNumber = 0;
+
+    // the accumulator for the digits of the number that the lexer is reading
+    private final DecimalAccumulator decimal = new DecimalAccumulator();
+    // `exponent` and `negativeExponent` give the explicit exponent of the number that the lexer is reading.
+    private int exponent;
+    private boolean negativeExponent;
+    // whether the number that the lexer is reading is negative
+    private boolean negative;
+    // whether the lexer defers the conversion of its numbers
+    private boolean lazyNumbers = false;
+    // `tag`, `numberValue`, `startOffset` and `endOffset` describe the current token.
+    // `numberValue` is valid iff `converted` is set.
+    private int tag = EOF;
+    private double numberValue = 0;
+    private boolean converted = true;
+    private int startOffset = 0;
+    private int endOffset = 0;
+
+    /**
+     * Initialises this lexer to read a character sequence.
+     * @param input an input character sequence
+     */
+    public DfaExpressionLexer(CharSequence input) {
+        this.input = input;
+        // initialise `peek` to be the input's first character
+        readCharacter();
+    }
+
+    /**
+     * Initialises this lexer to read a character array (without copying it).
+     * @param input an input character array
+     */
+    public DfaExpressionLexer(char[] input) {
+        this(CharBuffer.wrap(input));
+    }
+
+    /**
+     * Initialises this lexer for a subclass that overrides `nextCharacter`. The subclass must call `readCharacter` to
+     * initialise `peek` once it can read its input.
+     */
+    protected DfaExpressionLexer() {
+        this.input = null;
+    }
+
+    /**
+     * @return the number of the current line
+     */
+    @Override
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * @return the number of the current character on its line
+     */
+    @Override
+    public int getCharacterNumber() {
+        return characterNumber;
+    }
+
+    /**
+     * @return whether the lexer defers the conversion of its numbers
+     */
+    public boolean isLazyNumbers() {
+        return lazyNumbers;
+    }
+
+    /**
+     * Sets whether the lexer defers the conversion of its numbers. A lazy lexer generates `LazyNumberToken` objects and
+     * converts the current number in `numberValue` only on the first call, so a caller that only validates its input
+     * (or uses few of its numbers' values) skips most conversions. The lexer still throws the same exceptions eagerly.
+     * @param lazyNumbers whether the lexer defers the conversion of its numbers
+     */
+    public void setLazyNumbers(boolean lazyNumbers) {
+        // assert that the lexer can retrieve a lexeme after reading it
+        if (lazyNumbers && input == null) {
+            throw new IllegalArgumentException(
+                "[DfaExpressionLexer:setLazyNumbers] Lazy numbers need a character sequence input."
+            );
+        }
+        this.lazyNumbers = lazyNumbers;
+    }
+
+    /**
+     * Reads the next character from the input.
+     * @return the next character, or `END` at the input's end
+     */
+    protected int nextCharacter() {
+        index++;
+        return index < input.length() ? input.charAt(index) : END;
+    }
+
+    /**
+     * Updates `peek` to be the next unread character and `peekClass` to be its class.
+     * Consuming a newline starts a new line.
+     */
+    protected final void readCharacter() {
+        if (peek == '\n') {
+            lineNumber++;
+            characterNumber = 0;
+        }
+        peek = nextCharacter();
+        peekClass = ExpressionDfa.getClass(peek);
+        if (peek != END) {
+            readCount++;
+        }
+        // increment the character number
+        characterNumber++;
+    }
+
+    /**
+     * @return the offset of `peek` from the input's start (or the input's length at its end)
+     */
+    private int getOffset() {
+        return peek == END ? readCount : readCount - 1;
+    }
+
+    /**
+     * Moves to the next token of the current input without creating a token object.
+     * @return the ordinal of the token's tag, or `EOF` if the lexer reaches its input's end
+     * @throws IllegalLexemeException the current input produces an invalid token
+     */
+    @Override
+    public int advance() throws IllegalLexemeException {
+        // A sign starts a number iff the previous token was not a number.
+        int state = wasNumber ? ExpressionDfa.OPERATOR : ExpressionDfa.OPERAND;
+        decimal.clear();
+        exponent = 0;
+        negativeExponent = false;
+        negative = false;
+
+        // consume characters until the table stops
+        // The start states loop on whitespace, so the token's lexeme starts at the last start-state character.
+        startOffset = getOffset();
+        int entry = ExpressionDfa.getTransition(state, peekClass);
+        while (entry >= 0) {
+            if (entry <= ExpressionDfa.OPERATOR) {
+                startOffset = getOffset() + 1;
+            }
+            state = entry;
+            // A lazy lexer only validates the number's lexeme and converts it later.
+            switch (lazyNumbers ? ExpressionDfa.NO_ACTION : ExpressionDfa.getAction(state)) {
+                case ExpressionDfa.INTEGER_DIGIT -> decimal.appendIntegerDigit(CharacterClasses.digit(peek));
+                case ExpressionDfa.FRACTION_DIGIT -> decimal.appendFractionDigit(CharacterClasses.digit(peek));
+                case ExpressionDfa.EXPONENT_DIGIT -> {
+                    // recognise the digit as an additional digit of `exponent` unless `exponent` has saturated
+                    if (exponent <= DecimalAccumulator.EXPONENT_LIMIT) {
+                        exponent = 10 * exponent + CharacterClasses.digit(peek);
+                    }
+                }
+                case ExpressionDfa.NEGATE -> negative = true;
+                case ExpressionDfa.NEGATE_EXPONENT -> negativeExponent = true;
+                default -> { }
+            }
+            readCharacter();
+            entry = ExpressionDfa.getTransition(state, peekClass);
+        }
+
+        int stopCode = -1 - entry;
+        if (stopCode != ExpressionDfa.ACCEPT) {
+            throw createException(stopCode, state);
+        }
+        endOffset = getOffset();
+        tag = ExpressionDfa.getAccept(state);
+        // return `EOF` iff the lexer reaches its input's end
+        if (tag == ExpressionDfa.NO_TOKEN) {
+            tag = EOF;
+            return EOF;
+        }
+        // set `wasNumber` iff the token is a number token
+        wasNumber = TAGS[tag] == ExpressionTokenTag.NUMBER;
+        if (wasNumber) {
+            converted = !lazyNumbers;
+            if (converted) {
+                // convert the number's digits and exponent to the nearest double
+                decimal.setExponent(negativeExponent ? -exponent : exponent);
+                double value = decimal.toDouble();
+                numberValue = negative ? -value : value;
+            }
+        }
+        return tag;
+    }
+
+    /**
+     * @return the value of the current token if it is a number token (and otherwise unspecified)
+     */
+    @Override
+    public double numberValue() {
+        // a lazy lexer converts the current number on the first call
+        if (!converted) {
+            numberValue = decimal.convert(input, startOffset, endOffset);
+            converted = true;
+        }
+        return numberValue;
+    }
+
+    /**
+     * @return the offset of the first character of the current token's lexeme
+     */
+    @Override
+    public int startOffset() {
+        return startOffset;
+    }
+
+    /**
+     * @return the offset after the last character of the current token's lexeme
+     */
+    @Override
+    public int endOffset() {
+        return endOffset;
+    }
+
+    /**
+     * @return the current token, or `null` at the input's end
+     */
+    @Override
+    public Token<ExpressionTokenTag> currentToken() {
+        if (tag == EOF) {
+            return null;
+        }
+        if (lazyNumbers && TAGS[tag] == ExpressionTokenTag.NUMBER) {
+            return new LazyNumberToken(input, startOffset, endOffset - startOffset);
+        }
+        return ExpressionTokens.of(tag, numberValue);
+    }
+
+    /**
+     * Generates a token from the current input. An adapter over `advance` that materialises the token.
+     * Returns `null` if the lexer reaches its input's end.
+     * @return a found token
+     * @throws IllegalLexemeException the current input produces an invalid token
+     */
+    @Override
+    public Token<ExpressionTokenTag> scan() throws IllegalLexemeException {
+        advance();
+        return currentToken();
+    }
+
+    /**
+     * Creates the exception for a stop code at the lexer's current position.
+     * @param stopCode a stop code other than `ACCEPT`
+     * @param state the state in which the table stopped
+     * @return the exception
+     */
+    private IllegalLexemeException createException(int stopCode, int state) {
+        return switch (stopCode) {
+            case ExpressionDfa.LEADING_ZERO -> new LeadingZeroException(
+                "DfaExpressionLexer",
+                "scan",
+                lineNumber,
+                characterNumber,
+                "Illegal leading zero."
+            );
+            case ExpressionDfa.EMPTY_NUMBER -> new EmptyNumberException(
+                "DfaExpressionLexer",
+                "scan",
+                lineNumber,
+                characterNumber,
+                "Illegal empty number."
+            );
+            case ExpressionDfa.SIGN_WITHOUT_INTEGER -> new MissingIntegerException(
+                "DfaExpressionLexer",
+                "scan",
+                lineNumber,
+                characterNumber,
+                "Sign without a following integer"
+            );
+            case ExpressionDfa.MISSING_EXPONENT -> new MissingIntegerException(
+                "DfaExpressionLexer",
+                "scan",
+                lineNumber,
+                characterNumber,
+                "Missing exponent after 'e'."
+            );
+            case ExpressionDfa.INCOMPLETE_KEYWORD -> new IncompleteCosineException(
+                "DfaExpressionLexer",
+                "scan",
+                lineNumber,
+                characterNumber,
+                String.format("Incomplete \"%s\".", ExpressionDfa.getKeyword(state))
+            );
+            default -> new IllegalCharacterException(
+                "DfaExpressionLexer",
+                "scan",
+                lineNumber,
+                characterNumber,
+                "Illegal character."
+            );
+        };
+    }
+}
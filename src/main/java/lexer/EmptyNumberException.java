@@ -13,4 +13,15 @@ public class EmptyNumberException extends MissingIntegerException {
     ) {
         super(className, methodName, lineNumber, characterNumber, description);
     }
+
+    protected EmptyNumberException(
+            String className,
+            String methodName,
+            int lineNumber,
+            int characterNumber,
+            String description,
+            String message
+    ) {
+        super(className, methodName, lineNumber, characterNumber, description, message);
+    }
 }
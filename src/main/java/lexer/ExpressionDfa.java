@@ -0,0 +1,382 @@
+package lexer;
+import lexer.token.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A class for the deterministic finite automaton that recognises an expression's tokens, as a transition table over
+ * character classes.
+ * The automaton has two start states: `OPERAND`, in which a sign followed by a digit or '.' starts a number, and
+ * `OPERATOR` (after a number), in which a sign is an operator. Both skip whitespace. An entry of the table is either
+ * a state, to which the automaton moves by consuming the current character, or a stop code. On `ACCEPT`, the lexer
+ * generates the current state's token without consuming the current character. On any other stop code, the lexer
+ * throws the code's exception at the current character.
+ * We generate the table from a specification in `Builder`: operators, signs and keywords are each one call there, so
+ * adding a token needs no new lexer method.
+ */
+final class ExpressionDfa {
+
+    // the character classes that the number automaton uses
+    static final int END_CLASS = 0;
+    static final int OTHER_CLASS = 1;
+    static final int WHITESPACE_CLASS = 2;
+    static final int NEWLINE_CLASS = 3;
+    static final int ZERO_CLASS = 4;
+    static final int DIGIT_CLASS = 5;
+    static final int POINT_CLASS = 6;
+    static final int EXPONENT_CLASS = 7;
+    // the first class that the specification assigns to an operator's or keyword's character
+    private static final int FIRST_SYMBOL_CLASS = 8;
+    // the maximum number of character classes (and the width of a row of the table)
+    private static final int CLASS_LIMIT = 32;
+    // the number of ASCII characters
+    private static final int ASCII_COUNT = 128;
+
+    // the stop codes
+    static final int ACCEPT = 0;
+    static final int ILLEGAL_CHARACTER = 1;
+    static final int LEADING_ZERO = 2;
+    static final int EMPTY_NUMBER = 3;
+    static final int SIGN_WITHOUT_INTEGER = 4;
+    static final int MISSING_EXPONENT = 5;
+    static final int INCOMPLETE_KEYWORD = 6;
+
+    // the actions that the lexer performs on the consumed character when it enters a state
+    static final byte NO_ACTION = 0;
+    static final byte INTEGER_DIGIT = 1;
+    static final byte FRACTION_DIGIT = 2;
+    static final byte EXPONENT_DIGIT = 3;
+    static final byte NEGATE = 4;
+    static final byte NEGATE_EXPONENT = 5;
+
+    // the tag ordinal that a start state accepts: none, since the lexer stops in a start state only at the input's
+    // end (or on an illegal character)
+    static final int NO_TOKEN = -1;
+
+    // the start states
+    static final int OPERAND = 0;
+    static final int OPERATOR = 1;
+
+    // a mapping from an ASCII character to its class
+    private static final byte[] CLASSES = new byte[ASCII_COUNT];
+    // the table: the entry for a state and class is at `CLASS_LIMIT * state + class`
+    // A nonnegative entry is the next state. A negative entry `-1 - code` is a stop code.
+    private static final int[] TRANSITIONS;
+    // a mapping from a state to the action on entering it
+    private static final byte[] ACTIONS;
+    // a mapping from a state to the tag ordinal of the token that the state accepts
+    private static final int[] ACCEPTS;
+    // a mapping from a state to the keyword that it is a proper prefix of (or `null`), for exception messages
+    private static final String[] KEYWORDS;
+    // a mapping from a tag ordinal to the shared token of an attribute-free tag (or `null`)
+    private static final Token<ExpressionTokenTag>[] TOKENS;
+
+    static {
+        Builder builder = new Builder();
+        // the specification of the expression's tokens
+        builder.addSign('+', PlusToken.INSTANCE, NO_ACTION);
+        builder.addSign('-', MinusToken.INSTANCE, NEGATE);
+        builder.addOperator('^', PowerToken.INSTANCE);
+        builder.addOperator('!', FactorialToken.INSTANCE);
+        builder.addKeyword("cos", CosineToken.INSTANCE);
+
+        TRANSITIONS = builder.getTransitions();
+        ACTIONS = builder.getActions();
+        ACCEPTS = builder.getAccepts();
+        KEYWORDS = builder.keywords.toArray(new String[0]);
+        TOKENS = builder.tokens;
+    }
+
+    private ExpressionDfa() {
+    }
+
+    /**
+     * @param character a character, or `-1` for the input's end
+     * @return the character's class
+     */
+    static int getClass(int character) {
+        if (character < ASCII_COUNT) {
+            return character < 0 ? END_CLASS : CLASSES[character];
+        }
+        // classify a non-ASCII character as `Character` does
+        if (Character.isDigit(character)) {
+            return Character.digit(character, 10) == 0 ? ZERO_CLASS : DIGIT_CLASS;
+        }
+        return Character.isWhitespace(character) ? WHITESPACE_CLASS : OTHER_CLASS;
+    }
+
+    /**
+     * @param state a state
+     * @param characterClass a character class
+     * @return the table's entry: the next state if nonnegative and otherwise `-1 - code` for a stop code
+     */
+    static int getTransition(int state, int characterClass) {
+        return TRANSITIONS[CLASS_LIMIT * state + characterClass];
+    }
+
+    /**
+     * @param state a state
+     * @return the action on entering the state
+     */
+    static byte getAction(int state) {
+        return ACTIONS[state];
+    }
+
+    /**
+     * @param state a state
+     * @return the tag ordinal of the token that the state accepts, or `NO_TOKEN`
+     */
+    static int getAccept(int state) {
+        return ACCEPTS[state];
+    }
+
+    /**
+     * @param state a state
+     * @return the keyword that the state is a proper prefix of, or `null`
+     */
+    static String getKeyword(int state) {
+        return KEYWORDS[state];
+    }
+
+    /**
+     * @param tagOrdinal the ordinal of an attribute-free tag
+     * @return the tag's shared token
+     */
+    static Token<ExpressionTokenTag> getToken(int tagOrdinal) {
+        return TOKENS[tagOrdinal];
+    }
+
+    /**
+     * A class to generate the table from the specification of the tokens.
+     */
+    private static class Builder {
+
+        // the rows of the table, one per state
+        private final List<int[]> rows = new ArrayList<>();
+        private final List<Byte> actions = new ArrayList<>();
+        private final List<Integer> accepts = new ArrayList<>();
+        private final List<String> keywords = new ArrayList<>();
+        // We suppress warnings for the unchecked cast because Java cannot create an array of a generic type.
+        @SuppressWarnings("unchecked")
+        private final Token<ExpressionTokenTag>[] tokens =
+            (Token<ExpressionTokenTag>[]) new Token<?>[ExpressionTokenTag.values().length];
+        // the next unassigned character class
+        private int nextClass = FIRST_SYMBOL_CLASS;
+        // the states in which a number starts
+        private final int integerState;
+        private final int zeroState;
+        private final int pointState;
+        // the state after 'e'
+        private final int exponentMarkState;
+
+        Builder() {
+            // classify the ASCII characters that the number automaton uses
+            for (char character = 0; character < ASCII_COUNT; character++) {
+                if (Character.isDigit(character)) {
+                    CLASSES[character] = (byte) (Character.digit(character, 10) == 0 ? ZERO_CLASS : DIGIT_CLASS);
+                } else if (character == '\n') {
+                    CLASSES[character] = NEWLINE_CLASS;
+                } else if (Character.isWhitespace(character)) {
+                    CLASSES[character] = WHITESPACE_CLASS;
+                } else {
+                    CLASSES[character] = OTHER_CLASS;
+                }
+            }
+            CLASSES['.'] = POINT_CLASS;
+            CLASSES['e'] = EXPONENT_CLASS;
+
+            // The start states skip whitespace, stop at the input's end and reject every other character.
+            int operand = addState(NO_TOKEN, NO_ACTION, ILLEGAL_CHARACTER);
+            int operator = addState(NO_TOKEN, NO_ACTION, ILLEGAL_CHARACTER);
+            for (int start : new int[] {operand, operator}) {
+                setTransition(start, WHITESPACE_CLASS, start);
+                setTransition(start, NEWLINE_CLASS, start);
+                setStop(start, END_CLASS, ACCEPT);
+            }
+
+            int number = ExpressionTokenTag.NUMBER.ordinal();
+            // an integral part (whose first digit is not '0') and one that is "0"
+            integerState = addState(number, INTEGER_DIGIT, ACCEPT);
+            zeroState = addState(number, INTEGER_DIGIT, ACCEPT);
+            setTransition(integerState, ZERO_CLASS, integerState);
+            setTransition(integerState, DIGIT_CLASS, integerState);
+            setStop(zeroState, ZERO_CLASS, LEADING_ZERO);
+            setStop(zeroState, DIGIT_CLASS, LEADING_ZERO);
+            // a point with and without a preceding integral part
+            int integerPointState = addState(number, NO_ACTION, ACCEPT);
+            pointState = addState(NO_TOKEN, NO_ACTION, EMPTY_NUMBER);
+            setTransition(integerState, POINT_CLASS, integerPointState);
+            setTransition(zeroState, POINT_CLASS, integerPointState);
+            // a fractional part
+            int fractionState = addState(number, FRACTION_DIGIT, ACCEPT);
+            for (int state : new int[] {integerPointState, pointState, fractionState}) {
+                setTransition(state, ZERO_CLASS, fractionState);
+                setTransition(state, DIGIT_CLASS, fractionState);
+            }
+            // an exponent, with an optional sign
+            exponentMarkState = addState(NO_TOKEN, NO_ACTION, MISSING_EXPONENT);
+            for (int state : new int[] {integerState, zeroState, integerPointState, fractionState}) {
+                setTransition(state, EXPONENT_CLASS, exponentMarkState);
+            }
+            int exponentState = addState(number, EXPONENT_DIGIT, ACCEPT);
+            int exponentZeroState = addState(number, EXPONENT_DIGIT, ACCEPT);
+            setTransition(exponentState, ZERO_CLASS, exponentState);
+            setTransition(exponentState, DIGIT_CLASS, exponentState);
+            setStop(exponentZeroState, ZERO_CLASS, LEADING_ZERO);
+            setStop(exponentZeroState, DIGIT_CLASS, LEADING_ZERO);
+            setTransition(exponentMarkState, ZERO_CLASS, exponentZeroState);
+            setTransition(exponentMarkState, DIGIT_CLASS, exponentState);
+
+            // both start states start numbers
+            addNumberStart(operand);
+            addNumberStart(operator);
+        }
+
+        /**
+         * Adds a state whose row stops on every class.
+         * @param accept the tag ordinal of the token that the state accepts, or `NO_TOKEN`
+         * @param action the action on entering the state
+         * @param stopCode the stop code for every class
+         * @return the new state
+         */
+        private int addState(int accept, byte action, int stopCode) {
+            int[] row = new int[CLASS_LIMIT];
+            Arrays.fill(row, -1 - stopCode);
+            rows.add(row);
+            actions.add(action);
+            accepts.add(accept);
+            keywords.add(null);
+            return rows.size() - 1;
+        }
+
+        private void setTransition(int state, int characterClass, int nextState) {
+            rows.get(state)[characterClass] = nextState;
+        }
+
+        private void setStop(int state, int characterClass, int stopCode) {
+            rows.get(state)[characterClass] = -1 - stopCode;
+        }
+
+        /**
+         * Adds transitions from a state into the number automaton on a digit or a point.
+         * @param state a state
+         */
+        private void addNumberStart(int state) {
+            setTransition(state, ZERO_CLASS, zeroState);
+            setTransition(state, DIGIT_CLASS, integerState);
+            setTransition(state, POINT_CLASS, pointState);
+        }
+
+        /**
+         * Assigns a new class to a character that a token's lexeme contains (if it does not have one).
+         * @param character an ASCII character
+         * @return the character's class
+         */
+        private int getSymbolClass(char character) {
+            if (CLASSES[character] == OTHER_CLASS) {
+                if (nextClass == CLASS_LIMIT) {
+                    throw new IllegalStateException("[ExpressionDfa:getSymbolClass] Too many character classes.");
+                }
+                CLASSES[character] = (byte) nextClass++;
+            }
+            return CLASSES[character];
+        }
+
+        /**
+         * Adds a one-character operator.
+         * @param character the operator's lexeme
+         * @param token the operator's shared token
+         */
+        void addOperator(char character, Token<ExpressionTokenTag> token) {
+            int characterClass = getSymbolClass(character);
+            int state = addAcceptingState(token);
+            setTransition(OPERAND, characterClass, state);
+            setTransition(OPERATOR, characterClass, state);
+        }
+
+        /**
+         * Adds a one-character operator that is a number's sign (and an exponent's) where an operand is expected.
+         * @param character the operator's lexeme
+         * @param token the operator's shared token
+         * @param action the action that applies the sign to a number or exponent
+         */
+        void addSign(char character, Token<ExpressionTokenTag> token, byte action) {
+            int characterClass = getSymbolClass(character);
+            setTransition(OPERATOR, characterClass, addAcceptingState(token));
+            // A sign accepts its operator unless a number follows it.
+            int signState = addState(token.getTag().ordinal(), action, ACCEPT);
+            addNumberStart(signState);
+            setTransition(OPERAND, characterClass, signState);
+            // an exponent's sign requires an integer
+            int exponentSignState = addState(
+                NO_TOKEN,
+                action == NEGATE ? NEGATE_EXPONENT : NO_ACTION,
+                SIGN_WITHOUT_INTEGER
+            );
+            setTransition(exponentSignState, ZERO_CLASS, getTransition(exponentMarkState, ZERO_CLASS));
+            setTransition(exponentSignState, DIGIT_CLASS, getTransition(exponentMarkState, DIGIT_CLASS));
+            setTransition(exponentMarkState, characterClass, exponentSignState);
+        }
+
+        /**
+         * Adds a keyword, each proper prefix of which is an incomplete keyword.
+         * @param keyword the keyword's lexeme
+         * @param token the keyword's shared token
+         */
+        void addKeyword(String keyword, Token<ExpressionTokenTag> token) {
+            int state = -1;
+            for (int index = 0; index < keyword.length(); index++) {
+                int characterClass = getSymbolClass(keyword.charAt(index));
+                int nextState = index == keyword.length() - 1
+                    ? addAcceptingState(token)
+                    : addState(NO_TOKEN, NO_ACTION, INCOMPLETE_KEYWORD);
+                if (index < keyword.length() - 1) {
+                    keywords.set(nextState, keyword);
+                }
+                if (state < 0) {
+                    setTransition(OPERAND, characterClass, nextState);
+                    setTransition(OPERATOR, characterClass, nextState);
+                } else {
+                    setTransition(state, characterClass, nextState);
+                }
+                state = nextState;
+            }
+        }
+
+        /**
+         * Adds a state that accepts an attribute-free token on every class.
+         * @param token the token
+         * @return the new state
+         */
+        private int addAcceptingState(Token<ExpressionTokenTag> token) {
+            tokens[token.getTag().ordinal()] = token;
+            return addState(token.getTag().ordinal(), NO_ACTION, ACCEPT);
+        }
+
+        private int getTransition(int state, int characterClass) {
+            return rows.get(state)[characterClass];
+        }
+
+        int[] getTransitions() {
+            int[] transitions = new int[CLASS_LIMIT * rows.size()];
+            for (int state = 0; state < rows.size(); state++) {
+                System.arraycopy(rows.get(state), 0, transitions, CLASS_LIMIT * state, CLASS_LIMIT);
+            }
+            return transitions;
+        }
+
+        byte[] getActions() {
+            byte[] array = new byte[actions.size()];
+            for (int state = 0; state < array.length; state++) {
+                array[state] = actions.get(state);
+            }
+            return array;
+        }
+
+        int[] getAccepts() {
+            return accepts.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+}
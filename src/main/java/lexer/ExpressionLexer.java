@@ -4,8 +4,6 @@ import lexer.token.*;
 import java.io.Reader;
 import java.io.IOException;
 import java.io.StringReader;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * A class to represent a lexer that reads an expression to generate tokens with attributes.
@@ -13,18 +11,41 @@ import java.util.List;
  * A method can update `peek` to the next character by calling an overload of `readCharacter`.
  * A method that attempts to generate a token reads from `peek`, assuming that `peek` points to the start of that token.
  * The method reports invalid tokens using exceptions iff it has irreversibly read characters.
+ * The lexer tracks only how many characters it has read. It resolves its line and character numbers from a
+ * `LineIndex` of the newlines that it has consumed, when it reports a position.
+ * A lexer can be reset to read another input, so a caller that lexes many inputs can reuse one lexer.
+ * The lexer is also a `TokenCursor`: `advance` recognises a token without creating a token object, and `scan` is an
+ * adapter that materialises the token that `advance` recognised.
  */
-public class ExpressionLexer implements Lexer<ExpressionTokenTag> {
+public class ExpressionLexer implements Lexer<ExpressionTokenTag>, TokenCursor<ExpressionTokenTag> {
+
+    // the result of a method that attempts to recognise a token and finds none
+    private static final int NO_TOKEN = -2;
+    // the ordinal of the number tag
+    private static final int NUMBER = ExpressionTokenTag.NUMBER.ordinal();
 
     // reader for the lexer's input
-    private final Reader reader;
+    private Reader reader;
+    // the reusable reader for the character sequences that `reset` reads, which the lexer creates on first use
+    private CharSequenceReader sequenceReader = null;
     // the current character
     protected Character peek = null;
+    // the number of times that the lexer has read from the reader (including reads at the input's end)
+    // The offset of `peek` is `position - 1` before the input's end.
+    private int position = 0;
+    // the length of the input, which is known once the lexer reaches the input's end
+    private int length = -1;
+    // the offsets at which the lines that the lexer has consumed start
+    private final LineIndex lineIndex = new LineIndex();
     // whether the previous token was a number token
     private boolean wasNumber = false;
-    // `lineNumber` and `characterNumber` give the position of the lexer in the input.
-    private int lineNumber = 1;
-    private int characterNumber = 0;
+    // the accumulator for the digits and exponent of the number that the lexer is reading
+    private final DecimalAccumulator decimal = new DecimalAccumulator();
+    // `tag`, `numberValue`, `startOffset` and `endOffset` describe the current token.
+    private int tag = EOF;
+    private double numberValue = 0;
+    private int startOffset = 0;
+    private int endOffset = 0;
 
     /**
      * Initialises this lexer to read a string.
@@ -46,12 +67,46 @@ public class ExpressionLexer implements Lexer<ExpressionTokenTag> {
         readCharacter();
     }
 
+    /**
+     * Resets this lexer to read a character sequence from its start, reusing the lexer's buffers and reader.
+     * @param input an input character sequence
+     * @throws IOException the reader throws an IO exception
+     */
+    public void reset(CharSequence input) throws IOException {
+        if (sequenceReader == null) {
+            sequenceReader = new CharSequenceReader();
+        }
+        sequenceReader.reset(input);
+        reset(sequenceReader);
+    }
+
+    /**
+     * Resets this lexer to read from a reader, reusing the lexer's buffers. The lexer does not close its previous
+     * reader.
+     * @param reader a reader
+     * @throws IOException the reader throws an IO exception
+     */
+    public void reset(Reader reader) throws IOException {
+        this.reader = reader;
+        peek = null;
+        position = 0;
+        length = -1;
+        lineIndex.clear();
+        wasNumber = false;
+        tag = EOF;
+        numberValue = 0;
+        startOffset = 0;
+        endOffset = 0;
+        // initialise `peek` to be the input's first character
+        readCharacter();
+    }
+
     /**
      * @return the number of the current line
      */
     @Override
     public int getLineNumber() {
-        return lineNumber;
+        return lineIndex.getLineCount();
     }
 
     /**
@@ -59,7 +114,33 @@ public class ExpressionLexer implements Lexer<ExpressionTokenTag> {
      */
     @Override
     public int getCharacterNumber() {
-        return characterNumber;
+        // Each read (including a read at the input's end) advances the character number.
+        return position - lineIndex.getLastLineStart();
+    }
+
+    /**
+     * Resolves an offset that the lexer has read to the number of the line that contains it.
+     * @param offset an offset (for example, a token's start offset)
+     * @return the line's number
+     */
+    public int getLineNumber(int offset) {
+        return lineIndex.getLineNumber(offset);
+    }
+
+    /**
+     * Resolves an offset that the lexer has read to the number of its character on its line.
+     * @param offset an offset (for example, a token's start offset)
+     * @return the character's number
+     */
+    public int getCharacterNumber(int offset) {
+        return lineIndex.getCharacterNumber(offset);
+    }
+
+    /**
+     * @return the offset of `peek` from the input's start (or the input's length at its end)
+     */
+    private int getOffset() {
+        return peek == null ? length : position - 1;
     }
 
     /**
@@ -71,9 +152,16 @@ public class ExpressionLexer implements Lexer<ExpressionTokenTag> {
         int nextInteger = reader.read();
         // `nextInteger` is `-1` iff the lexer has reached the end of the file.
         // Otherwise, it is a positive signed integer that the lexer can safely convert to an unsigned char.
-        peek = nextInteger >= 0 ? (char)nextInteger : null;
-        // increment the character number
-        characterNumber++;
+        position++;
+        if (nextInteger >= 0) {
+            peek = (char)nextInteger;
+        } else {
+            peek = null;
+            // record the input's length at the first read at its end
+            if (length < 0) {
+                length = position - 1;
+            }
+        }
     }
 
     /**
@@ -97,9 +185,9 @@ public class ExpressionLexer implements Lexer<ExpressionTokenTag> {
         // The lexer does nothing iff it has reached the end of the file or the current character is not whitespace.
         // Otherwise, it skips the current character.
         while (peek != null && Character.isWhitespace(peek)) {
+            // consuming a newline starts a new line after it
             if (peek == '\n') {
-                lineNumber++;
-                characterNumber = 0;
+                lineIndex.addLineStart(position);
             }
             readCharacter();
         }
@@ -107,7 +195,7 @@ public class ExpressionLexer implements Lexer<ExpressionTokenTag> {
 
     /**
      * Attempts to parse a string representing a nonempty unsigned integer that has no leading zeros.
-     * The string can be "0", representing `0`.
+     * The string can be "0", representing `0`. The value saturates once it exceeds `EXPONENT_LIMIT`.
      * @return the value of a found unsigned integer and otherwise `null`
      * @throws IOException the reader throws an IO exception
      * @throws LeadingZeroException the integer has leading zeros
@@ -129,19 +217,58 @@ public class ExpressionLexer implements Lexer<ExpressionTokenTag> {
                 throw new LeadingZeroException(
                     "ExpressionLexer",
                     "getInteger",
-                    lineNumber,
-                    characterNumber,
+                    getLineNumber(),
+                    getCharacterNumber(),
                     "Illegal leading zero."
                 );
             }
-            // recognise the current character as an additional digit of `value`
-            value = 10 * value + Character.digit(peek, 10);
+            // recognise the current character as an additional digit of `value` unless `value` has saturated
+            if (value <= DecimalAccumulator.EXPONENT_LIMIT) {
+                value = 10 * value + Character.digit(peek, 10);
+            }
             // advance `peek`
             readCharacter();
         }
         return value;
     }
 
+    /**
+     * Attempts to parse the integral part of a number: a string representing a nonempty unsigned integer that has no
+     * leading zeros. Appends the integer's digits to `decimal`.
+     * @return whether the input starts with an integral part
+     * @throws IOException the reader throws an IO exception
+     * @throws LeadingZeroException the integer has leading zeros
+     */
+    protected boolean getOptionalIntegralPart() throws IOException, LeadingZeroException {
+        // return `false` iff the input does not start with a digit
+        if (peek == null || !Character.isDigit(peek)) {
+            return false;
+        }
+
+        // recognise the input's first character as the first digit
+        boolean isZero = Character.digit(peek, 10) == 0;
+        decimal.appendIntegerDigit(Character.digit(peek, 10));
+        readCharacter();
+
+        while (peek != null && Character.isDigit(peek)) {
+            // throw a `LeadingZeroException` if characters appear after a first character of '0'
+            if (isZero) {
+                throw new LeadingZeroException(
+                    "ExpressionLexer",
+                    "getInteger",
+                    getLineNumber(),
+                    getCharacterNumber(),
+                    "Illegal leading zero."
+                );
+            }
+            // recognise the current character as an additional digit
+            decimal.appendIntegerDigit(Character.digit(peek, 10));
+            // advance `peek`
+            readCharacter();
+        }
+        return true;
+    }
+
     /**
      * Attempts to parse a string representing a nonempty signed integer that has no leading zeros. Infers the sign.
      * @return the value of a found signed integer and otherwise `null`
@@ -163,8 +290,8 @@ public class ExpressionLexer implements Lexer<ExpressionTokenTag> {
                 throw new MissingIntegerException(
                 "ExpressionLexer",
                 "getOptionalSignedInteger",
-                lineNumber,
-                characterNumber,
+                getLineNumber(),
+                getCharacterNumber(),
                 "Sign without a following integer"
             );
             }
@@ -180,38 +307,36 @@ public class ExpressionLexer implements Lexer<ExpressionTokenTag> {
     }
 
     /**
-     * Attempts to retrieve the fractional part of decimal number, starting directly after the decimal point.
-     * @return the value of a found fractional part and otherwise `null`
+     * Attempts to retrieve the fractional part of decimal number, starting directly after the decimal point. Appends
+     * the part's digits to `decimal`.
+     * @return whether the input starts with a fractional part
      * @throws IOException the reader throws an IO exception
      */
-    protected Double getOptionalFraction() throws IOException {
-        // return `null` if the input does not start with a digit
+    protected boolean getOptionalFraction() throws IOException {
+        // return `false` if the input does not start with a digit
         if (peek == null || !Character.isDigit(peek)) {
-            return null;
+            return false;
         }
 
-        // initialise `value` to be `0` (the default if nothing follows '.')
-        double value = 0;
-        int divisor = 10;
         while (peek != null && Character.isDigit(peek)) {
-            // recognise the current character as an additional digit of `value`
-            value = value + (double) Character.digit(peek, 10) / divisor;
-            divisor *= 10;
+            // recognise the current character as an additional digit
+            decimal.appendFractionDigit(Character.digit(peek, 10));
             // advance `peek`
             readCharacter();
         }
-        return value;
+        return true;
     }
 
     /**
      * Attempts to retrieve a number (with a value attribute) or sign (character token that represents a sign) token.
-     * @return a found number token and otherwise `null`
+     * Sets `numberValue` to a number token's value.
+     * @return the tag ordinal of a found number or sign token and otherwise `NO_TOKEN`
      * @throws IOException the reader throws an IO exception
      * @throws EmptyNumberException the number's integral and fractional parts are empty, and it has a decimal point.
      * @throws MissingIntegerException an integer does not follow a sign or 'e'
      * @throws LeadingZeroException an integer has a leading zero
      */
-    protected Token<ExpressionTokenTag> getOptionalNumberToken() throws
+    protected int getOptionalNumber() throws
             IOException,
             EmptyNumberException,
             MissingIntegerException,
@@ -224,35 +349,36 @@ public class ExpressionLexer implements Lexer<ExpressionTokenTag> {
         }
 
         // retrieve the number's integral part
-        Integer integer = getOptionalInteger();
+        decimal.clear();
+        boolean hasInteger = getOptionalIntegralPart();
 
         // retrieve the number's fractional part iff it has a decimal point
-        Double fraction = null;
+        boolean hasFraction = false;
         boolean fractional = peek != null && peek == '.';
         if (fractional) {
             // advance `peek` past '.'
             readCharacter();
-            fraction = getOptionalFraction();
+            hasFraction = getOptionalFraction();
         }
 
-        if (integer == null) {
-            if (fractional && fraction == null) {
+        if (!hasInteger) {
+            if (fractional && !hasFraction) {
                 // throw an `EmptyNumberException` iff the number is fractional and both its parts are empty
                 throw new EmptyNumberException(
                     "ExpressionLexer",
                     "getNumberToken",
-                    lineNumber,
-                    characterNumber,
+                    getLineNumber(),
+                    getCharacterNumber(),
                     "Illegal empty number."
                 );
             } else if (!fractional) {
-                // return a nonnull sign token iff the number is signed, empty and not fractional
+                // return a sign token iff the number is signed, empty and not fractional
                 // Note that, in this case, `peek` has advanced exactly one space beyond the initial sign character.
                 if (sign != null) {
-                    return getOptionalCharacterToken(sign);
+                    return getCharacterTag(sign);
                 }
-                // return `null` iff the number is not signed, empty and not fractional
-                return null;
+                // return `NO_TOKEN` iff the number is not signed, empty and not fractional
+                return NO_TOKEN;
             }
         }
 
@@ -267,144 +393,168 @@ public class ExpressionLexer implements Lexer<ExpressionTokenTag> {
                 throw new MissingIntegerException(
                     "ExpressionLexer",
                     "getNumberToken",
-                    lineNumber,
-                    characterNumber,
+                    getLineNumber(),
+                    getCharacterNumber(),
                     "Missing exponent after 'e'."
                 );
             }
+            decimal.setExponent(exponent);
         }
 
-        // initialise `value` to be `integer` if `integer` is nonnull, otherwise `0`
-        float value = (integer == null) ? 0 : integer;
-        // add a nonnull fractional part `value`
-        if (fraction != null) {
-            value += fraction;
-        }
-        // multiply `value` by `10` raised to a nonnull exponent
-        if (exponent != null) {
-            value *= Math.pow(10, exponent);
-        }
-        // negate `value` iff its sign indicates that it is negative
+        // convert the number's digits and exponent to the nearest double
+        numberValue = decimal.toDouble();
+        // negate `numberValue` iff its sign indicates that it is negative
         if (sign != null && sign == '-') {
-            value *= -1;
+            numberValue = -numberValue;
         }
-        // wrap `value` in a number token
-        return new NumberToken(value);
+        return NUMBER;
     }
 
     /**
      * Attempts to retrieve a character token. A token is a character token iff its lexeme is exactly one character.
-     * @return a found token and otherwise `null`
+     * @return the tag ordinal of a found token and otherwise `NO_TOKEN`
      * @throws IOException the reader throws an IO exception
      */
-    protected Token<ExpressionTokenTag> getOptionalCharacterToken() throws IOException {
-        // map `peek` to a token and otherwise `null`
-        Token<ExpressionTokenTag>  tagToken = getOptionalCharacterToken(peek);
-        // advance `peek` iff it produced a `token`
-        if (tagToken != null) {
+    protected int getOptionalCharacter() throws IOException {
+        // map `peek` to a tag ordinal and otherwise `NO_TOKEN`
+        int tag = getCharacterTag(peek);
+        // advance `peek` iff it produced a token
+        if (tag != NO_TOKEN) {
             readCharacter();
         }
-        return tagToken;
+        return tag;
     }
 
     /**
-     * Attempts to retrieve a character token from an explicit character.
-     * @return a found token and otherwise `null`
+     * Maps an explicit character to the tag of its character token.
+     * @param character a character
+     * @return the tag ordinal of the character's token and otherwise `NO_TOKEN`
      */
-    static protected Token<ExpressionTokenTag> getOptionalCharacterToken(Character character) {
-        // map `character` to a token and otherwise `null`
+    static protected int getCharacterTag(char character) {
+        // map `character` to a tag ordinal and otherwise `NO_TOKEN`
         return switch (character) {
-            case '+' -> new PlusToken();
-            case '-' -> new MinusToken();
-            case '^' -> new PowerToken();
-            case '!' -> new FactorialToken();
-            default -> null;
+            case '+' -> ExpressionTokenTag.PLUS.ordinal();
+            case '-' -> ExpressionTokenTag.MINUS.ordinal();
+            case '^' -> ExpressionTokenTag.POWER.ordinal();
+            case '!' -> ExpressionTokenTag.FACTORIAL.ordinal();
+            default -> NO_TOKEN;
         };
     }
 
     /**
      * Attempts to retrieve a cosine token.
-     * @return a found cosine token and otherwise `null`
+     * @return the tag ordinal of a found cosine token and otherwise `NO_TOKEN`
      * @throws IOException the reader throws an IO exception
      * @throws IncompleteCosineException the input starts with 'c' but does not continue to produce "cos"
      */
-    protected CosineToken getOptionalCosineToken() throws IOException, IncompleteCosineException {
-        // return `null` iff the input does not start with 'c'
+    protected int getOptionalCosine() throws IOException, IncompleteCosineException {
+        // return `NO_TOKEN` iff the input does not start with 'c'
         if (peek != 'c') {
-            return null;
+            return NO_TOKEN;
         }
         // throw an `IncompleteCosineException` iff 'c' is not a prefix to "cos"
         if (!(readCharacter('o') && readCharacter('s'))) {
             throw new IncompleteCosineException(
                 "ExpressionLexer",
                 "getOptionalCosineToken",
-                lineNumber,
-                characterNumber,
+                getLineNumber(),
+                getCharacterNumber(),
                 "'c' should be a prefix to \"cos\"."
             );
         }
         // advance peek
         readCharacter();
-        return new CosineToken();
+        return ExpressionTokenTag.COSINE.ordinal();
     }
 
     /**
-     * Generates a token from the current input.
-     * Returns `null` if the lexer reaches its input's end.
-     * @return a found token
+     * Moves to the next token of the current input without creating a token object.
+     * @return the ordinal of the token's tag, or `EOF` if the lexer reaches its input's end
      * @throws IOException the reader throws an IO exception
      * @throws IllegalLexemeException the current input produces an invalid token
      */
-    public Token<ExpressionTokenTag> scan() throws IOException, IllegalLexemeException {
+    @Override
+    public int advance() throws IOException, IllegalLexemeException {
         // skip all whitespace
         skipWhitespace();
+        startOffset = getOffset();
 
-        // return `null` iff the reader reaches its input's end
+        // return `EOF` iff the reader reaches its input's end
         if (peek == null) {
-            return null;
+            tag = EOF;
+            endOffset = startOffset;
+            return EOF;
         }
 
         // The lexer checks for a character then a number token iff `wasNumber` is set. It does the reverse otherwise.
-        Token<ExpressionTokenTag> token;
+        int tag;
         if (wasNumber) {
-            token = getOptionalCharacterToken();
-            if (token == null) { token = getOptionalNumberToken(); }
+            tag = getOptionalCharacter();
+            if (tag == NO_TOKEN) { tag = getOptionalNumber(); }
         } else {
-            token = getOptionalNumberToken();
-            if (token == null) { token = getOptionalCharacterToken(); }
+            tag = getOptionalNumber();
+            if (tag == NO_TOKEN) { tag = getOptionalCharacter(); }
         }
-        if (token == null) { token = getOptionalCosineToken(); }
+        if (tag == NO_TOKEN) { tag = getOptionalCosine(); }
         // We throw an `IllegalCharacterException` if the current character is a prefix to no lexemes.
-        if (token == null) {
+        if (tag == NO_TOKEN) {
             throw new IllegalCharacterException(
                 "ExpressionLexer",
                 "scan",
-                lineNumber,
-                characterNumber,
+                getLineNumber(),
+                getCharacterNumber(),
                 "Illegal character."
             );
         }
 
         // set `wasNumber` iff the token is a number token
-        wasNumber = token.getTag().equals(ExpressionTokenTag.NUMBER);
-        return token;
+        wasNumber = tag == NUMBER;
+        this.tag = tag;
+        endOffset = getOffset();
+        return tag;
     }
 
     /**
-     * Generates all the tokens from the current input.
-     * @return the resulting array of tokens
+     * @return the value of the current token if it is a number token (and otherwise unspecified)
+     */
+    @Override
+    public double numberValue() {
+        return numberValue;
+    }
+
+    /**
+     * @return the offset of the first character of the current token's lexeme
+     */
+    @Override
+    public int startOffset() {
+        return startOffset;
+    }
+
+    /**
+     * @return the offset after the last character of the current token's lexeme
+     */
+    @Override
+    public int endOffset() {
+        return endOffset;
+    }
+
+    /**
+     * @return the current token, or `null` at the input's end
+     */
+    @Override
+    public Token<ExpressionTokenTag> currentToken() {
+        return tag == EOF ? null : ExpressionTokens.of(tag, numberValue);
+    }
+
+    /**
+     * Generates a token from the current input. An adapter over `advance` that materialises the token.
+     * Returns `null` if the lexer reaches its input's end.
+     * @return a found token
      * @throws IOException the reader throws an IO exception
      * @throws IllegalLexemeException the current input produces an invalid token
      */
-    public List<Token<ExpressionTokenTag>> completeScan() throws IOException, IllegalLexemeException {
-        // initialise the list of tokens to be empty
-        ArrayList<Token<ExpressionTokenTag>> tokens = new ArrayList<>();
-        // push all nonnull tokens to `tokens`
-        Token<ExpressionTokenTag> currentToken = scan();
-        while (currentToken != null) {
-            tokens.add(currentToken);
-            currentToken = scan();
-        }
-        return tokens;
+    public Token<ExpressionTokenTag> scan() throws IOException, IllegalLexemeException {
+        advance();
+        return currentToken();
     }
 }
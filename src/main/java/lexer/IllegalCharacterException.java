@@ -13,4 +13,15 @@ public class IllegalCharacterException extends IllegalLexemeException {
     ) {
         super(className, methodName, lineNumber, characterNumber, description);
     }
+
+    protected IllegalCharacterException(
+            String className,
+            String methodName,
+            int lineNumber,
+            int characterNumber,
+            String description,
+            String message
+    ) {
+        super(className, methodName, lineNumber, characterNumber, description, message);
+    }
 }
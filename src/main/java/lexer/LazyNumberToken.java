@@ -0,0 +1,63 @@
+package lexer;
+
+import lexer.token.NumberToken;
+
+/**
+ * A class for a number token that keeps its (already validated) lexeme's span in the input and converts the lexeme to
+ * a double only on the first call to `getValue`. A caller that only validates an input never pays for the conversion.
+ * The token keeps its input reachable.
+ */
+public final class LazyNumberToken extends NumberToken {
+
+    // the input that contains the token's lexeme
+    private final CharSequence input;
+    // `offset` and `length` give the span of the token's lexeme in the input.
+    private final int offset;
+    private final int length;
+    // the token's value, which is valid iff `converted` is set
+    private double value;
+    // whether the token has converted its lexeme
+    // A thread that reads `converted` as set also reads the value that the converting thread wrote.
+    private volatile boolean converted = false;
+
+    /**
+     * Initialises this token's lexeme.
+     * @param input the input that contains the lexeme
+     * @param offset the offset of the lexeme's first character in the input
+     * @param length the lexeme's length
+     */
+    public LazyNumberToken(CharSequence input, int offset, int length) {
+        super(Double.NaN);
+        this.input = input;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * @return the offset of this token's lexeme in its input
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return the length of this token's lexeme
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Converts this token's lexeme to the nearest double on the first call.
+     * @return this token's value
+     */
+    @Override
+    public double getValue() {
+        if (!converted) {
+            // Concurrent first calls convert the same lexeme to the same value.
+            value = new DecimalAccumulator().convert(input, offset, offset + length);
+            converted = true;
+        }
+        return value;
+    }
+}
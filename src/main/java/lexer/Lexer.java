@@ -3,6 +3,8 @@ package lexer;
 import lexer.token.Token;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A class to represent a lexer that generates tokens with attributes.
@@ -18,6 +20,24 @@ public interface Lexer<TokenTag> {
      */
     Token<TokenTag> scan() throws IOException, IllegalLexemeException;
 
+    /**
+     * Generates all the tokens from the current input.
+     * @return the resulting array of tokens
+     * @throws IOException the reader throws an IO exception
+     * @throws IllegalLexemeException the current input produces an invalid token
+     */
+    default List<Token<TokenTag>> completeScan() throws IOException, IllegalLexemeException {
+        // initialise the list of tokens to be empty
+        ArrayList<Token<TokenTag>> tokens = new ArrayList<>();
+        // push all nonnull tokens to `tokens`
+        Token<TokenTag> currentToken = scan();
+        while (currentToken != null) {
+            tokens.add(currentToken);
+            currentToken = scan();
+        }
+        return tokens;
+    }
+
     /**
      * @return the number of the current line
      */
@@ -0,0 +1,86 @@
+package lexer;
+
+import java.util.Arrays;
+
+/**
+ * A class to represent an index of the lines of an input: the offset of the first character of each line.
+ * A lexer records a line's start only when it consumes a newline, and resolves an offset to a line and character number
+ * only when it needs a position (for example, to report an exception), so reading a character costs no position
+ * bookkeeping. The first line starts at offset `0`.
+ */
+public final class LineIndex {
+
+    // the initial capacity of an index
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // the offsets of the lines' first characters, in increasing order
+    private int[] lineStarts = new int[DEFAULT_CAPACITY];
+    // the number of lines
+    private int lineCount = 1;
+
+    /**
+     * Removes all lines but the first.
+     */
+    public void clear() {
+        lineCount = 1;
+    }
+
+    /**
+     * Records the start of a new line, doubling the index's capacity if it is full.
+     * @param offset the offset of the line's first character, which is at least that of the previous line
+     */
+    public void addLineStart(int offset) {
+        if (lineCount == lineStarts.length) {
+            lineStarts = Arrays.copyOf(lineStarts, 2 * lineCount);
+        }
+        lineStarts[lineCount] = offset;
+        lineCount++;
+    }
+
+    /**
+     * @return the number of lines
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * @return the offset of the last line's first character
+     */
+    public int getLastLineStart() {
+        return lineStarts[lineCount - 1];
+    }
+
+    /**
+     * Resolves an offset to the number of the line that contains it.
+     * @param offset an offset
+     * @return the line's number (counting from `1`)
+     */
+    public int getLineNumber(int offset) {
+        // the last line contains most of the offsets that a lexer resolves
+        if (offset >= getLastLineStart()) {
+            return lineCount;
+        }
+        // find the last line that starts at or before `offset`
+        int low = 0;
+        int high = lineCount - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (lineStarts[middle] <= offset) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low + 1;
+    }
+
+    /**
+     * Resolves an offset to the number of its character on its line.
+     * @param offset an offset
+     * @return the character's number (counting from `1`)
+     */
+    public int getCharacterNumber(int offset) {
+        return offset - lineStarts[getLineNumber(offset) - 1] + 1;
+    }
+}
@@ -0,0 +1,176 @@
+package lexer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A class to represent a lexer that reads an expression from an ASCII or UTF-8 file by mapping the file into memory
+ * in windows of a fixed size.
+ * The lexer decodes UTF-8 itself (a supplementary character becomes two UTF-16 characters, as a `Reader` produces)
+ * and drives the same automaton as a `DfaExpressionLexer`, one character at a time, so a token can cross a window's
+ * boundary and the lexer reports exactly the positions that an `ExpressionLexer` reading the decoded file would.
+ * A malformed byte sequence decodes to U+FFFD, which is an illegal character.
+ * Since `scan` can not throw an `IOException`, the lexer wraps an exception while mapping a window in an
+ * `UncheckedIOException`. Closing the lexer closes its file.
+ */
+public class MappedFileExpressionLexer extends DfaExpressionLexer implements AutoCloseable {
+
+    // the default size of a window in bytes
+    public static final int DEFAULT_WINDOW_SIZE = 1 << 25;
+    // the character that replaces a malformed byte sequence
+    private static final char REPLACEMENT = '\uFFFD';
+
+    // the channel of the lexer's file
+    private final FileChannel channel;
+    // the size of the file
+    private final long size;
+    // the size of a window
+    private final int windowSize;
+    // the current window and the position of its first byte in the file
+    private MappedByteBuffer window = null;
+    private long windowPosition = 0;
+    // the low surrogate of a supplementary character whose high surrogate the lexer has read, or `END`
+    private int pendingLowSurrogate = END;
+
+    /**
+     * Initialises this lexer to read a file with windows of the default size.
+     * @param path the file's path
+     * @throws IOException the file can not be opened or mapped
+     */
+    public MappedFileExpressionLexer(Path path) throws IOException {
+        this(path, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Initialises this lexer to read a file with windows of a given size.
+     * @param path the file's path
+     * @param windowSize the size of a window in bytes
+     * @throws IOException the file can not be opened or mapped
+     */
+    public MappedFileExpressionLexer(Path path, int windowSize) throws IOException {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException(
+                "[MappedFileExpressionLexer:MappedFileExpressionLexer] Window size must be positive."
+            );
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windowSize = windowSize;
+        try {
+            // initialise `peek` to be the input's first character
+            readCharacter();
+        } catch (UncheckedIOException exception) {
+            channel.close();
+            throw exception.getCause();
+        }
+    }
+
+    /**
+     * Reads the next byte of the file, mapping the next window if the current one has no more bytes.
+     * @return the next byte (as an unsigned value), or `END` at the file's end
+     */
+    private int nextByte() {
+        if (window == null || !window.hasRemaining()) {
+            long nextPosition = window == null ? 0 : windowPosition + window.capacity();
+            if (nextPosition >= size) {
+                return END;
+            }
+            try {
+                window = channel.map(
+                    FileChannel.MapMode.READ_ONLY,
+                    nextPosition,
+                    Math.min(windowSize, size - nextPosition)
+                );
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+            windowPosition = nextPosition;
+        }
+        return window.get() & 0xFF;
+    }
+
+    /**
+     * Reads a continuation byte of a UTF-8 sequence.
+     * @return the byte's six payload bits, or `-1` if the next byte is not a continuation byte (which the method leaves
+     * unread)
+     */
+    private int nextContinuation() {
+        int next = nextByte();
+        if (next == END) {
+            return -1;
+        }
+        if ((next & 0xC0) != 0x80) {
+            // unread the byte, which is always in the current window since `nextByte` has just read it
+            window.position(window.position() - 1);
+            return -1;
+        }
+        return next & 0x3F;
+    }
+
+    /**
+     * Reads the next character of the file, decoding UTF-8.
+     * @return the next character, or `END` at the file's end
+     */
+    @Override
+    protected int nextCharacter() {
+        if (pendingLowSurrogate != END) {
+            int character = pendingLowSurrogate;
+            pendingLowSurrogate = END;
+            return character;
+        }
+        int first = nextByte();
+        // ASCII characters (and the end) need no decoding
+        if (first < 0x80) {
+            return first;
+        }
+        int length;
+        int codePoint;
+        int minimum;
+        if ((first & 0xE0) == 0xC0) {
+            length = 2;
+            codePoint = first & 0x1F;
+            minimum = 0x80;
+        } else if ((first & 0xF0) == 0xE0) {
+            length = 3;
+            codePoint = first & 0x0F;
+            minimum = 0x800;
+        } else if ((first & 0xF8) == 0xF0) {
+            length = 4;
+            codePoint = first & 0x07;
+            minimum = 0x10000;
+        } else {
+            return REPLACEMENT;
+        }
+        for (int index = 1; index < length; index++) {
+            int payload = nextContinuation();
+            if (payload < 0) {
+                return REPLACEMENT;
+            }
+            codePoint = (codePoint << 6) | payload;
+        }
+        // reject overlong encodings, surrogates and code points beyond Unicode
+        if (codePoint < minimum || codePoint > Character.MAX_CODE_POINT
+            || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)
+        ) {
+            return REPLACEMENT;
+        }
+        if (codePoint >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            pendingLowSurrogate = Character.lowSurrogate(codePoint);
+            return Character.highSurrogate(codePoint);
+        }
+        return codePoint;
+    }
+
+    /**
+     * Closes the lexer's file.
+     * @throws IOException the file can not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,218 @@
+package lexer;
+import lexer.token.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A class to represent a buffer of expression tokens in columnar (struct-of-arrays) form.
+ * Rather than one object per token, the buffer keeps a `byte` array of tag ordinals, a `double` array of the values
+ * of its number tokens (indexed by number slot: the `n`th number token's value is in slot `n`) and `int` arrays of
+ * the lexer's position after each token. The arrays grow by doubling, and `clear` empties the buffer (without
+ * shrinking the arrays) so that it can be reused.
+ * A `TokenBufferLexer` replays the buffer's tokens, so a parser can read a token stream more than once without
+ * lexing it again.
+ */
+public class TokenBuffer {
+
+    // the default initial capacity of the buffer's arrays
+    public static final int DEFAULT_CAPACITY = 16;
+    // the tags of the tokens, indexed by their ordinals
+    private static final ExpressionTokenTag[] TAGS = ExpressionTokenTag.values();
+
+    // the tag ordinal of each token
+    private byte[] tags;
+    // the value of each number token, indexed by number slot
+    private double[] numbers;
+    // `lineNumbers` and `characterNumbers` give the position of the lexer after it generated each token.
+    private int[] lineNumbers;
+    private int[] characterNumbers;
+    // the number of tokens in the buffer
+    private int size = 0;
+    // the number of number tokens in the buffer
+    private int numberCount = 0;
+    // `startLineNumber` and `startCharacterNumber` give the position of the lexer before it generated any token.
+    private int startLineNumber = 1;
+    private int startCharacterNumber = 0;
+    // `endLineNumber` and `endCharacterNumber` give the position of the lexer after it reached its input's end.
+    private int endLineNumber = 1;
+    private int endCharacterNumber = 0;
+
+    /**
+     * Initialises this buffer with the default capacity.
+     */
+    public TokenBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initialises this buffer with an initial capacity (beyond which it grows as necessary).
+     * @param capacity the initial number of tokens that the buffer can hold
+     */
+    public TokenBuffer(int capacity) {
+        // assert that the buffer's arrays can double from their initial capacity
+        if (capacity < 1) {
+            throw new IllegalArgumentException("[TokenBuffer:TokenBuffer] Capacity must be positive.");
+        }
+        tags = new byte[capacity];
+        numbers = new double[capacity];
+        lineNumbers = new int[capacity];
+        characterNumbers = new int[capacity];
+    }
+
+    /**
+     * Empties this buffer, keeping its capacity.
+     */
+    public void clear() {
+        size = 0;
+        numberCount = 0;
+        startLineNumber = 1;
+        startCharacterNumber = 0;
+        endLineNumber = 1;
+        endCharacterNumber = 0;
+    }
+
+    /**
+     * Empties this buffer then appends all the tokens that a lexer generates from its current input.
+     * If the lexer throws an exception then the buffer holds the tokens before the invalid one.
+     * @param lexer a lexer that outputs tokens of tag type `ExpressionTokenTag`
+     * @throws IOException the lexer throws an IO exception
+     * @throws IllegalLexemeException the lexer throws an `IllegalLexemeException`
+     */
+    public void fill(Lexer<ExpressionTokenTag> lexer) throws IOException, IllegalLexemeException {
+        clear();
+        startLineNumber = lexer.getLineNumber();
+        startCharacterNumber = lexer.getCharacterNumber();
+        // append all nonnull tokens to the buffer
+        Token<ExpressionTokenTag> token = lexer.scan();
+        while (token != null) {
+            add(token, lexer.getLineNumber(), lexer.getCharacterNumber());
+            token = lexer.scan();
+        }
+        setEnd(lexer.getLineNumber(), lexer.getCharacterNumber());
+    }
+
+    /**
+     * Appends a token to this buffer, doubling the buffer's capacity if it is full.
+     * @param token a token
+     * @param lineNumber the lexer's line number after it generated the token
+     * @param characterNumber the lexer's character number after it generated the token
+     */
+    public void add(Token<ExpressionTokenTag> token, int lineNumber, int characterNumber) {
+        if (size == tags.length) {
+            tags = Arrays.copyOf(tags, 2 * size);
+            lineNumbers = Arrays.copyOf(lineNumbers, 2 * size);
+            characterNumbers = Arrays.copyOf(characterNumbers, 2 * size);
+        }
+        ExpressionTokenTag tag = token.getTag();
+        if (tag == ExpressionTokenTag.NUMBER) {
+            if (numberCount == numbers.length) {
+                numbers = Arrays.copyOf(numbers, 2 * numberCount);
+            }
+            numbers[numberCount++] = ((NumberToken) token).getValue();
+        }
+        tags[size] = (byte) tag.ordinal();
+        lineNumbers[size] = lineNumber;
+        characterNumbers[size] = characterNumber;
+        size++;
+    }
+
+    /**
+     * Records the position of the lexer after it reached its input's end.
+     * @param lineNumber the lexer's line number at its input's end
+     * @param characterNumber the lexer's character number at its input's end
+     */
+    public void setEnd(int lineNumber, int characterNumber) {
+        endLineNumber = lineNumber;
+        endCharacterNumber = characterNumber;
+    }
+
+    /**
+     * @return the number of tokens in this buffer
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of number tokens in this buffer
+     */
+    public int getNumberCount() {
+        return numberCount;
+    }
+
+    /**
+     * @return the number of tokens that this buffer can hold before it grows
+     */
+    public int getCapacity() {
+        return tags.length;
+    }
+
+    /**
+     * @param index the index of a token
+     * @return the token's tag ordinal
+     */
+    public int getTagOrdinal(int index) {
+        return tags[index];
+    }
+
+    /**
+     * @param index the index of a token
+     * @return the token's tag
+     */
+    public ExpressionTokenTag getTag(int index) {
+        return TAGS[tags[index]];
+    }
+
+    /**
+     * @param slot the number slot of a number token
+     * @return the number token's value
+     */
+    public double getNumber(int slot) {
+        return numbers[slot];
+    }
+
+    /**
+     * @param index the index of a token
+     * @return the lexer's line number after it generated the token
+     */
+    public int getLineNumber(int index) {
+        return lineNumbers[index];
+    }
+
+    /**
+     * @param index the index of a token
+     * @return the lexer's character number after it generated the token
+     */
+    public int getCharacterNumber(int index) {
+        return characterNumbers[index];
+    }
+
+    /**
+     * @return the lexer's line number before it generated any token
+     */
+    public int getStartLineNumber() {
+        return startLineNumber;
+    }
+
+    /**
+     * @return the lexer's character number before it generated any token
+     */
+    public int getStartCharacterNumber() {
+        return startCharacterNumber;
+    }
+
+    /**
+     * @return the lexer's line number at its input's end
+     */
+    public int getEndLineNumber() {
+        return endLineNumber;
+    }
+
+    /**
+     * @return the lexer's character number at its input's end
+     */
+    public int getEndCharacterNumber() {
+        return endCharacterNumber;
+    }
+}
@@ -0,0 +1,79 @@
+package lexer;
+import lexer.token.*;
+
+/**
+ * A class to represent a lexer that replays the tokens in a `TokenBuffer`.
+ * The lexer generates the same tokens (attribute-free tokens are their shared instances) and reports the same
+ * positions as the lexer that filled the buffer, so a parser reports any exception where it would have originally.
+ * `rewind` restarts the replay, so a parser can read the buffer's tokens more than once.
+ */
+public class TokenBufferLexer implements Lexer<ExpressionTokenTag> {
+
+    // the buffer whose tokens the lexer replays
+    private final TokenBuffer buffer;
+    // the index of the next token to replay
+    private int index = 0;
+    // the number slot of the next number token to replay
+    private int slot = 0;
+    // `lineNumber` and `characterNumber` give the position of the original lexer after the replayed tokens.
+    private int lineNumber;
+    private int characterNumber;
+
+    /**
+     * Initialises this lexer to replay a buffer's tokens from the first.
+     * @param buffer a token buffer
+     */
+    public TokenBufferLexer(TokenBuffer buffer) {
+        this.buffer = buffer;
+        rewind();
+    }
+
+    /**
+     * Restarts the replay from the buffer's first token.
+     */
+    public void rewind() {
+        index = 0;
+        slot = 0;
+        lineNumber = buffer.getStartLineNumber();
+        characterNumber = buffer.getStartCharacterNumber();
+    }
+
+    /**
+     * @return the number of the current line
+     */
+    @Override
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * @return the number of the current character on its line
+     */
+    @Override
+    public int getCharacterNumber() {
+        return characterNumber;
+    }
+
+    /**
+     * Replays the buffer's next token.
+     * Returns `null` if the lexer has replayed all the buffer's tokens.
+     * @return the next token
+     */
+    @Override
+    public Token<ExpressionTokenTag> scan() {
+        // return `null` iff the lexer has replayed every token
+        if (index == buffer.size()) {
+            lineNumber = buffer.getEndLineNumber();
+            characterNumber = buffer.getEndCharacterNumber();
+            return null;
+        }
+        lineNumber = buffer.getLineNumber(index);
+        characterNumber = buffer.getCharacterNumber(index);
+        // map the token's tag (and its value, for a number) to its token
+        int tagOrdinal = buffer.getTagOrdinal(index);
+        double numberValue = tagOrdinal == ExpressionTokenTag.NUMBER.ordinal() ? buffer.getNumber(slot++) : 0;
+        Token<ExpressionTokenTag> token = ExpressionTokens.of(tagOrdinal, numberValue);
+        index++;
+        return token;
+    }
+}
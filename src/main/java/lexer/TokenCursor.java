@@ -0,0 +1,58 @@
+package lexer;
+
+import lexer.token.Token;
+
+import java.io.IOException;
+
+/**
+ * A pull cursor over the tokens of an input, for loops that should not allocate a token object per token.
+ * `advance` moves the cursor to the next token and returns the ordinal of its tag (or `EOF`). The cursor then
+ * describes that token by primitives: its number value (for a number token) and the offsets of its lexeme.
+ * `currentToken` materialises the current token as an object for a caller that needs one.
+ * @param <TokenTag> the type of tag for a token that this cursor generates
+ */
+public interface TokenCursor<TokenTag> {
+
+    // the tag ordinal that `advance` returns at the input's end
+    int EOF = -1;
+
+    /**
+     * Moves this cursor to the next token of the input.
+     * @return the ordinal of the token's tag, or `EOF` if the cursor reaches its input's end
+     * @throws IOException the reader throws an IO exception
+     * @throws IllegalLexemeException the current input produces an invalid token
+     */
+    int advance() throws IOException, IllegalLexemeException;
+
+    /**
+     * @return the value of the current token if it is a number token (and otherwise unspecified)
+     */
+    double numberValue();
+
+    /**
+     * @return the offset (in characters from the input's start) of the first character of the current token's lexeme
+     */
+    int startOffset();
+
+    /**
+     * @return the offset (in characters from the input's start) after the last character of the current token's
+     * lexeme
+     */
+    int endOffset();
+
+    /**
+     * Materialises the current token. Tokens without attributes are shared instances.
+     * @return the current token, or `null` at the input's end
+     */
+    Token<TokenTag> currentToken();
+
+    /**
+     * @return the number of the current line
+     */
+    int getLineNumber();
+
+    /**
+     * @return the number of the current character on its line
+     */
+    int getCharacterNumber();
+}
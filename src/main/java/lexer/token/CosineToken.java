@@ -4,6 +4,11 @@ package lexer.token;
  * A class for a cosine token.
  */
 public class CosineToken implements Token<ExpressionTokenTag> {
+
+    // the shared instance of this token, which has no attributes and so no state
+    // Lexers return this instance rather than allocating a new token for every lexeme.
+    public static final CosineToken INSTANCE = new CosineToken();
+
     /**
      * @return this token's fixed tag: `COSINE`
      */
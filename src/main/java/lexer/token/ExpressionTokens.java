@@ -0,0 +1,31 @@
+package lexer.token;
+
+/**
+ * A class to create expression tokens from the primitives that describe them.
+ */
+public final class ExpressionTokens {
+
+    // the tags of the tokens, indexed by their ordinals
+    private static final ExpressionTokenTag[] TAGS = ExpressionTokenTag.values();
+
+    private ExpressionTokens() {
+    }
+
+    /**
+     * Retrieves a token from its tag's ordinal (and its value): the shared instance for an attribute-free tag and
+     * otherwise a new number token.
+     * @param tagOrdinal the ordinal of the token's tag
+     * @param numberValue the token's value if it is a number token (and otherwise ignored)
+     * @return a token that has the tag (and value)
+     */
+    public static Token<ExpressionTokenTag> of(int tagOrdinal, double numberValue) {
+        return switch (TAGS[tagOrdinal]) {
+            case PLUS -> PlusToken.INSTANCE;
+            case MINUS -> MinusToken.INSTANCE;
+            case POWER -> PowerToken.INSTANCE;
+            case COSINE -> CosineToken.INSTANCE;
+            case FACTORIAL -> FactorialToken.INSTANCE;
+            case NUMBER -> new NumberToken(numberValue);
+        };
+    }
+}
@@ -77,7 +77,7 @@ public class NumberToken implements Token<ExpressionTokenTag> {
      */
     @Override
     public String toString() {
-        return "[" + getTag() + "] value=" + this.value;
+        return "[" + getTag() + "] value=" + getValue();
     }
 
 }
@@ -4,6 +4,11 @@ package lexer.token;
  * A class for a power token.
  */
 public class PowerToken implements Token<ExpressionTokenTag> {
+
+    // the shared instance of this token, which has no attributes and so no state
+    // Lexers return this instance rather than allocating a new token for every lexeme.
+    public static final PowerToken INSTANCE = new PowerToken();
+
     /**
      * @return this token's fixed tag: `POWER`
      */
@@ -0,0 +1,201 @@
+package main;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+
+import service.ExpressionService;
+
+/**
+ * A class to represent an evaluator of a batch of newline-delimited expressions that evaluates the lines in parallel
+ * (on an `ExpressionService`) and writes a result per line to a `ResultSink`. An input line that fails to lex, parse
+ * or evaluate (with a `PositionedException` or an unchecked exception) produces an inline error result and does not
+ * abort the batch; only a failure of the reader or the sink aborts it.
+ * In ordered mode, the evaluator writes the results in input order through a reorder buffer of at most `windowSize`
+ * lines in flight: the line at the buffer's head must complete before the evaluator reads another line once the
+ * buffer is full. In unordered mode, the evaluator writes each result as soon as its evaluation completes (still with
+ * at most `windowSize` lines in flight), which lowers the latency of each result.
+ */
+public class BatchEvaluator {
+
+    // the default number of lines in flight
+    public static final int DEFAULT_WINDOW_SIZE = 4096;
+
+    // the service that evaluates the lines
+    private final ExpressionService service;
+    // the maximum number of lines in flight
+    private final int windowSize;
+    // whether the evaluator writes the results in input order
+    private final boolean ordered;
+
+    /**
+     * Initialises this evaluator's service, window size and mode.
+     * @param service the service that evaluates the lines
+     * @param windowSize the maximum number of lines in flight
+     * @param ordered whether the evaluator writes the results in input order
+     */
+    public BatchEvaluator(ExpressionService service, int windowSize, boolean ordered) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("[BatchEvaluator:BatchEvaluator] Window size must be positive.");
+        }
+        this.service = service;
+        this.windowSize = windowSize;
+        this.ordered = ordered;
+    }
+
+    /**
+     * Evaluates every line of a reader and writes their results to a sink.
+     * @param reader a reader of newline-delimited expressions
+     * @param sink the sink of the results
+     * @return the number of lines
+     * @throws IOException the reader or the sink throws an IO exception
+     * @throws InterruptedException the thread is interrupted while it waits for a result
+     */
+    public long run(BufferedReader reader, ResultSink sink) throws IOException, InterruptedException {
+        return ordered ? runOrdered(reader, sink) : runUnordered(reader, sink);
+    }
+
+    /**
+     * Evaluates every line of a reader and writes their results in input order.
+     */
+    private long runOrdered(BufferedReader reader, ResultSink sink) throws IOException {
+        // the reorder buffer: the lines in flight and their futures, in input order
+        ArrayDeque<String> lines = new ArrayDeque<>(windowSize);
+        ArrayDeque<CompletableFuture<Double>> futures = new ArrayDeque<>(windowSize);
+        long readCount = 0;
+        long writeCount = 0;
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            // write the result at the buffer's head iff the buffer is full
+            if (futures.size() == windowSize) {
+                join(sink, writeCount++, lines.removeFirst(), futures.removeFirst());
+            }
+            lines.addLast(line);
+            futures.addLast(service.evaluateAsync(line));
+            readCount++;
+        }
+        // drain the buffer
+        while (!futures.isEmpty()) {
+            join(sink, writeCount++, lines.removeFirst(), futures.removeFirst());
+        }
+        return readCount;
+    }
+
+    /**
+     * Evaluates every line of a reader and writes each result as soon as its evaluation completes.
+     */
+    private long runUnordered(BufferedReader reader, ResultSink sink) throws IOException, InterruptedException {
+        // a permit for each line that can be in flight
+        Semaphore permits = new Semaphore(windowSize);
+        // the first exception that a completion threw while writing, or `null`
+        Throwable[] failure = new Throwable[1];
+        long readCount = 0;
+        for (String nextLine = reader.readLine(); nextLine != null; nextLine = reader.readLine()) {
+            permits.acquire();
+            String line = nextLine;
+            long index = readCount++;
+            service.evaluateAsync(line).whenComplete((value, throwable) -> {
+                try {
+                    // The sink is not thread-safe, so completions write one at a time.
+                    synchronized (sink) {
+                        if (failure[0] == null) {
+                            write(sink, index, line, value, throwable);
+                        }
+                    }
+                } catch (Throwable writeFailure) {
+                    synchronized (sink) {
+                        failure[0] = writeFailure;
+                    }
+                } finally {
+                    permits.release();
+                }
+            });
+            rethrow(sink, failure);
+        }
+        // wait for every line in flight
+        permits.acquire(windowSize);
+        rethrow(sink, failure);
+        return readCount;
+    }
+
+    /**
+     * Waits for the result of a line and writes it.
+     * @param sink the sink of the results
+     * @param index the line's index
+     * @param line the line
+     * @param future a future of the line's value
+     * @throws IOException the sink throws an IO exception
+     */
+    private static void join(
+        ResultSink sink,
+        long index,
+        String line,
+        CompletableFuture<Double> future
+    ) throws IOException {
+        Double value = null;
+        Throwable throwable = null;
+        try {
+            value = future.join();
+        } catch (CompletionException exception) {
+            throwable = exception.getCause();
+        }
+        write(sink, index, line, value, throwable);
+    }
+
+    /**
+     * Writes the result of a line: its value, or the exception that rejected it (a `PositionedException` or an
+     * unchecked exception, such as the `UnpositionedException` of a factorial of a non-integer). Propagates an IO
+     * exception or an error.
+     * @param sink the sink of the results
+     * @param index the line's index
+     * @param line the line
+     * @param value the line's value iff its evaluation succeeded
+     * @param throwable the exception with which the line's evaluation failed, or `null` if it succeeded
+     * @throws IOException the sink (or the line's evaluation) throws an IO exception
+     */
+    private static void write(
+        ResultSink sink,
+        long index,
+        String line,
+        Double value,
+        Throwable throwable
+    ) throws IOException {
+        if (throwable == null) {
+            sink.writeValue(index, line, value);
+            return;
+        }
+        // report a rejected line inline, whether or not its exception has a position
+        Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+        if (cause instanceof PositionedException || cause instanceof RuntimeException) {
+            sink.writeError(index, line, (Exception) cause);
+        } else if (cause instanceof IOException ioException) {
+            throw ioException;
+        } else if (cause instanceof Error error) {
+            throw error;
+        } else {
+            throw new CompletionException(cause);
+        }
+    }
+
+    /**
+     * Rethrows the first exception that a completion threw while writing, if any.
+     * @param sink the sink, whose lock guards `failure`
+     * @param failure the holder of the exception
+     * @throws IOException the sink threw an IO exception
+     */
+    private static void rethrow(ResultSink sink, Throwable[] failure) throws IOException {
+        Throwable throwable;
+        synchronized (sink) {
+            throwable = failure[0];
+        }
+        if (throwable instanceof IOException ioException) {
+            throw ioException;
+        } else if (throwable instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        } else if (throwable instanceof Error error) {
+            throw error;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package main;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A class to represent a result sink that writes a binary result file (see `ResultFile`).
+ * The writer streams the values to the file through a direct buffer as it receives them, and keeps the statuses (a
+ * byte per record) and the errors in memory until it closes, when it appends them and fills in the header. It accepts
+ * results in any order (for an unordered batch), but writes the values in the fewest chunks when they arrive in
+ * order. A file is complete only after the writer closes.
+ */
+public class BinaryResultWriter implements ResultSink {
+
+    // the size of the values' buffer in bytes
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    // the file's channel
+    private final FileChannel channel;
+    // the buffer of the values and the index of the record of its first value
+    private final ByteBuffer values = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private long bufferStart = 0;
+    // the statuses and the number of records (one more than the largest index)
+    private byte[] statuses = new byte[1024];
+    private int count = 0;
+    // the errors' sort keys (the record's index in the high half and the error's ordinal in the low half), line and
+    // character numbers, and the offsets of their messages in `errorData`
+    private long[] errorKeys = new long[16];
+    private int[] errorLineNumbers = new int[16];
+    private int[] errorCharacterNumbers = new int[16];
+    private int[] errorOffsets = new int[17];
+    private int errorCount = 0;
+    // the errors' messages in UTF-8
+    private byte[] errorData = new byte[1024];
+
+    /**
+     * Initialises this writer to write a file, which it creates or truncates.
+     * @param path the file's path
+     * @throws IOException the file can not be opened
+     */
+    public BinaryResultWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(
+            path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE
+        );
+    }
+
+    /**
+     * Records the status of a record and writes its value.
+     * @param index the record's index
+     * @param value the record's value
+     * @param status the record's status
+     * @throws IOException the channel throws an IO exception, or the file would have too many records
+     */
+    private void writeRecord(long index, double value, byte status) throws IOException {
+        if (index < 0 || index >= ResultFile.MAX_COUNT) {
+            throw new IOException(
+                String.format("[BinaryResultWriter:writeRecord] A file has at most %d records.", ResultFile.MAX_COUNT)
+            );
+        }
+        // start a new chunk unless the value follows the buffer's last value and fits
+        if (index != bufferStart + values.position() / Double.BYTES || !values.hasRemaining()) {
+            flushValues();
+            bufferStart = index;
+        }
+        values.putDouble(value);
+        int recordIndex = (int) index;
+        if (recordIndex >= statuses.length) {
+            statuses = Arrays.copyOf(statuses, Math.max(2 * statuses.length, recordIndex + 1));
+        }
+        statuses[recordIndex] = status;
+        count = Math.max(count, recordIndex + 1);
+    }
+
+    /**
+     * Writes the buffered values to their positions in the file.
+     * @throws IOException the channel throws an IO exception
+     */
+    private void flushValues() throws IOException {
+        values.flip();
+        long position = ResultFile.HEADER_LENGTH + bufferStart * Double.BYTES;
+        while (values.hasRemaining()) {
+            position += channel.write(values, position);
+        }
+        values.clear();
+    }
+
+    @Override
+    public void writeValue(long index, String inputString, double value) throws IOException {
+        writeRecord(index, value, ResultFile.OK);
+    }
+
+    @Override
+    public void writeError(long index, String inputString, Exception exception) throws IOException {
+        writeRecord(index, Double.NaN, ResultFile.getStatus(exception));
+        if (errorCount == errorKeys.length) {
+            int capacity = 2 * errorCount;
+            errorKeys = Arrays.copyOf(errorKeys, capacity);
+            errorLineNumbers = Arrays.copyOf(errorLineNumbers, capacity);
+            errorCharacterNumbers = Arrays.copyOf(errorCharacterNumbers, capacity);
+            errorOffsets = Arrays.copyOf(errorOffsets, capacity + 1);
+        }
+        byte[] message = ResultSink.getMessage(exception).getBytes(StandardCharsets.UTF_8);
+        int offset = errorOffsets[errorCount];
+        if (offset + message.length > errorData.length) {
+            errorData = Arrays.copyOf(errorData, Math.max(2 * errorData.length, offset + message.length));
+        }
+        System.arraycopy(message, 0, errorData, offset, message.length);
+        errorKeys[errorCount] = index << 32 | errorCount;
+        // an exception without a position has line and character numbers `0`
+        if (exception instanceof PositionedException positionedException) {
+            errorLineNumbers[errorCount] = positionedException.getLineNumber();
+            errorCharacterNumbers[errorCount] = positionedException.getCharacterNumber();
+        } else {
+            errorLineNumbers[errorCount] = 0;
+            errorCharacterNumbers[errorCount] = 0;
+        }
+        errorOffsets[errorCount + 1] = offset + message.length;
+        errorCount++;
+    }
+
+    /**
+     * Writes a buffer fully at a position of the file.
+     * @param buffer a buffer
+     * @param position a position
+     * @return the position after the buffer's bytes
+     * @throws IOException the channel throws an IO exception
+     */
+    private long write(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        return position;
+    }
+
+    /**
+     * Appends the statuses and the errors, fills in the header and closes the file.
+     * @throws IOException the channel throws an IO exception
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flushValues();
+            long statusesOffset = ResultFile.HEADER_LENGTH + (long) count * Double.BYTES;
+            long errorIndexOffset = ResultFile.align(statusesOffset + count);
+            long paddingOffset = write(ByteBuffer.wrap(statuses, 0, count), statusesOffset);
+            // pad the statuses so that the file reaches the error index even if it has no errors
+            write(ByteBuffer.allocate((int) (errorIndexOffset - paddingOffset)), paddingOffset);
+
+            // write the error index in record order
+            long[] keys = Arrays.copyOf(errorKeys, errorCount);
+            Arrays.sort(keys);
+            ByteBuffer index = ByteBuffer.allocate(errorCount * ResultFile.ERROR_ENTRY_LENGTH)
+                .order(ByteOrder.LITTLE_ENDIAN);
+            for (long key : keys) {
+                int error = (int) key;
+                index.putLong(key >>> 32)
+                    .putInt(errorLineNumbers[error])
+                    .putInt(errorCharacterNumbers[error])
+                    .putLong(errorOffsets[error])
+                    .putInt(errorOffsets[error + 1] - errorOffsets[error])
+                    .putInt(0);
+            }
+            index.flip();
+            long errorDataOffset = write(index, errorIndexOffset);
+            int errorDataLength = errorOffsets[errorCount];
+            write(ByteBuffer.wrap(errorData, 0, errorDataLength), errorDataOffset);
+
+            ByteBuffer header = ByteBuffer.allocate(ResultFile.HEADER_LENGTH).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(ResultFile.MAGIC)
+                .putInt(ResultFile.VERSION)
+                .putLong(count)
+                .putLong(ResultFile.HEADER_LENGTH)
+                .putLong(statusesOffset)
+                .putLong(errorCount)
+                .putLong(errorIndexOffset)
+                .putLong(errorDataOffset)
+                .putLong(errorDataLength);
+            header.flip();
+            write(header, 0);
+        } finally {
+            channel.close();
+        }
+    }
+}
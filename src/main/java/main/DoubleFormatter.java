@@ -0,0 +1,410 @@
+package main;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormatSymbols;
+import java.util.Formatter;
+import java.util.Locale;
+
+/**
+ * A class to format doubles as ASCII (or, for some locales, UTF-8) bytes straight into a caller's buffer.
+ * In shortest mode, the formatter writes the shortest decimal that rounds back to the double (the closest such decimal
+ * if there are several), found by the Schubfach algorithm with a table of 126-bit powers of ten, in the layout of
+ * `Double.toString`: plain for magnitudes in `[10^-3, 10^7)` and otherwise computerised scientific ("1.5E-7").
+ * In fixed mode, the formatter writes exactly what `String.format("%f", value)` writes in the default locale.
+ * `%f` rounds (half up, to six decimals) the digits of an older conversion that are not always the shortest, so the
+ * formatter rounds the shortest digits only when every decimal that rounds to the double rounds to the same six
+ * decimals (the usual case). It otherwise falls back to a `Formatter`.
+ * A formatter is not thread-safe.
+ */
+public final class DoubleFormatter {
+
+    // the maximum number of bytes that `format` writes
+    public static final int MAX_LENGTH = 1024;
+
+    // the number of bits in a double's significand (including the hidden bit)
+    private static final int P = 53;
+    // the exponent of a double's least significant bit for subnormal doubles
+    private static final int Q_MIN = -1074;
+    // the smallest significand of a normal double
+    private static final long C_MIN = 1L << (P - 1);
+    // the masks of a double's biased exponent and explicit significand
+    private static final int BQ_MASK = (1 << 11) - 1;
+    private static final long T_MASK = (1L << (P - 1)) - 1;
+    // the bound below which a subnormal significand needs an extra digit
+    private static final long C_TINY = 3;
+    // the smallest and largest exponents in the table of powers of ten
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+    // the mask of the low 63 bits
+    private static final long MASK_63 = (1L << 63) - 1;
+    // the maximum number of significant digits in a shortest decimal
+    private static final int MAX_DIGITS = 17;
+    // the powers of ten that fit in a `long`, indexed by their exponents
+    private static final long[] POWERS_OF_TEN = new long[19];
+    // the 126-bit approximations `g` of the powers of ten in `[K_MIN, K_MAX]` (see `computeDecimal`), as consecutive
+    // high and low 63-bit words
+    private static final long[] G = new long[2 * (K_MAX - K_MIN + 1)];
+    // the largest magnitude that fixed mode formats without a `Formatter`
+    private static final double FIXED_LIMIT = 0x1p40;
+    // the number of decimals in fixed mode
+    private static final int FIXED_DECIMALS = 6;
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int exponent = 1; exponent < POWERS_OF_TEN.length; exponent++) {
+            POWERS_OF_TEN[exponent] = 10 * POWERS_OF_TEN[exponent - 1];
+        }
+        // Let `10^-k = beta * 2^r` for the integer `r` such that `2^125 <= beta < 2^126`. Then `g = floor(beta) + 1`.
+        for (int k = K_MIN; k <= K_MAX; k++) {
+            BigInteger beta;
+            if (k <= 0) {
+                BigInteger power = BigInteger.TEN.pow(-k);
+                int r = power.bitLength() - 126;
+                beta = r >= 0 ? power.shiftRight(r) : power.shiftLeft(-r);
+            } else {
+                BigInteger power = BigInteger.TEN.pow(k);
+                beta = BigInteger.ONE.shiftLeft(125 + power.bitLength()).divide(power);
+            }
+            BigInteger g = beta.add(BigInteger.ONE);
+            int index = 2 * (k - K_MIN);
+            G[index] = g.shiftRight(63).longValue();
+            G[index + 1] = g.longValue() & MASK_63;
+        }
+    }
+
+    // whether the formatter writes in fixed mode
+    private final boolean fixed;
+    // the locale's decimal separator, or `0` if fixed mode must always fall back (for a locale with other digits)
+    private final char decimalSeparator;
+    // the fallback formatter of fixed mode and its destination, which the formatter creates on first use
+    private StringBuilder fallbackText = null;
+    private Formatter fallbackFormatter = null;
+    // `significand` and `exponent` give the shortest decimal (`significand * 10^exponent`) that `computeDecimal` found.
+    private long significand;
+    private int exponent;
+
+    /**
+     * Initialises this formatter's mode. Fixed mode uses the default locale for formatting.
+     * @param fixed whether the formatter writes in fixed mode (as `%f`) rather than shortest mode
+     */
+    public DoubleFormatter(boolean fixed) {
+        this.fixed = fixed;
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT));
+        this.decimalSeparator = symbols.getZeroDigit() == '0' && symbols.getDecimalSeparator() < 0x80
+            ? symbols.getDecimalSeparator()
+            : 0;
+    }
+
+    /**
+     * @return whether the formatter writes in fixed mode
+     */
+    public boolean isFixed() {
+        return fixed;
+    }
+
+    /**
+     * Formats a double into a buffer.
+     * @param value a double
+     * @param buffer a buffer with at least `MAX_LENGTH` bytes after `position`
+     * @param position the index at which the formatter writes the first byte
+     * @return the index after the last byte that the formatter wrote
+     */
+    public int format(double value, byte[] buffer, int position) {
+        return fixed ? formatFixed(value, buffer, position) : formatShortest(value, buffer, position);
+    }
+
+    /**
+     * Formats a double as the shortest decimal that rounds back to it, in the layout of `Double.toString`.
+     */
+    private int formatShortest(double value, byte[] buffer, int position) {
+        if (Double.isNaN(value)) {
+            return writeAscii("NaN", buffer, position);
+        }
+        if (value < 0 || (value == 0 && 1 / value < 0)) {
+            buffer[position++] = '-';
+        }
+        if (Double.isInfinite(value)) {
+            return writeAscii("Infinity", buffer, position);
+        }
+        if (value == 0) {
+            return writeAscii("0.0", buffer, position);
+        }
+        computeDecimal(Math.abs(value));
+        // remove the significand's trailing zeros
+        while (significand % 10 == 0) {
+            significand /= 10;
+            exponent++;
+        }
+        int digitCount = countDigits(significand);
+        // the exponent of the leading digit (so the value is `d.ddd * 10^scientificExponent`)
+        int scientificExponent = digitCount + exponent - 1;
+        int start = position;
+        if (scientificExponent >= -3 && scientificExponent < 7) {
+            if (scientificExponent >= 0) {
+                // write the integral digits (padding with zeros), the point and the fractional digits (or a zero)
+                position = writeDigits(significand, digitCount, buffer, position);
+                int integralCount = scientificExponent + 1;
+                if (digitCount <= integralCount) {
+                    for (int index = digitCount; index < integralCount; index++) {
+                        buffer[position++] = '0';
+                    }
+                    buffer[position++] = '.';
+                    buffer[position++] = '0';
+                } else {
+                    // move the fractional digits one place to the right to insert the point
+                    int point = start + integralCount;
+                    System.arraycopy(buffer, point, buffer, point + 1, position - point);
+                    buffer[point] = '.';
+                    position++;
+                }
+            } else {
+                // write "0.", the leading zeros and the digits
+                buffer[position++] = '0';
+                buffer[position++] = '.';
+                for (int index = -1; index > scientificExponent; index--) {
+                    buffer[position++] = '0';
+                }
+                position = writeDigits(significand, digitCount, buffer, position);
+            }
+            return position;
+        }
+        // write the leading digit, the point, the other digits (or a zero) and the exponent
+        position = writeDigits(significand, digitCount, buffer, position + 1);
+        buffer[start] = buffer[start + 1];
+        buffer[start + 1] = '.';
+        if (digitCount == 1) {
+            buffer[position++] = '0';
+        }
+        buffer[position++] = 'E';
+        if (scientificExponent < 0) {
+            buffer[position++] = '-';
+            scientificExponent = -scientificExponent;
+        }
+        return writeDigits(scientificExponent, countDigits(scientificExponent), buffer, position);
+    }
+
+    /**
+     * Formats a double as `String.format("%f", value)` does in the default locale.
+     */
+    private int formatFixed(double value, byte[] buffer, int position) {
+        double magnitude = Math.abs(value);
+        if (decimalSeparator == 0 || !(magnitude < FIXED_LIMIT)) {
+            return formatFallback(value, buffer, position);
+        }
+        long scaled;
+        if (magnitude == 0) {
+            scaled = 0;
+        } else {
+            computeDecimal(magnitude);
+            // Every decimal that rounds to `value` is within an ulp of the shortest one. Fall back unless that
+            // neighbourhood is clear of the midpoints between consecutive six-decimal numbers.
+            double ulp = Math.ulp(magnitude) * 2e6;
+            int shift = -(exponent + FIXED_DECIMALS);
+            if (shift <= 0) {
+                // the shortest decimal has at most six decimals, so it is at least half a unit from a midpoint
+                if (ulp >= 0.5) {
+                    return formatFallback(value, buffer, position);
+                }
+                scaled = significand * POWERS_OF_TEN[-shift];
+            } else if (shift < POWERS_OF_TEN.length) {
+                long divisor = POWERS_OF_TEN[shift];
+                scaled = significand / divisor;
+                long remainder = significand % divisor;
+                // the distance (in units of half a millionth) from the decimal to the closest midpoint
+                double distance = Math.abs(2.0 * remainder - divisor) / divisor;
+                if (distance <= 2 * ulp) {
+                    return formatFallback(value, buffer, position);
+                }
+                // round half up
+                if (2 * remainder >= divisor) {
+                    scaled++;
+                }
+            } else {
+                // the decimal is below a millionth (since it has at most 17 digits), so it rounds to zero unless it is
+                // within an ulp of the midpoint
+                if (magnitude >= 4e-7) {
+                    return formatFallback(value, buffer, position);
+                }
+                scaled = 0;
+            }
+        }
+        if (value < 0 || (value == 0 && 1 / value < 0)) {
+            buffer[position++] = '-';
+        }
+        long integralPart = scaled / POWERS_OF_TEN[FIXED_DECIMALS];
+        long fractionalPart = scaled % POWERS_OF_TEN[FIXED_DECIMALS];
+        position = writeDigits(integralPart, countDigits(integralPart), buffer, position);
+        buffer[position++] = (byte) decimalSeparator;
+        return writeDigits(fractionalPart, FIXED_DECIMALS, buffer, position);
+    }
+
+    /**
+     * Formats a double with a `Formatter`, exactly as `String.format("%f", value)` does in the default locale.
+     */
+    private int formatFallback(double value, byte[] buffer, int position) {
+        if (fallbackFormatter == null) {
+            fallbackText = new StringBuilder();
+            fallbackFormatter = new Formatter(fallbackText, Locale.getDefault(Locale.Category.FORMAT));
+        }
+        fallbackText.setLength(0);
+        fallbackFormatter.format("%f", value);
+        byte[] bytes = fallbackText.toString().getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        return position + bytes.length;
+    }
+
+    /**
+     * Computes the shortest decimal that rounds to a positive finite double (the closest such decimal if there are
+     * several) into `significand` and `exponent`.
+     * @param value a positive finite double
+     */
+    private void computeDecimal(double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        long t = bits & T_MASK;
+        int bq = (int) (bits >>> (P - 1)) & BQ_MASK;
+        if (bq != 0) {
+            // a normal value, `c * 2^q` with `q = -mq`
+            int mq = -Q_MIN + 1 - bq;
+            long c = C_MIN | t;
+            // an integer below 2^53 is its own shortest decimal
+            if (0 < mq && mq < P) {
+                long f = c >> mq;
+                if (f << mq == c) {
+                    significand = f;
+                    exponent = 0;
+                    return;
+                }
+            }
+            computeDecimal(-mq, c, 0);
+        } else if (t < C_TINY) {
+            // a tiny subnormal value needs an extra digit of precision
+            computeDecimal(Q_MIN, 10 * t, -1);
+        } else {
+            computeDecimal(Q_MIN, t, 0);
+        }
+    }
+
+    /**
+     * Computes the shortest decimal in the rounding interval of `c * 2^q` by the Schubfach algorithm.
+     * @param q the binary exponent
+     * @param c the binary significand
+     * @param dk a correction of the decimal exponent (for a significand that was scaled by ten)
+     */
+    private void computeDecimal(int q, long c, int dk) {
+        int out = (int) c & 1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        // the interval is asymmetric iff `c` is the smallest significand of its binade
+        if (c != C_MIN || q == Q_MIN) {
+            cbl = cb - 2;
+            k = floorLog10Pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = floorLog10ThreeQuartersPow2(q);
+        }
+        int h = q + floorLog2Pow10(-k) + 2;
+        int index = 2 * (k - K_MIN);
+        long g1 = G[index];
+        long g0 = G[index + 1];
+        // the scaled value and the scaled ends of its rounding interval
+        long vb = roundToOdd(g1, g0, cb << h);
+        long vbl = roundToOdd(g1, g0, cbl << h);
+        long vbr = roundToOdd(g1, g0, cbr << h);
+        long s = vb >> 2;
+        if (s >= 100) {
+            // try a decimal with one digit fewer
+            long sp10 = 10 * Math.multiplyHigh(s, 115_292_150_460_684_698L << 4);
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                significand = upin ? sp10 : tp10;
+                exponent = k;
+                return;
+            }
+        }
+        long t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            significand = uin ? s : t;
+            exponent = k + dk;
+            return;
+        }
+        // both candidates are in the interval, so choose the closer (or the even one on a tie)
+        long comparison = vb - ((s + t) << 1);
+        significand = comparison < 0 || (comparison == 0 && (s & 1) == 0) ? s : t;
+        exponent = k + dk;
+    }
+
+    /**
+     * Multiplies a 126-bit power of ten by a scaled significand and rounds the product's high bits to odd.
+     */
+    private static long roundToOdd(long g1, long g0, long cp) {
+        long x1 = Math.multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = Math.multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+        return vbp | ((z & MASK_63) + MASK_63) >>> 63;
+    }
+
+    /**
+     * @return `floor(q * log10(2))` for `|q| <= 5456721`
+     */
+    private static int floorLog10Pow2(int q) {
+        return (int) (q * 661_971_961_083L >> 41);
+    }
+
+    /**
+     * @return `floor(q * log10(2) + log10(3/4))` for `|q| <= 2956395`
+     */
+    private static int floorLog10ThreeQuartersPow2(int q) {
+        return (int) (q * 661_971_961_083L + -274_743_187_321L >> 41);
+    }
+
+    /**
+     * @return `floor(e * log2(10))` for `|e| <= 1838394`
+     */
+    private static int floorLog2Pow10(int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+
+    /**
+     * @param value a nonnegative integer
+     * @return the number of its decimal digits (`1` for zero)
+     */
+    private static int countDigits(long value) {
+        int count = 1;
+        while (count < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[count]) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Writes the decimal digits of a nonnegative integer, padded with leading zeros to a number of digits.
+     * @return the index after the last digit
+     */
+    private static int writeDigits(long value, int digitCount, byte[] buffer, int position) {
+        for (int index = position + digitCount - 1; index >= position; index--) {
+            buffer[index] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return position + digitCount;
+    }
+
+    /**
+     * Writes an ASCII string.
+     * @return the index after the last byte
+     */
+    private static int writeAscii(String text, byte[] buffer, int position) {
+        for (int index = 0; index < text.length(); index++) {
+            buffer[position++] = (byte) text.charAt(index);
+        }
+        return position;
+    }
+}
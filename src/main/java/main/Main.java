@@ -1,33 +1,166 @@
 package main;
 
+import parser.ExpressionEvaluator;
 import parser.IllegalTokenException;
-import parser.symbol.ExpressionNonterminal;
-import parser.ExpressionParser;
 import lexer.IllegalLexemeException;
+import lexer.MappedFileExpressionLexer;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import service.ExpressionService;
 
 public class Main {
 
+    // the option that precedes the path of an input file
+    private static final String FILE_OPTION = "--file";
+    // the option that selects batch mode, optionally followed by batch options and the path of an input file
+    private static final String BATCH_OPTION = "--batch";
+    // the option that selects unordered output in batch mode
+    private static final String UNORDERED_OPTION = "--unordered";
+    // the option that selects `%f` formatting of values in batch mode
+    private static final String FIXED_OPTION = "--fixed";
+    // the option that precedes the path of an output file in batch mode
+    private static final String OUTPUT_OPTION = "--output";
+    // the option that selects a binary result file (see `ResultFile`) as the output in batch mode
+    private static final String BINARY_OPTION = "--binary";
+
     /**
-     * Prints the value of an arithmetic expression that is an input string using an `ExpressionParser`.
-     * The lexer is an `ExpressionLexer`.
-     * @param args an array containing exactly one input string
+     * Prints the value of an arithmetic expression using an `ExpressionEvaluator` (which computes the value without
+     * generating a parse tree). The expression is either an input string, which an `ExpressionLexer` reads, or the
+     * contents of an ASCII or UTF-8 file (given as `--file path`), which a `MappedFileExpressionLexer` reads.
+     * In batch mode (`--batch [--unordered] [--fixed] [--binary] [--output path] [path]`), evaluates every line of a
+     * UTF-8 file (or of the standard input if there is no path) in parallel and writes a result per line (see
+     * `BatchEvaluator`) to a file or the standard output. Values are the shortest decimals that round back to them, or
+     * `%f` with `--fixed`. With `--binary`, the output is a binary result file, which needs `--output`.
+     * @param args an array containing exactly one input string, `--file` and a file's path, or the batch options
      * @throws IOException the lexer throws an IO exception
      * @throws IllegalLexemeException the lexer throws an `IllegalLexemeException`
      * @throws IllegalTokenException the lexer throws an `IllegalTokenException`
+     * @throws InterruptedException the thread is interrupted while it waits for a batch's result
      */
-    public static void main(String[] args) throws IOException, IllegalLexemeException, IllegalTokenException {
+    public static void main(String[] args) throws
+        IOException,
+        IllegalLexemeException,
+        IllegalTokenException,
+        InterruptedException
+    {
+        // evaluate a batch of lines iff the first argument is the batch option
+        if (args.length >= 1 && args[0].equals(BATCH_OPTION)) {
+            runBatch(args);
+            return;
+        }
+
+        // evaluate the contents of a file iff the arguments are the file option and a path
+        if (args.length == 2 && args[0].equals(FILE_OPTION)) {
+            double value;
+            try (MappedFileExpressionLexer lexer = new MappedFileExpressionLexer(Path.of(args[1]))) {
+                value = new ExpressionEvaluator(lexer).run();
+            }
+            System.out.printf("%s = %f", args[1], value);
+            return;
+        }
+
         // ensure that only one input string is present
         if (args.length != 1) {
-            throw new IllegalArgumentException("[Main:main] Expected exactly one input string.");
+            throw new IllegalArgumentException("[Main:main] Expected exactly one input string or --file and a path.");
         }
 
         // retrieve the input string
         String inputString = args[0];
-        // parse the input string
-        ExpressionNonterminal rootNonterminal = ExpressionParser.parse(inputString);
+        // evaluate the input string
+        double value = ExpressionEvaluator.evaluate(inputString);
         // output the result
-        System.out.printf("%s = %f", inputString, rootNonterminal.getValue());
+        System.out.printf("%s = %f", inputString, value);
+    }
+
+    /**
+     * Evaluates a batch of lines on a work-stealing pool with a thread per processor and writes their results with a
+     * `ResultWriter` or a `BinaryResultWriter`.
+     * @param args the batch option, optionally followed by batch options in any order and then optionally by a file's
+     * path
+     * @throws IOException the input or the output throws an IO exception
+     * @throws InterruptedException the thread is interrupted while it waits for a result
+     */
+    private static void runBatch(String[] args) throws IOException, InterruptedException {
+        int index = 1;
+        boolean ordered = true;
+        boolean fixed = false;
+        boolean binary = false;
+        Path outputPath = null;
+        // read the batch options until the first argument that is not one
+        while (index < args.length) {
+            if (args[index].equals(UNORDERED_OPTION)) {
+                ordered = false;
+            } else if (args[index].equals(FIXED_OPTION)) {
+                fixed = true;
+            } else if (args[index].equals(BINARY_OPTION)) {
+                binary = true;
+            } else if (args[index].equals(OUTPUT_OPTION) && index + 1 < args.length) {
+                outputPath = Path.of(args[++index]);
+            } else {
+                break;
+            }
+            index++;
+        }
+        Path path = index < args.length ? Path.of(args[index++]) : null;
+        if (index != args.length) {
+            throw new IllegalArgumentException(
+                "[Main:runBatch] Expected --batch, options (--unordered, --fixed, --binary, --output path), a path."
+            );
+        }
+        // a binary result file needs a file to write its columns at their positions
+        if (binary && outputPath == null) {
+            throw new IllegalArgumentException("[Main:runBatch] Expected --output and a path with --binary.");
+        }
+
+        ExecutorService executor = Executors.newWorkStealingPool();
+        try (
+            ResultSink sink = binary
+                ? new BinaryResultWriter(outputPath)
+                : createResultWriter(outputPath, fixed, !ordered);
+            BufferedReader reader = path == null
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(path, StandardCharsets.UTF_8)
+        ) {
+            new BatchEvaluator(new ExpressionService(executor), BatchEvaluator.DEFAULT_WINDOW_SIZE, ordered)
+                .run(reader, sink);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Creates a text result writer to a file or the standard output.
+     * @param outputPath the path of the output file, or `null` for the standard output
+     * @param fixed whether the writer formats values as `%f`
+     * @param numbered whether the writer prefixes each line with the input's line number
+     * @return the writer
+     * @throws IOException the file can not be opened
+     */
+    private static ResultWriter createResultWriter(
+        Path outputPath,
+        boolean fixed,
+        boolean numbered
+    ) throws IOException {
+        WritableByteChannel channel = outputPath == null
+            ? Channels.newChannel(System.out)
+            : FileChannel.open(
+                outputPath,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE
+            );
+        return new ResultWriter(channel, fixed, numbered);
     }
 }
@@ -44,6 +44,33 @@ public class PositionedException extends Exception {
         this.description = description;
     }
 
+    /**
+     * Initialises the names, position and description of this exception with a message that is already formatted as
+     * the other constructor formats it, without a stack trace. A cache that replays an exception (see
+     * `service.ResultCache`) constructs the replayed exception so, which neither formats a message nor walks a stack.
+     * @param className the name of the class that threw this exception
+     * @param methodName the name of the method that threw this exception
+     * @param lineNumber the input line number when this exception was thrown
+     * @param characterNumber the input character number when this exception was thrown
+     * @param description this exception's description
+     * @param message this exception's message
+     */
+    protected PositionedException(
+        String className,
+        String methodName,
+        int lineNumber,
+        int characterNumber,
+        String description,
+        String message
+    ) {
+        super(message, null, false, false);
+        this.className = className;
+        this.methodName = methodName;
+        this.lineNumber = lineNumber;
+        this.characterNumber = characterNumber;
+        this.description = description;
+    }
+
     /**
      * @return the name of the class that threw this exception
      */
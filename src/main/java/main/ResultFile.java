@@ -0,0 +1,112 @@
+package main;
+
+import lexer.EmptyNumberException;
+import lexer.IllegalCharacterException;
+import lexer.IllegalLexemeException;
+import lexer.IncompleteCosineException;
+import lexer.LeadingZeroException;
+import lexer.MissingIntegerException;
+import parser.ExpectedOperandException;
+import parser.ExpectedOperatorException;
+import parser.IllegalTokenException;
+
+/**
+ * The layout of a binary result file, which a `BinaryResultWriter` writes and a `ResultFileReader` reads. Every
+ * number is little-endian and every section starts at a multiple of 8 bytes, so a reader can map each section into
+ * memory and read it in place:
+ * - the header (`HEADER_LENGTH` bytes): `MAGIC` and `VERSION` (ints), then the record count, the values' offset, the
+ * statuses' offset, the error count, the error index's offset and the error data's offset and length (longs);
+ * - the values: a double per record (`NaN` for an error);
+ * - the statuses: a byte per record, `OK` or the code of the exception class that rejected the record's line;
+ * - the error index: an entry of `ERROR_ENTRY_LENGTH` bytes per error, in record order: the record's index (a long),
+ * the exception's line and character numbers (ints, `0` for an exception without a position), and the offset (a
+ * long) and length (an int) of its message in the error data, then 4 bytes of padding;
+ * - the error data: the errors' messages in UTF-8.
+ * The file does not repeat the input lines, since a reader can match records to them by their indices.
+ */
+public final class ResultFile {
+
+    // the first 4 bytes of a result file ("EVAL" in ASCII)
+    public static final int MAGIC = 0x4C415645;
+    // the version of the layout
+    public static final int VERSION = 1;
+    // the length of the header
+    public static final int HEADER_LENGTH = 64;
+    // the offsets of the header's fields
+    static final int COUNT_OFFSET = 8;
+    static final int VALUES_OFFSET = 16;
+    static final int STATUSES_OFFSET = 24;
+    static final int ERROR_COUNT_OFFSET = 32;
+    static final int ERROR_INDEX_OFFSET = 40;
+    static final int ERROR_DATA_OFFSET = 48;
+    static final int ERROR_DATA_LENGTH_OFFSET = 56;
+    // the length of an entry of the error index and the offsets of its fields
+    public static final int ERROR_ENTRY_LENGTH = 32;
+    static final int ENTRY_LINE_OFFSET = 8;
+    static final int ENTRY_CHARACTER_OFFSET = 12;
+    static final int ENTRY_MESSAGE_OFFSET = 16;
+    static final int ENTRY_MESSAGE_LENGTH_OFFSET = 24;
+    // the largest number of records in a file (so that each section fits in a mapped buffer)
+    public static final int MAX_COUNT = Integer.MAX_VALUE / Double.BYTES;
+
+    // the status of a record with a value
+    public static final byte OK = 0;
+    // the exception classes, indexed by their status codes (a code for each class, including the base classes for
+    // exceptions of other subclasses)
+    private static final Class<?>[] EXCEPTION_CLASSES = {
+        null,
+        LeadingZeroException.class,
+        EmptyNumberException.class,
+        MissingIntegerException.class,
+        IncompleteCosineException.class,
+        IllegalCharacterException.class,
+        IllegalLexemeException.class,
+        ExpectedOperandException.class,
+        ExpectedOperatorException.class,
+        IllegalTokenException.class,
+        PositionedException.class,
+        UnpositionedException.class,
+        RuntimeException.class,
+    };
+
+    private ResultFile() { }
+
+    /**
+     * Finds the status code of an exception: the code of its class, or else of its nearest superclass with a code.
+     * @param exception an exception
+     * @return the exception's status code
+     */
+    public static byte getStatus(Exception exception) {
+        for (Class<?> type = exception.getClass(); type != Object.class; type = type.getSuperclass()) {
+            for (int status = 1; status < EXCEPTION_CLASSES.length; status++) {
+                if (EXCEPTION_CLASSES[status] == type) {
+                    return (byte) status;
+                }
+            }
+        }
+        // unreachable for the exceptions that reject lines, which are positioned or unchecked
+        throw new IllegalArgumentException("[ResultFile:getStatus] Unknown exception class.");
+    }
+
+    /**
+     * Finds the exception class of a status code.
+     * @param status a status code other than `OK`
+     * @return the exception class
+     */
+    public static Class<?> getExceptionClass(byte status) {
+        if (status <= OK || status >= EXCEPTION_CLASSES.length) {
+            throw new IllegalArgumentException(
+                String.format("[ResultFile:getExceptionClass] Unknown status %d.", status)
+            );
+        }
+        return EXCEPTION_CLASSES[status];
+    }
+
+    /**
+     * @param length a length
+     * @return the smallest multiple of 8 that is at least the length
+     */
+    static long align(long length) {
+        return (length + 7) & ~7L;
+    }
+}
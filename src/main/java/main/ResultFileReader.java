@@ -0,0 +1,199 @@
+package main;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A class to represent a reader of a binary result file (see `ResultFile`) that maps each section of the file into
+ * memory and reads it in place: `getValues` and `getStatuses` are views of the mapped columns, so reading a column
+ * copies nothing. The reader validates the header when it opens the file.
+ */
+public class ResultFileReader implements AutoCloseable {
+
+    // the file's channel
+    private final FileChannel channel;
+    // the number of records and errors
+    private final int count;
+    private final int errorCount;
+    // the mapped sections
+    private final DoubleBuffer values;
+    private final ByteBuffer statuses;
+    private final ByteBuffer errorIndex;
+    private final ByteBuffer errorData;
+
+    /**
+     * Initialises this reader to read a file.
+     * @param path the file's path
+     * @throws IOException the file can not be opened or mapped, or it is not a valid result file
+     */
+    public ResultFileReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < ResultFile.HEADER_LENGTH) {
+                throw new IOException("[ResultFileReader:ResultFileReader] The file has no header.");
+            }
+            ByteBuffer header = map(0, ResultFile.HEADER_LENGTH);
+            if (header.getInt(0) != ResultFile.MAGIC || header.getInt(4) != ResultFile.VERSION) {
+                throw new IOException("[ResultFileReader:ResultFileReader] The file is not a result file.");
+            }
+            long recordCount = header.getLong(ResultFile.COUNT_OFFSET);
+            long valuesOffset = header.getLong(ResultFile.VALUES_OFFSET);
+            long statusesOffset = header.getLong(ResultFile.STATUSES_OFFSET);
+            long errorRecordCount = header.getLong(ResultFile.ERROR_COUNT_OFFSET);
+            long errorIndexOffset = header.getLong(ResultFile.ERROR_INDEX_OFFSET);
+            long errorDataOffset = header.getLong(ResultFile.ERROR_DATA_OFFSET);
+            long errorDataLength = header.getLong(ResultFile.ERROR_DATA_LENGTH_OFFSET);
+            // assert that every section is within the file and fits in a mapped buffer
+            if (recordCount < 0 || recordCount > ResultFile.MAX_COUNT
+                || errorRecordCount < 0 || errorRecordCount > recordCount
+                || errorDataLength < 0 || errorDataLength > Integer.MAX_VALUE
+                || valuesOffset < ResultFile.HEADER_LENGTH || valuesOffset + recordCount * Double.BYTES > size
+                || statusesOffset < 0 || statusesOffset + recordCount > size
+                || errorIndexOffset < 0 || errorIndexOffset + errorRecordCount * ResultFile.ERROR_ENTRY_LENGTH > size
+                || errorDataOffset < 0 || errorDataOffset + errorDataLength > size
+            ) {
+                throw new IOException("[ResultFileReader:ResultFileReader] The file's header is corrupt.");
+            }
+            this.count = (int) recordCount;
+            this.errorCount = (int) errorRecordCount;
+            this.values = map(valuesOffset, (long) count * Double.BYTES).asDoubleBuffer();
+            this.statuses = map(statusesOffset, count);
+            this.errorIndex = map(errorIndexOffset, (long) errorCount * ResultFile.ERROR_ENTRY_LENGTH);
+            this.errorData = map(errorDataOffset, errorDataLength);
+        } catch (IOException | RuntimeException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * Maps a section of the file as a little-endian buffer.
+     * @param offset the section's offset
+     * @param length the section's length
+     * @return the buffer
+     * @throws IOException the section can not be mapped
+     */
+    private ByteBuffer map(long offset, long length) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * @return the number of records
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return a read-only view of the values, indexed by the records' indices
+     */
+    public DoubleBuffer getValues() {
+        return values.duplicate();
+    }
+
+    /**
+     * @return a read-only view of the statuses, indexed by the records' indices
+     */
+    public ByteBuffer getStatuses() {
+        return statuses.duplicate();
+    }
+
+    /**
+     * @param index a record's index
+     * @return the record's value (`NaN` for an error)
+     */
+    public double getValue(int index) {
+        return values.get(index);
+    }
+
+    /**
+     * @param index a record's index
+     * @return the record's status (`ResultFile.OK` or the status code of an exception class)
+     */
+    public byte getStatus(int index) {
+        return statuses.get(index);
+    }
+
+    /**
+     * @return the number of errors
+     */
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Finds the error of a record by a binary search of the error index.
+     * @param index a record's index
+     * @return the error's ordinal in the error index, or `-1` if the record has a value
+     */
+    public int findError(int index) {
+        int low = 0;
+        int high = errorCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long record = getErrorRecord(middle);
+            if (record < index) {
+                low = middle + 1;
+            } else if (record > index) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param error an error's ordinal
+     * @return the index of the error's record
+     */
+    public int getErrorRecord(int error) {
+        return (int) errorIndex.getLong(error * ResultFile.ERROR_ENTRY_LENGTH);
+    }
+
+    /**
+     * @param error an error's ordinal
+     * @return the line number of the error's exception
+     */
+    public int getErrorLineNumber(int error) {
+        return errorIndex.getInt(error * ResultFile.ERROR_ENTRY_LENGTH + ResultFile.ENTRY_LINE_OFFSET);
+    }
+
+    /**
+     * @param error an error's ordinal
+     * @return the character number of the error's exception
+     */
+    public int getErrorCharacterNumber(int error) {
+        return errorIndex.getInt(error * ResultFile.ERROR_ENTRY_LENGTH + ResultFile.ENTRY_CHARACTER_OFFSET);
+    }
+
+    /**
+     * Decodes the message of an error's exception (the only part of the file that the reader copies).
+     * @param error an error's ordinal
+     * @return the message
+     */
+    public String getErrorMessage(int error) {
+        int entry = error * ResultFile.ERROR_ENTRY_LENGTH;
+        int offset = (int) errorIndex.getLong(entry + ResultFile.ENTRY_MESSAGE_OFFSET);
+        int length = errorIndex.getInt(entry + ResultFile.ENTRY_MESSAGE_LENGTH_OFFSET);
+        byte[] bytes = new byte[length];
+        errorData.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Closes the file. The views remain valid until the garbage collector unmaps the sections.
+     * @throws IOException the file can not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
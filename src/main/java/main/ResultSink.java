@@ -0,0 +1,40 @@
+package main;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * A destination for the results of a batch of evaluations: for each input line, its value or the exception that
+ * rejected it. A `BatchEvaluator` writes the results of an ordered batch in input order, and never writes two results
+ * concurrently.
+ */
+public interface ResultSink extends Closeable {
+
+    /**
+     * Writes the value of an input line.
+     * @param index the line's index in the input (counting from `0`)
+     * @param inputString the line
+     * @param value the value of the line's expression
+     * @throws IOException the destination throws an IO exception
+     */
+    void writeValue(long index, String inputString, double value) throws IOException;
+
+    /**
+     * Writes the exception that rejected an input line.
+     * @param index the line's index in the input (counting from `0`)
+     * @param inputString the line
+     * @param exception the exception that the lexer or the evaluator threw: a `PositionedException`, or an unchecked
+     * exception (such as an `UnpositionedException`) for a failure without a position
+     * @throws IOException the destination throws an IO exception
+     */
+    void writeError(long index, String inputString, Exception exception) throws IOException;
+
+    /**
+     * @param exception an exception that rejected an input line
+     * @return the exception's message, or the name of its class if it has none
+     */
+    static String getMessage(Exception exception) {
+        String message = exception.getMessage();
+        return message == null ? exception.getClass().getName() : message;
+    }
+}
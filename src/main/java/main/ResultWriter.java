@@ -0,0 +1,209 @@
+package main;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A class to represent a result sink that writes a line of UTF-8 text per result: "`input` = `value`" or
+ * "`input`: `message`" for an exception. A numbered writer prefixes each line with the input's line number (counting
+ * from `1`) and a colon so that a reader can match results that arrive out of order to their inputs.
+ * The writer encodes each line straight into a reusable byte buffer (formatting values with a `DoubleFormatter`,
+ * either as the shortest decimal that rounds back to the value or exactly as `%f` would) and writes the buffer to a
+ * channel whenever it fills, so it creates no strings and writes in large chunks.
+ */
+public class ResultWriter implements ResultSink {
+
+    // the default size of the buffer in bytes
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+    // the line separator's bytes
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+    // the number of bytes that the writer reserves for a line's prefix, separators and value
+    private static final int RESERVED_LENGTH = 32 + DoubleFormatter.MAX_LENGTH;
+
+    // the channel to which the writer writes
+    private final WritableByteChannel channel;
+    // the formatter of values
+    private final DoubleFormatter formatter;
+    // whether the writer prefixes each line with the input's line number
+    private final boolean numbered;
+    // the buffer and the number of bytes in it
+    private final byte[] buffer;
+    private int position = 0;
+    // a view of the buffer for the channel
+    private final ByteBuffer view;
+
+    /**
+     * Initialises this writer with a buffer of the default size.
+     * @param channel a channel (which the writer closes when it closes)
+     * @param fixed whether the writer formats values exactly as `%f` would rather than as their shortest decimals
+     * @param numbered whether the writer prefixes each line with the input's line number
+     */
+    public ResultWriter(WritableByteChannel channel, boolean fixed, boolean numbered) {
+        this(channel, fixed, numbered, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Initialises this writer.
+     * @param channel a channel (which the writer closes when it closes)
+     * @param fixed whether the writer formats values exactly as `%f` would rather than as their shortest decimals
+     * @param numbered whether the writer prefixes each line with the input's line number
+     * @param bufferSize the size of the buffer in bytes
+     */
+    public ResultWriter(WritableByteChannel channel, boolean fixed, boolean numbered, int bufferSize) {
+        if (bufferSize < RESERVED_LENGTH) {
+            throw new IllegalArgumentException(
+                String.format("[ResultWriter:ResultWriter] Buffer size must be at least %d.", RESERVED_LENGTH)
+            );
+        }
+        this.channel = channel;
+        this.formatter = new DoubleFormatter(fixed);
+        this.numbered = numbered;
+        this.buffer = new byte[bufferSize];
+        this.view = ByteBuffer.wrap(buffer);
+    }
+
+    /**
+     * Makes room for a number of bytes, writing the buffer to the channel if it has too little room.
+     * @param length a number of bytes (at most the buffer's size)
+     * @throws IOException the channel throws an IO exception
+     */
+    private void ensureRoom(int length) throws IOException {
+        if (buffer.length - position < length) {
+            flush();
+        }
+    }
+
+    /**
+     * Encodes a string as UTF-8 into the buffer, writing the buffer to the channel whenever it fills.
+     * @param text a string
+     * @throws IOException the channel throws an IO exception
+     */
+    private void writeString(String text) throws IOException {
+        int length = text.length();
+        int index = 0;
+        while (index < length) {
+            // copy ASCII characters directly
+            int end = Math.min(length, index + buffer.length - position);
+            while (index < end) {
+                char character = text.charAt(index);
+                if (character >= 0x80) {
+                    break;
+                }
+                buffer[position++] = (byte) character;
+                index++;
+            }
+            if (index == length) {
+                return;
+            }
+            if (index < end) {
+                // encode a non-ASCII character (a supplementary character as a single 4-byte sequence)
+                int codePoint = text.codePointAt(index);
+                ensureRoom(4);
+                position = encode(codePoint, buffer, position);
+                index += Character.charCount(codePoint);
+            } else {
+                flush();
+            }
+        }
+    }
+
+    /**
+     * Encodes a code point as UTF-8. A lone surrogate encodes as '?', as `String.getBytes` encodes it.
+     * @return the index after the last byte
+     */
+    private static int encode(int codePoint, byte[] buffer, int position) {
+        if (codePoint < 0x800) {
+            buffer[position++] = (byte) (0xC0 | codePoint >> 6);
+        } else if (Character.isSurrogate((char) codePoint) && codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            buffer[position++] = '?';
+            return position;
+        } else if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            buffer[position++] = (byte) (0xE0 | codePoint >> 12);
+            buffer[position++] = (byte) (0x80 | (codePoint >> 6 & 0x3F));
+        } else {
+            buffer[position++] = (byte) (0xF0 | codePoint >> 18);
+            buffer[position++] = (byte) (0x80 | (codePoint >> 12 & 0x3F));
+            buffer[position++] = (byte) (0x80 | (codePoint >> 6 & 0x3F));
+        }
+        buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+        return position;
+    }
+
+    /**
+     * Writes an ASCII string into the buffer, which must have room for it.
+     */
+    private void writeAscii(String text) {
+        for (int index = 0; index < text.length(); index++) {
+            buffer[position++] = (byte) text.charAt(index);
+        }
+    }
+
+    /**
+     * Writes the line separator into the buffer, which must have room for it.
+     */
+    private void writeLineSeparator() {
+        System.arraycopy(LINE_SEPARATOR, 0, buffer, position, LINE_SEPARATOR.length);
+        position += LINE_SEPARATOR.length;
+    }
+
+    /**
+     * Writes the line number prefix iff the writer is numbered.
+     * @param index the input line's index
+     * @throws IOException the channel throws an IO exception
+     */
+    private void writePrefix(long index) throws IOException {
+        if (numbered) {
+            ensureRoom(RESERVED_LENGTH);
+            writeAscii(Long.toString(index + 1));
+            writeAscii(": ");
+        }
+    }
+
+    @Override
+    public void writeValue(long index, String inputString, double value) throws IOException {
+        writePrefix(index);
+        writeString(inputString);
+        ensureRoom(RESERVED_LENGTH);
+        writeAscii(" = ");
+        position = formatter.format(value, buffer, position);
+        writeLineSeparator();
+    }
+
+    @Override
+    public void writeError(long index, String inputString, Exception exception) throws IOException {
+        writePrefix(index);
+        writeString(inputString);
+        ensureRoom(RESERVED_LENGTH);
+        writeAscii(": ");
+        writeString(ResultSink.getMessage(exception));
+        ensureRoom(LINE_SEPARATOR.length);
+        writeLineSeparator();
+    }
+
+    /**
+     * Writes the buffer's bytes to the channel.
+     * @throws IOException the channel throws an IO exception
+     */
+    public void flush() throws IOException {
+        view.clear().limit(position);
+        while (view.hasRemaining()) {
+            channel.write(view);
+        }
+        position = 0;
+    }
+
+    /**
+     * Flushes the buffer and closes the channel.
+     * @throws IOException the channel throws an IO exception
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -1,19 +1,11 @@
 package parser;
 
-import lexer.IllegalLexemeException;
-
-import java.io.IOException;
-
 /**
  * A class for an action of an SLR parsing table. For example, shift, reduce, accept or error.
+ * We author a table's actions as `Action` objects. A `ParseTable` compiles each action into an integer entry on which
+ * the `Parser` driver dispatches, so an action holds no parser state and a single action can serve every parser.
+ * @param <TerminalTag> the type of tag for a terminal
+ * @param <NonterminalTag> the type of tag for a nonterminal
  */
-public interface Action {
-
-    /**
-     * Executes this action. For example, by updating the state of an outer `Parser` object and/or reading a token.
-     * @throws IOException the lexer's reader throws an IO exception
-     * @throws IllegalLexemeException the lexer encounters an invalid lexeme
-     * @throws IllegalTokenException the parser encounters an invalid token
-     */
-    void execute() throws IOException, IllegalLexemeException, IllegalTokenException;
+public interface Action<TerminalTag, NonterminalTag> {
 }
@@ -0,0 +1,57 @@
+package parser;
+
+/**
+ * An interface for the arithmetic of `ShapeBatchEvaluator` over columns of values (one value per expression of a
+ * shape). A kernel may write its result over one of its operands, since the evaluator owns every column.
+ * The vector kernel is in `src/vector/java`, which only the `vector` build profile compiles. `getDefault` loads it only
+ * if the JVM has resolved the incubating `jdk.incubator.vector` module (with `--add-modules jdk.incubator.vector`) and
+ * the build has compiled it, so the default build selects the scalar kernel and never needs the module.
+ */
+interface ColumnKernel {
+
+    /**
+     * Adds two columns lane by lane.
+     * @param first the first operands
+     * @param second the second operands
+     * @param result the column for the sums
+     * @param length the number of lanes
+     */
+    void add(double[] first, double[] second, double[] result, int length);
+
+    /**
+     * Subtracts a column from another lane by lane.
+     * @param first the first operands
+     * @param second the second operands
+     * @param result the column for the differences
+     * @param length the number of lanes
+     */
+    void subtract(double[] first, double[] second, double[] result, int length);
+
+    /**
+     * Raises a column to the power of another lane by lane.
+     * @param first the bases
+     * @param second the exponents
+     * @param result the column for the powers
+     * @param length the number of lanes
+     */
+    void power(double[] first, double[] second, double[] result, int length);
+
+    /**
+     * @return whether the kernel uses the vector API
+     */
+    boolean isVectorized();
+
+    /**
+     * @return the vector kernel if the build has compiled it and the vector API is available, or else the scalar kernel
+     */
+    static ColumnKernel getDefault() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (ColumnKernel) Class.forName("parser.VectorColumnKernel").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError exception) {
+                // the build has not compiled the kernel, or the module cannot serve it
+            }
+        }
+        return ScalarColumnKernel.INSTANCE;
+    }
+}
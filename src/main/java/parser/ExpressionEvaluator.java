@@ -0,0 +1,247 @@
+package parser;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import lexer.IllegalLexemeException;
+import lexer.Lexer;
+import lexer.TokenCursor;
+import lexer.token.ExpressionTokenTag;
+import lexer.token.NumberToken;
+import lexer.token.Token;
+
+import parser.production.ExpressionProduction;
+import parser.production.Production;
+import parser.symbol.ExpressionNonterminalTag;
+
+/**
+ * A class to represent an evaluator that reads an expression (or the tokens thereof) to compute its value without
+ * generating a parse tree.
+ * The evaluator drives the same automaton as an `ExpressionParser` but keeps a stack of values in place of a stack of
+ * symbols. Shifting a number pushes the number's value and each reduction combines the values on top of the stack by
+ * its production's `evaluate` method, so the evaluator's memory use depends only on the depth of its stacks.
+ * If the lexer is also a `TokenCursor`, the evaluator reads tag ordinals and number values from the cursor, so it
+ * allocates nothing per token.
+ */
+public class ExpressionEvaluator {
+
+    // the lexer from which the evaluator receives tokens
+    private final Lexer<ExpressionTokenTag> lexer;
+    // the lexer as a token cursor, or `null` if the lexer is not a token cursor
+    private final TokenCursor<ExpressionTokenTag> cursor;
+    // the parsing table whose automaton the evaluator drives
+    private final ParseTable<ExpressionTokenTag, ExpressionNonterminalTag> table;
+    // the table's productions, indexed by their numbers
+    private final ExpressionProduction[] productions;
+    // a stack of state numbers representing the state of the evaluator's automaton
+    private int[] stateStack;
+    // a stack of values corresponding element-wise to the states in `stateStack`
+    // The value of an operator is unspecified.
+    private double[] valueStack;
+    // the number of elements in each of `stateStack` and `valueStack`
+    private int stackSize = 0;
+
+    /**
+     * Initialises this evaluator's lexer. The evaluator drives the automaton of the table that all `ExpressionParser`
+     * objects share.
+     * @param lexer a lexer that outputs tokens of tag type `ExpressionTokenTag`
+     */
+    public ExpressionEvaluator(Lexer<ExpressionTokenTag> lexer) {
+        this(lexer, ExpressionParser.getTable(), Parser.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initialises this evaluator's lexer, parsing table and the initial capacity of its stacks.
+     * @param lexer a lexer that outputs tokens of tag type `ExpressionTokenTag`
+     * @param table a parsing table whose productions are all `ExpressionProduction` objects
+     * @param capacity the initial capacity of the stacks (which grow beyond it as necessary)
+     */
+    public ExpressionEvaluator(
+        Lexer<ExpressionTokenTag> lexer,
+        ParseTable<ExpressionTokenTag, ExpressionNonterminalTag> table,
+        int capacity
+    ) {
+        // assert that the stacks can hold at least the initial state and value
+        if (capacity < 1) {
+            throw new IllegalArgumentException("[ExpressionEvaluator:ExpressionEvaluator] Capacity must be positive.");
+        }
+        this.lexer = lexer;
+        this.cursor = getCursor(lexer);
+        this.table = table;
+        productions = getExpressionProductions(table);
+        stateStack = new int[capacity];
+        valueStack = new double[capacity];
+    }
+
+    /**
+     * Retrieves a lexer as a token cursor.
+     * @param lexer a lexer
+     * @return the lexer as a token cursor, or `null` if the lexer is not a token cursor
+     */
+    @SuppressWarnings("unchecked")
+    private static TokenCursor<ExpressionTokenTag> getCursor(Lexer<ExpressionTokenTag> lexer) {
+        // We suppress warnings for the unchecked cast because a token cursor's tag type is erased at runtime.
+        return lexer instanceof TokenCursor<?> cursor ? (TokenCursor<ExpressionTokenTag>) cursor : null;
+    }
+
+    /**
+     * Retrieves a parsing table's productions as expression productions.
+     * @param table a parsing table
+     * @return the table's productions, indexed by their numbers
+     */
+    static ExpressionProduction[] getExpressionProductions(
+        ParseTable<ExpressionTokenTag, ExpressionNonterminalTag> table
+    ) {
+        List<Production<ExpressionTokenTag, ExpressionNonterminalTag>> tableProductions = table.getProductions();
+        ExpressionProduction[] productions = new ExpressionProduction[tableProductions.size()];
+        for (int index = 0; index < productions.length; index++) {
+            // assert that the evaluator can compute the value of the production's head
+            if (!(tableProductions.get(index) instanceof ExpressionProduction production)) {
+                throw new IllegalArgumentException(String.format(
+                    "[ExpressionEvaluator:getExpressionProductions] Production %s is not an expression production.",
+                    tableProductions.get(index)
+                ));
+            }
+            productions[index] = production;
+        }
+        return productions;
+    }
+
+    /**
+     * Pushes a state and its corresponding value to the stacks, doubling the stacks' capacity if they are full.
+     * @param state the number of a state
+     * @param value the state's corresponding value
+     */
+    private void push(int state, double value) {
+        if (stackSize == stateStack.length) {
+            stateStack = Arrays.copyOf(stateStack, 2 * stackSize);
+            valueStack = Arrays.copyOf(valueStack, 2 * stackSize);
+        }
+        stateStack[stackSize] = state;
+        valueStack[stackSize] = value;
+        stackSize++;
+    }
+
+    /**
+     * Computes the value of the expression in the lexer's token stream.
+     * Implements the SLR algorithm by driving the parsing table's automaton.
+     * @return the expression's value
+     * @throws IOException the lexer throws an IO exception
+     * @throws IllegalLexemeException the lexer throws an `IllegalLexemeException`
+     * @throws IllegalTokenException the evaluator encounters an invalid token
+     */
+    public double run() throws IOException, IllegalLexemeException, IllegalTokenException {
+        // initialise the evaluator's state
+        stackSize = 0;
+        push(table.getInitialState(), 0);
+
+        return cursor != null ? runCursor() : runScanner();
+    }
+
+    /**
+     * Drives the automaton over the tokens that the lexer's `scan` method generates.
+     * @return the expression's value
+     */
+    private double runScanner() throws IOException, IllegalLexemeException, IllegalTokenException {
+        // retrieve the first token
+        Token<ExpressionTokenTag> token = lexer.scan();
+        // The driver continues driving the automaton until it accepts the input.
+        while (true) {
+            // `tag` is the current token's tag. The tag is `null` is the token is `null`.
+            ExpressionTokenTag tag = token == null ? null : token.getTag();
+            // retrieve the encoded action for the tag at the current state
+            int entry = table.getAction(stateStack[stackSize - 1], table.getColumn(tag));
+            if (ParseTable.getKind(entry) == ParseTable.SHIFT) {
+                // push the next state and the token's value (if it is a number) to the stacks
+                push(
+                    ParseTable.getOperand(entry),
+                    tag == ExpressionTokenTag.NUMBER ? ((NumberToken) token).getValue() : 0
+                );
+                // advance the token
+                token = lexer.scan();
+            } else if (execute(entry)) {
+                // the expression's value is the value on top of the stack
+                return valueStack[stackSize - 1];
+            }
+        }
+    }
+
+    /**
+     * Drives the automaton over the tag ordinals and number values that the lexer's token cursor generates.
+     * @return the expression's value
+     */
+    private double runCursor() throws IOException, IllegalLexemeException, IllegalTokenException {
+        final int numberColumn = ExpressionTokenTag.NUMBER.ordinal();
+        // retrieve the first token's column
+        int column = getColumn(cursor.advance());
+        // The driver continues driving the automaton until it accepts the input.
+        while (true) {
+            // retrieve the encoded action for the current token's column at the current state
+            int entry = table.getAction(stateStack[stackSize - 1], column);
+            if (ParseTable.getKind(entry) == ParseTable.SHIFT) {
+                // push the next state and the token's value (if it is a number) to the stacks
+                push(ParseTable.getOperand(entry), column == numberColumn ? cursor.numberValue() : 0);
+                // advance the token
+                column = getColumn(cursor.advance());
+            } else if (execute(entry)) {
+                // the expression's value is the value on top of the stack
+                return valueStack[stackSize - 1];
+            }
+        }
+    }
+
+    /**
+     * @param ordinal a tag ordinal from the token cursor, or `TokenCursor.EOF`
+     * @return the action table's column for the ordinal
+     */
+    private int getColumn(int ordinal) {
+        return ordinal == TokenCursor.EOF ? table.getEndColumn() : ordinal;
+    }
+
+    /**
+     * Executes an encoded action other than a shift.
+     * @param entry an encoded reduce, accept or error action
+     * @return whether the action accepts the input
+     * @throws IllegalTokenException the action is an error action
+     */
+    private boolean execute(int entry) throws IllegalTokenException {
+        switch (ParseTable.getKind(entry)) {
+            case ParseTable.REDUCE -> {
+                // combine the production's values (the top `length` values on the stack) to form its head's value
+                ExpressionProduction production = productions[ParseTable.getOperand(entry)];
+                int base = stackSize - production.getLength();
+                double value = production.evaluate(valueStack, base);
+                // pop the production's values and states
+                stackSize = base;
+                // push the next state after encountering `production`'s head and the head's value to the stacks
+                push(table.getNextState(stateStack[base - 1], production.getTag()), value);
+                return false;
+            }
+            case ParseTable.ACCEPT -> {
+                return true;
+            }
+            default -> throw table.getExceptionAction(ParseTable.getOperand(entry)).createException(
+                lexer.getLineNumber(),
+                lexer.getCharacterNumber()
+            );
+        }
+    }
+
+    /**
+     * Computes the value of an expression in an input string.
+     * We use an `ExpressionLexer` as the lexer, reusing the calling thread's `ParserContext`.
+     * @param inputString an input string
+     * @return the expression's value
+     * @throws IOException the lexer throws an IO exception
+     * @throws IllegalLexemeException the lexer throws an `IllegalLexemeException`
+     * @throws IllegalTokenException the evaluator encounters an invalid token
+     */
+    public static double evaluate(String inputString) throws
+        IOException,
+        IllegalLexemeException,
+        IllegalTokenException
+    {
+        return ParserContext.current().evaluate(inputString);
+    }
+}
@@ -23,4 +23,25 @@ public class IllegalTokenException extends PositionedException {
     ) {
         super(className, methodName, lineNumber, characterNumber, description);
     }
+
+    /**
+     * Initialises the names, position, description and preformatted message of this exception without a stack trace
+     * (see `PositionedException`).
+     * @param className the name of the class that threw this exception
+     * @param methodName the name of the method that threw this exception
+     * @param lineNumber the input line number when this exception was thrown
+     * @param characterNumber the input character number when this exception was thrown
+     * @param description this exception's description
+     * @param message this exception's message
+     */
+    protected IllegalTokenException(
+            String className,
+            String methodName,
+            int lineNumber,
+            int characterNumber,
+            String description,
+            String message
+    ) {
+        super(className, methodName, lineNumber, characterNumber, description, message);
+    }
 }
@@ -0,0 +1,260 @@
+package parser;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import parser.production.Production;
+
+/**
+ * A class to represent an SLR parsing table: the states (and the actions and transitions thereof) of a parser's
+ * automaton and the productions by which it reduces.
+ * We author the table as `State` objects and compile those into dense action and goto tables. A row of either table
+ * is a state's number (its index in the state list). A column of the action table is a terminal tag's ordinal, with an
+ * extra last column for the input's end. A column of the goto table is a nonterminal tag's ordinal.
+ * An action table entry encodes an action's kind (`ERROR`, `SHIFT`, `REDUCE` or `ACCEPT`) in its low bits and its
+ * operand (an exception action's, state's or production's number) in its remaining bits.
+ * A table holds no parser state. Once constructed, neither the table nor its states change, so many parsers (on many
+ * threads) can share a single table.
+ * @param <TerminalTag> the type of tag for a terminal
+ * @param <NonterminalTag> the type of tag for a nonterminal
+ */
+public class ParseTable<TerminalTag extends Enum<TerminalTag>, NonterminalTag extends Enum<NonterminalTag>> {
+
+    // the kinds of action that an action table entry can encode
+    public static final int ERROR = 0;
+    public static final int SHIFT = 1;
+    public static final int REDUCE = 2;
+    public static final int ACCEPT = 3;
+    // the number of low bits in an action table entry that encode the action's kind
+    private static final int KIND_BITS = 2;
+    private static final int KIND_MASK = (1 << KIND_BITS) - 1;
+    // the goto table entry for a state that has no next state for a nonterminal tag
+    public static final int NO_STATE = -1;
+
+    // the automaton's states, the first of which is the initial state
+    private final List<State<TerminalTag, NonterminalTag>> states;
+    // the productions by which the automaton reduces
+    private final List<Production<TerminalTag, NonterminalTag>> productions;
+    // the exception actions to which the action table's error entries refer
+    private final List<Parser.ExceptionAction<TerminalTag, NonterminalTag>> exceptionActions;
+    // the action table's column for the input's end
+    private final int endColumn;
+    // the action table: a mapping from a state's number and a terminal tag's column to an encoded action
+    private final int[][] actions;
+    // the goto table: a mapping from a state's number and a nonterminal tag's ordinal to the next state's number
+    private final int[][] nextStates;
+
+    /**
+     * A constructor to initialise this table's states and productions and compile them into action and goto tables.
+     * The caller must not modify the states (for example, by calling `putAction`) after constructing the table.
+     * @param terminalTagClass the class of a terminal tag
+     * @param nonterminalTagClass the class of a nonterminal tag
+     * @param states the automaton's states, the first of which is the initial state
+     * @param productions the productions by which the automaton reduces
+     */
+    public ParseTable(
+        Class<TerminalTag> terminalTagClass,
+        Class<NonterminalTag> nonterminalTagClass,
+        List<State<TerminalTag, NonterminalTag>> states,
+        List<Production<TerminalTag, NonterminalTag>> productions
+    ) {
+        // assert that the automaton has an initial state
+        if (states.isEmpty()) {
+            throw new IllegalArgumentException("[ParseTable:ParseTable] State list cannot be empty.");
+        }
+        this.states = List.copyOf(states);
+        this.productions = List.copyOf(productions);
+
+        // number the states and productions by their indices
+        Map<State<TerminalTag, NonterminalTag>, Integer> stateNumbers = numberByIdentity(this.states);
+        Map<Production<TerminalTag, NonterminalTag>, Integer> productionNumbers = numberByIdentity(this.productions);
+        // number the exception actions in the order in which the compiler encounters them
+        Map<Parser.ExceptionAction<TerminalTag, NonterminalTag>, Integer> exceptionActionNumbers =
+            new IdentityHashMap<>();
+        List<Parser.ExceptionAction<TerminalTag, NonterminalTag>> exceptionActions = new ArrayList<>();
+
+        TerminalTag[] terminalTags = terminalTagClass.getEnumConstants();
+        NonterminalTag[] nonterminalTags = nonterminalTagClass.getEnumConstants();
+        endColumn = terminalTags.length;
+        actions = new int[this.states.size()][endColumn + 1];
+        nextStates = new int[this.states.size()][nonterminalTags.length];
+
+        for (int stateNumber = 0; stateNumber < this.states.size(); stateNumber++) {
+            State<TerminalTag, NonterminalTag> state = this.states.get(stateNumber);
+            // compile the state's action for every terminal tag and then for the input's end
+            for (int column = 0; column <= endColumn; column++) {
+                Action<TerminalTag, NonterminalTag> action = state.getAction(
+                    column == endColumn ? null : terminalTags[column]
+                );
+                int entry;
+                if (action instanceof Parser.ShiftAction<TerminalTag, NonterminalTag> shiftAction) {
+                    entry = encode(SHIFT, getNumber(stateNumbers, shiftAction.getNextState(), "state"));
+                } else if (action instanceof Parser.ReduceAction<TerminalTag, NonterminalTag> reduceAction) {
+                    entry = encode(REDUCE, getNumber(productionNumbers, reduceAction.getProduction(), "production"));
+                } else if (action instanceof Parser.AcceptAction) {
+                    entry = encode(ACCEPT, 0);
+                } else if (action instanceof Parser.ExceptionAction<TerminalTag, NonterminalTag> exceptionAction) {
+                    // register an exception action the first time that the compiler encounters it
+                    Integer exceptionActionNumber = exceptionActionNumbers.get(exceptionAction);
+                    if (exceptionActionNumber == null) {
+                        exceptionActionNumber = exceptionActions.size();
+                        exceptionActionNumbers.put(exceptionAction, exceptionActionNumber);
+                        exceptionActions.add(exceptionAction);
+                    }
+                    entry = encode(ERROR, exceptionActionNumber);
+                } else {
+                    throw new IllegalArgumentException(String.format(
+                        "[ParseTable:ParseTable] Cannot compile action %s of state %s.",
+                        action,
+                        state
+                    ));
+                }
+                actions[stateNumber][column] = entry;
+            }
+            // compile the state's next state for every nonterminal tag
+            for (NonterminalTag nonterminalTag : nonterminalTags) {
+                State<TerminalTag, NonterminalTag> nextState = state.getNextState(nonterminalTag);
+                nextStates[stateNumber][nonterminalTag.ordinal()] = nextState == null
+                    ? NO_STATE
+                    : getNumber(stateNumbers, nextState, "state");
+            }
+        }
+        this.exceptionActions = List.copyOf(exceptionActions);
+    }
+
+    /**
+     * Numbers the elements of a list by their indices, comparing elements by identity.
+     * @param elements a list of elements
+     * @param <Element> the type of an element
+     * @return a mapping from each element to its index
+     */
+    private static <Element> Map<Element, Integer> numberByIdentity(List<Element> elements) {
+        Map<Element, Integer> numbers = new IdentityHashMap<>();
+        for (int index = 0; index < elements.size(); index++) {
+            numbers.put(elements.get(index), index);
+        }
+        return numbers;
+    }
+
+    /**
+     * Retrieves the number of an element that an action refers to.
+     * @param numbers a mapping from elements to their numbers
+     * @param element an element
+     * @param elementName the name of the element's kind (for the exception's description)
+     * @param <Element> the type of an element
+     * @return the element's number
+     */
+    private static <Element> int getNumber(Map<Element, Integer> numbers, Element element, String elementName) {
+        Integer number = numbers.get(element);
+        // assert that the table contains the element
+        if (number == null) {
+            throw new IllegalArgumentException(String.format(
+                "[ParseTable:getNumber] An action refers to %s %s, which is not in the table.",
+                elementName,
+                element
+            ));
+        }
+        return number;
+    }
+
+    /**
+     * Encodes an action as an action table entry.
+     * @param kind the action's kind
+     * @param operand the action's operand
+     * @return the resulting entry
+     */
+    private static int encode(int kind, int operand) {
+        return (operand << KIND_BITS) | kind;
+    }
+
+    /**
+     * @param entry an action table entry
+     * @return the entry's kind (`ERROR`, `SHIFT`, `REDUCE` or `ACCEPT`)
+     */
+    public static int getKind(int entry) {
+        return entry & KIND_MASK;
+    }
+
+    /**
+     * @param entry an action table entry
+     * @return the entry's operand (an exception action's, state's or production's number)
+     */
+    public static int getOperand(int entry) {
+        return entry >>> KIND_BITS;
+    }
+
+    /**
+     * @return the number of the automaton's initial state
+     */
+    public int getInitialState() {
+        return 0;
+    }
+
+    /**
+     * Retrieves the action table's column for a terminal tag.
+     * @param terminalTag a terminal tag, or `null` for the input's end
+     * @return the tag's column
+     */
+    public int getColumn(TerminalTag terminalTag) {
+        return terminalTag == null ? endColumn : terminalTag.ordinal();
+    }
+
+    /**
+     * @return the action table's column for the input's end
+     */
+    public int getEndColumn() {
+        return endColumn;
+    }
+
+    /**
+     * Retrieves the encoded action for a state and a terminal tag's column.
+     * @param state a state's number
+     * @param column a terminal tag's column
+     * @return the encoded action
+     */
+    public int getAction(int state, int column) {
+        return actions[state][column];
+    }
+
+    /**
+     * Retrieves the next state for a state and a nonterminal tag.
+     * @param state a state's number
+     * @param nonterminalTag a nonterminal tag
+     * @return the next state's number, or `NO_STATE` if there is no next state
+     */
+    public int getNextState(int state, NonterminalTag nonterminalTag) {
+        return nextStates[state][nonterminalTag.ordinal()];
+    }
+
+    /**
+     * @param production a production's number
+     * @return the production
+     */
+    public Production<TerminalTag, NonterminalTag> getProduction(int production) {
+        return productions.get(production);
+    }
+
+    /**
+     * @param exceptionAction an exception action's number
+     * @return the exception action
+     */
+    public Parser.ExceptionAction<TerminalTag, NonterminalTag> getExceptionAction(int exceptionAction) {
+        return exceptionActions.get(exceptionAction);
+    }
+
+    /**
+     * @return the automaton's states (as an unmodifiable list), the first of which is the initial state
+     */
+    public List<State<TerminalTag, NonterminalTag>> getStates() {
+        return states;
+    }
+
+    /**
+     * @return the productions by which the automaton reduces (as an unmodifiable list)
+     */
+    public List<Production<TerminalTag, NonterminalTag>> getProductions() {
+        return productions;
+    }
+}
@@ -1,11 +1,12 @@
 package parser;
 
 import java.io.IOException;
-import java.util.LinkedList;
-import java.util.Stack;
+import java.util.ArrayList;
+import java.util.Arrays;
 
 import lexer.IllegalLexemeException;
 import lexer.Lexer;
+import lexer.TokenCursor;
 import lexer.token.Token;
 
 import parser.production.Production;
@@ -14,43 +15,151 @@ import parser.symbol.Symbol;
 import parser.symbol.Terminal;
 
 /**
- * A class for an SLR parser.
+ * A class for an SLR parser that drives the automaton of a (possibly shared) parsing table.
+ * If the lexer is also a `TokenCursor`, the parser reads tag ordinals from the cursor and materialises a token only
+ * when it shifts the token.
  * @param <TerminalTag> the type of tag for a terminal
  * @param <NonterminalTag> the type of tag for a nonterminal
  */
-public abstract class Parser<TerminalTag, NonterminalTag> {
+public class Parser<TerminalTag extends Enum<TerminalTag>, NonterminalTag extends Enum<NonterminalTag>> {
+    // the initial capacity of the parser's stacks if the caller does not provide a capacity hint
+    public static final int DEFAULT_CAPACITY = 16;
+    // whether parsers validate the symbols of every reduction by default
+    // Run with `-Dparser.validate=true` to turn validation on, for example when debugging a new parsing table.
+    public static final boolean VALIDATING_BY_DEFAULT = Boolean.getBoolean("parser.validate");
+
     // the lexer from which the parser receives tokens
     protected final Lexer<TerminalTag> lexer;
-    // a stack of states representing the state of the parser's automaton
-    protected final Stack<State<TerminalTag, NonterminalTag>> stateStack;
+    // the lexer as a token cursor, or `null` if the lexer is not a token cursor
+    private final TokenCursor<TerminalTag> cursor;
+    // the parsing table whose automaton the parser drives
+    protected final ParseTable<TerminalTag, NonterminalTag> table;
+    // a stack of state numbers representing the state of the parser's automaton
+    // The stacks are unsynchronised arrays that grow (by doubling) as necessary.
+    protected int[] stateStack;
     // a stack of symbols corresponding element-wise to the states in `stateStack`
-    protected final Stack<Symbol<TerminalTag, NonterminalTag>> symbolStack;
-    // the most recently read token
+    protected Symbol<TerminalTag, NonterminalTag>[] symbolStack;
+    // the number of elements in each of `stateStack` and `symbolStack`
+    protected int stackSize = 0;
+    // the most recently read token (if the lexer is not a token cursor)
     private Token<TerminalTag> token;
+    // the action table's column for the most recently read token
+    private int column;
     // whether the automaton driver has accepted the input
     protected boolean accepted = false;
+    // whether the parser checks the shape of the symbols of every reduction (rather than trusting the parsing table)
+    private boolean validating = VALIDATING_BY_DEFAULT;
+
+    /**
+     * A constructor to initialise the lexer and parsing table to those provided and `stateStack` and `symbolStack` to
+     * be empty with the default capacity.
+     * @param lexer the lexer from which the parser receives tokens
+     * @param table the parsing table whose automaton the parser drives
+     */
+    public Parser(Lexer<TerminalTag> lexer, ParseTable<TerminalTag, NonterminalTag> table) {
+        this(lexer, table, DEFAULT_CAPACITY);
+    }
 
     /**
-     * A constructor to initialise the lexer to that provided and `stateStack` and `symbolStack` to be empty.
+     * A constructor to initialise the lexer and parsing table to those provided and `stateStack` and `symbolStack` to
+     * be empty with a capacity hint. For example, a long right-associative chain of `n` operators needs about `2n`.
+     * @param lexer the lexer from which the parser receives tokens
+     * @param table the parsing table whose automaton the parser drives
+     * @param capacity the initial capacity of the stacks (which grow beyond it as necessary)
      */
-    public Parser(Lexer<TerminalTag> lexer) {
+    @SuppressWarnings("unchecked")
+    public Parser(Lexer<TerminalTag> lexer, ParseTable<TerminalTag, NonterminalTag> table, int capacity) {
+        // assert that the stacks can hold at least the initial state and symbol
+        if (capacity < 1) {
+            throw new IllegalArgumentException("[Parser:Parser] Capacity must be positive.");
+        }
         this.lexer = lexer;
-        stateStack = new Stack<>();
-        symbolStack = new Stack<>();
+        // We suppress warnings for the unchecked cast because a token cursor's tag type is erased at runtime.
+        this.cursor = lexer instanceof TokenCursor<?> tokenCursor ? (TokenCursor<TerminalTag>) tokenCursor : null;
+        this.table = table;
+        stateStack = new int[capacity];
+        // We suppress warnings for the unchecked cast because Java cannot create an array of a generic type.
+        symbolStack = (Symbol<TerminalTag, NonterminalTag>[]) new Symbol<?, ?>[capacity];
     }
 
     /**
-     * Initialises the parser's state. For example, create all the `State` objects and respectively push to the state
-     * and symbol stacks a state and symbol that initialises the automaton. The SLR algorithm drives the automaton.
+     * Ensures that the stacks can hold at least a number of elements without growing. Never shrinks the stacks.
+     * @param capacity the minimum capacity of the stacks
      */
-    protected abstract void initialise();
+    public void ensureCapacity(int capacity) {
+        if (capacity > stateStack.length) {
+            stateStack = Arrays.copyOf(stateStack, capacity);
+            symbolStack = Arrays.copyOf(symbolStack, capacity);
+        }
+    }
+
+    /**
+     * @return whether the parser checks the shape of the symbols of every reduction
+     */
+    public boolean isValidating() {
+        return validating;
+    }
+
+    /**
+     * Sets whether the parser checks the shape of the symbols of every reduction. A parser that does not validate
+     * trusts the parsing table and reduces through a production's arity-specialised `reduce` method, which neither
+     * checks the symbols nor allocates a list of them.
+     * @param validating whether the parser checks the shape of the symbols of every reduction
+     */
+    public void setValidating(boolean validating) {
+        this.validating = validating;
+    }
+
+    /**
+     * @return the number of elements that the stacks can hold without growing
+     */
+    public int getCapacity() {
+        return stateStack.length;
+    }
+
+    /**
+     * Resets the parser's state so that it can parse another input (after its lexer has been reset to read the input):
+     * clears `accepted`, the stacks (releasing their symbols) and the current token. Keeps the stacks' capacity.
+     */
+    public void reset() {
+        accepted = false;
+        Arrays.fill(symbolStack, 0, stackSize, null);
+        stackSize = 0;
+        token = null;
+    }
+
+    /**
+     * Initialises the parser's state by respectively pushing to the state and symbol stacks the table's initial state
+     * and a `null` symbol. The SLR algorithm drives the automaton from there.
+     */
+    protected void initialise() {
+        // remove all existing states and symbols from the stacks
+        reset();
+        // push the initial state and an initial `null` symbol to the stacks
+        push(table.getInitialState(), null);
+    }
+
+    /**
+     * Pushes a state and its corresponding symbol to the stacks, doubling the stacks' capacity if they are full.
+     * @param state the number of a state
+     * @param symbol the state's corresponding symbol
+     */
+    private void push(int state, Symbol<TerminalTag, NonterminalTag> symbol) {
+        if (stackSize == stateStack.length) {
+            ensureCapacity(2 * stackSize);
+        }
+        stateStack[stackSize] = state;
+        symbolStack[stackSize] = symbol;
+        stackSize++;
+    }
 
     /**
      * Generates a parse tree from the lexer's token stream.
-     * Implements the SLR algorithm by driving `initialise`'s resulting automaton.
+     * Implements the SLR algorithm by driving the parsing table's automaton.
      * @return the parse tree (as a `Nonterminal` object)
      * @throws IOException the lexer throws an IO exception
      * @throws IllegalLexemeException the lexer throws an `IllegalLexemeException`
+     * @throws IllegalTokenException the parser encounters an invalid token
      */
     public Nonterminal<TerminalTag, NonterminalTag> run() throws
         IOException,
@@ -61,43 +170,109 @@ public abstract class Parser<TerminalTag, NonterminalTag> {
         initialise();
 
         // retrieve the first token
-        token = lexer.scan();
+        advanceToken();
         // The driver continues driving the automaton iff it does not accept the input.
         while (!accepted) {
-            // `tag` is the current token's tag. The tag is `null` is the token is `null`.
-            TerminalTag tag = token == null ? null : token.getTag();
-            // retrieve the action for the tag at the current state
-            Action action = stateStack.peek().getAction(tag);
+            // retrieve the encoded action for the current token's tag at the current state
+            int entry = table.getAction(stateStack[stackSize - 1], column);
             // execute the action
-            action.execute();
+            switch (ParseTable.getKind(entry)) {
+                case ParseTable.SHIFT -> shift(ParseTable.getOperand(entry));
+                case ParseTable.REDUCE -> reduce(table.getProduction(ParseTable.getOperand(entry)));
+                case ParseTable.ACCEPT -> accepted = true;
+                default -> throw table.getExceptionAction(ParseTable.getOperand(entry)).createException(
+                    lexer.getLineNumber(),
+                    lexer.getCharacterNumber()
+                );
+            }
         }
         // assert that the resulting symbol is a nonterminal
-        if (symbolStack.peek() instanceof Nonterminal<TerminalTag, NonterminalTag> rootNonterminal) {
+        if (symbolStack[stackSize - 1] instanceof Nonterminal<TerminalTag, NonterminalTag> rootNonterminal) {
             return rootNonterminal;
         }
         throw new IllegalStateException("[Parser:run] Root symbol cannot be a terminal.");
     }
 
+    /**
+     * Shifts the current token: pushes a state to the stack and advances the current token.
+     * @param nextState the number of the state to push to the stack
+     * @throws IOException the lexer throws an IO exception
+     * @throws IllegalLexemeException the lexer throws an `IllegalLexemeException`
+     */
+    private void shift(int nextState) throws IOException, IllegalLexemeException {
+        // push the next state and a terminal for the current token to the stacks
+        push(nextState, createTerminal(getToken()));
+        // advance the token
+        advanceToken();
+    }
+
+    /**
+     * Reduces by a production: combines top symbols on the stack to form the head of the production.
+     * @param production the production by which to combine symbols on the stack
+     */
+    private void reduce(Production<TerminalTag, NonterminalTag> production) {
+        // The production's symbols are the top `length` symbols on the stack, the first of which is at `base`.
+        int length = production.getLength();
+        int base = stackSize - length;
+
+        // construct a nonterminal from the symbol sequence
+        // We trust the symbol sequence's shape (as the parsing table guarantees) unless the parser validates.
+        // A production with no arity-specialised method always checks the symbol sequence's shape.
+        Nonterminal<TerminalTag, NonterminalTag> parentNonterminal = switch (validating ? -1 : length) {
+            case 1 -> production.reduce(symbolStack[base]);
+            case 2 -> production.reduce(symbolStack[base], symbolStack[base + 1]);
+            case 3 -> production.reduce(symbolStack[base], symbolStack[base + 1], symbolStack[base + 2]);
+            default -> production.createNonterminal(
+                new ArrayList<>(Arrays.asList(symbolStack).subList(base, stackSize))
+            );
+        };
+
+        // pop the production's symbols (releasing them) and states
+        Arrays.fill(symbolStack, base, stackSize, null);
+        stackSize = base;
+        // push the next state after encountering `production`'s head and the nonterminal to the stacks
+        push(table.getNextState(stateStack[base - 1], production.getTag()), parentNonterminal);
+    }
+
+    /**
+     * Creates the terminal to push to the symbol stack when the parser shifts a token. Defaults to a new terminal. A
+     * subclass can instead return a shared terminal (for example, for a token without attributes).
+     * @param token the shifted token
+     * @return a terminal whose token is equal to the token
+     */
+    protected Terminal<TerminalTag, NonterminalTag> createTerminal(Token<TerminalTag> token) {
+        return new Terminal<>(token);
+    }
+
     /**
      * Advances the current token.
      * @throws IOException the lexer throws an IO exception
      * @throws IllegalLexemeException the lexer throws an `IllegalLexemeException`
      */
     protected void advanceToken() throws IOException, IllegalLexemeException {
-        token = lexer.scan();
+        if (cursor != null) {
+            int ordinal = cursor.advance();
+            column = ordinal == TokenCursor.EOF ? table.getEndColumn() : ordinal;
+        } else {
+            token = lexer.scan();
+            column = table.getColumn(token == null ? null : token.getTag());
+        }
     }
 
     /**
-     * @return the current token
+     * @return the current token (which a token cursor materialises on every call)
      */
     protected Token<TerminalTag> getToken() {
-        return token;
+        return cursor != null ? cursor.currentToken() : token;
     }
 
     /**
      * A class to represent a shift action that advances the current token and pushes a state to the stack.
      */
-    protected class ShiftAction extends OptionallyNamed implements Action {
+    protected static class ShiftAction<TerminalTag, NonterminalTag>
+        extends OptionallyNamed
+        implements Action<TerminalTag, NonterminalTag>
+    {
 
         // the state to push to the stack
         private final State<TerminalTag, NonterminalTag> nextState;
@@ -112,25 +287,20 @@ public abstract class Parser<TerminalTag, NonterminalTag> {
         }
 
         /**
-         * Executes this action. Pushes the next state to the stack and advances the current token.
-         * @throws IOException the lexer's reader throws an IO exception
-         * @throws IllegalLexemeException the lexer encounters an invalid token
+         * @return the state to push to the stack
          */
-        @Override
-        public void execute() throws IOException, IllegalLexemeException {
-            // push the next state to the stack
-            stateStack.push(nextState);
-            // construct a terminal from the current token and push it to the symbol stack
-            symbolStack.push(new Terminal<>(getToken()));
-            // advance the token
-            advanceToken();
+        public State<TerminalTag, NonterminalTag> getNextState() {
+            return nextState;
         }
     }
 
     /**
      * A class to represent a reduce action that combines symbols on the stack to form a production's nonterminal head.
      */
-    protected class ReduceAction extends OptionallyNamed implements Action {
+    protected static class ReduceAction<TerminalTag, NonterminalTag>
+        extends OptionallyNamed
+        implements Action<TerminalTag, NonterminalTag>
+    {
 
         private final Production<TerminalTag, NonterminalTag> production;
 
@@ -145,32 +315,20 @@ public abstract class Parser<TerminalTag, NonterminalTag> {
         }
 
         /**
-         * Executes this action. Combines top symbols on the stack to form the head of this action's production.
+         * @return the production by which to combine symbols on the stack
          */
-        @Override
-        public void execute() {
-            // collect as many symbols from the top of stack as the `production`'s length
-            LinkedList<Symbol<TerminalTag, NonterminalTag>> children = new LinkedList<>();
-            for (int index = 0; index < production.getLength(); index++) {
-                stateStack.pop();
-                children.push(symbolStack.pop());
-            }
-
-            // retrieve the next state after encountering `production`'s head and push it onto the stack
-            NonterminalTag productionTag = production.getTag();
-            State<TerminalTag, NonterminalTag> nextState = stateStack.peek().getNextState(productionTag);
-            stateStack.push(nextState);
-
-            // construct a nonterminal from the symbol sequence and push it to the symbol stack
-            Nonterminal<TerminalTag, NonterminalTag> parentNonterminal = production.createNonterminal(children);
-            symbolStack.push(parentNonterminal);
+        public Production<TerminalTag, NonterminalTag> getProduction() {
+            return production;
         }
     }
 
     /**
      * A class to represent an exception action (an action that throws an `IllegalTokenException`).
      */
-    protected abstract class ExceptionAction extends OptionallyNamed implements Action {
+    protected abstract static class ExceptionAction<TerminalTag, NonterminalTag>
+        extends OptionallyNamed
+        implements Action<TerminalTag, NonterminalTag>
+    {
 
         /**
          * Initialises this action's name to be "[EXCEPTION `exceptionName`]".
@@ -179,9 +337,19 @@ public abstract class Parser<TerminalTag, NonterminalTag> {
         public ExceptionAction(String exceptionName) {
             super(String.format("[EXCEPTION %s]", exceptionName));
         }
+
+        /**
+         * Creates this action's exception.
+         * @param lineNumber the lexer's current line number
+         * @param characterNumber the lexer's current character number
+         * @return the resulting exception
+         */
+        public abstract IllegalTokenException createException(int lineNumber, int characterNumber);
     }
 
-    protected class ExpectedOperatorExceptionAction extends ExceptionAction {
+    protected static class ExpectedOperatorExceptionAction<TerminalTag, NonterminalTag>
+        extends ExceptionAction<TerminalTag, NonterminalTag>
+    {
 
         // the description of this action's exception
         private final String description;
@@ -196,23 +364,27 @@ public abstract class Parser<TerminalTag, NonterminalTag> {
         }
 
         /**
-         * Executes this action by throwing an `ExpectedOperatorException` that includes this action's description and
-         * the lexer's current line and character numbers.
-         * @throws ExpectedOperatorException this action always throws an `ExpectedOperatorException`
+         * Creates an `ExpectedOperatorException` that includes this action's description and the lexer's current line
+         * and character numbers.
+         * @param lineNumber the lexer's current line number
+         * @param characterNumber the lexer's current character number
+         * @return the resulting `ExpectedOperatorException`
          */
         @Override
-        public void execute() throws ExpectedOperatorException {
-            throw new ExpectedOperatorException(
+        public ExpectedOperatorException createException(int lineNumber, int characterNumber) {
+            return new ExpectedOperatorException(
                 "ExpectedOperatorExceptionAction",
                 "execute",
-                lexer.getLineNumber(),
-                lexer.getCharacterNumber(),
+                lineNumber,
+                characterNumber,
                 description
             );
         }
     }
 
-    protected class ExpectedOperandExceptionAction extends ExceptionAction {
+    protected static class ExpectedOperandExceptionAction<TerminalTag, NonterminalTag>
+        extends ExceptionAction<TerminalTag, NonterminalTag>
+    {
 
         // the description of this action's exception
         private final String description;
@@ -227,34 +399,34 @@ public abstract class Parser<TerminalTag, NonterminalTag> {
         }
 
         /**
-         * Executes this action by throwing an `ExpectedOperandException` that includes this action's description and
-         * the lexer's current line and character numbers.
-         * @throws ExpectedOperandException this action always throws an `ExpectedOperandException`
+         * Creates an `ExpectedOperandException` that includes this action's description and the lexer's current line
+         * and character numbers.
+         * @param lineNumber the lexer's current line number
+         * @param characterNumber the lexer's current character number
+         * @return the resulting `ExpectedOperandException`
          */
         @Override
-        public void execute() throws ExpectedOperandException {
-            throw new ExpectedOperandException(
+        public ExpectedOperandException createException(int lineNumber, int characterNumber) {
+            return new ExpectedOperandException(
                     "ExpectedOperandExceptionAction",
                     "execute",
-                    lexer.getLineNumber(),
-                    lexer.getCharacterNumber(),
+                    lineNumber,
+                    characterNumber,
                     description
             );
         }
     }
 
-    protected class AcceptAction extends OptionallyNamed implements Action {
+    /**
+     * A class to represent an accept action that sets the driver to accept the input.
+     */
+    protected static class AcceptAction<TerminalTag, NonterminalTag>
+        extends OptionallyNamed
+        implements Action<TerminalTag, NonterminalTag>
+    {
 
         public AcceptAction() {
             super("[ACCEPT]");
         }
-
-        /**
-         * Executes the action by setting the driver to accept the input.
-         */
-        @Override
-        public void execute() {
-            accepted = true;
-        }
     }
 }
@@ -0,0 +1,112 @@
+package parser;
+
+import java.io.IOException;
+
+import lexer.ExpressionLexer;
+import lexer.IllegalLexemeException;
+import lexer.token.ExpressionTokenTag;
+
+import parser.symbol.ExpressionNonterminal;
+import parser.symbol.ExpressionNonterminalTag;
+import parser.symbol.Nonterminal;
+
+/**
+ * A class to represent a reusable set of an `ExpressionLexer` with an `ExpressionParser` and an `ExpressionEvaluator`
+ * that read from it. Each call resets the lexer and the driver for its input, so a caller that parses or evaluates
+ * many inputs allocates only the results (a parse tree, or nothing at all for a value). A caller can also evaluate an
+ * input by the reduction plan of its shape from a shared `PlanCache`, which skips the automaton for a known shape.
+ * A context is thread-confined: it is not safe for concurrent use. `current` retrieves the calling thread's context.
+ */
+public final class ParserContext {
+
+    // the contexts of the threads, each created on its thread's first use
+    private static final ThreadLocal<ParserContext> CONTEXTS = ThreadLocal.withInitial(ParserContext::new);
+
+    // the lexer from which the parser and the evaluator receive tokens
+    private final ExpressionLexer lexer;
+    // the parser and the evaluator, which drive the shared parsing table
+    private final ExpressionParser parser;
+    private final ExpressionEvaluator evaluator;
+    // the evaluator by reduction plans, which falls back to `evaluator`
+    private final PlanEvaluator planEvaluator;
+
+    /**
+     * Initialises this context's lexer, parser and evaluator.
+     */
+    public ParserContext() {
+        try {
+            lexer = new ExpressionLexer("");
+        } catch (IOException exception) {
+            // a lexer reading an empty string does not throw an IO exception
+            throw new IllegalStateException("[ParserContext:ParserContext] Lexer cannot read an empty input.");
+        }
+        parser = new ExpressionParser(lexer);
+        evaluator = new ExpressionEvaluator(lexer);
+        planEvaluator = new PlanEvaluator(lexer, evaluator);
+    }
+
+    /**
+     * @return the context of the calling thread
+     */
+    public static ParserContext current() {
+        return CONTEXTS.get();
+    }
+
+    /**
+     * Generates a parse tree from an input.
+     * @param input an input character sequence
+     * @return the resulting parse tree
+     * @throws IOException the lexer throws an IO exception
+     * @throws IllegalLexemeException the lexer throws an `IllegalLexemeException`
+     * @throws IllegalTokenException the parser encounters an invalid token
+     */
+    public ExpressionNonterminal parse(CharSequence input) throws
+        IOException,
+        IllegalLexemeException,
+        IllegalTokenException
+    {
+        lexer.reset(input);
+        try {
+            Nonterminal<ExpressionTokenTag, ExpressionNonterminalTag> nonterminal = parser.run();
+            // assert that the nonterminal is an `ExpressionNonterminal` (as ensured by the productions' return types)
+            if (nonterminal instanceof ExpressionNonterminal expressionNonterminal) {
+                return expressionNonterminal;
+            }
+            throw new IllegalStateException("[ParserContext:parse] Root symbol must be an `ExpressionNonterminal`.");
+        } finally {
+            // release the parse tree from the parser's stacks
+            parser.reset();
+        }
+    }
+
+    /**
+     * Computes the value of an input's expression without generating a parse tree.
+     * @param input an input character sequence
+     * @return the expression's value
+     * @throws IOException the lexer throws an IO exception
+     * @throws IllegalLexemeException the lexer throws an `IllegalLexemeException`
+     * @throws IllegalTokenException the evaluator encounters an invalid token
+     */
+    public double evaluate(CharSequence input) throws IOException, IllegalLexemeException, IllegalTokenException {
+        lexer.reset(input);
+        return evaluator.run();
+    }
+
+    /**
+     * Computes the value of an input's expression by the reduction plan of its shape, recording the plan in a cache if
+     * the cache has none. Returns and throws exactly what `evaluate(input)` would.
+     * @param input an input character sequence
+     * @param cache a cache of reduction plans (which many contexts can share)
+     * @return the expression's value
+     * @throws IOException the lexer throws an IO exception
+     * @throws IllegalLexemeException the lexer throws an `IllegalLexemeException`
+     * @throws IllegalTokenException the evaluator encounters an invalid token
+     */
+    public double evaluate(CharSequence input, PlanCache cache) throws
+        IOException,
+        IllegalLexemeException,
+        IllegalTokenException
+    {
+        return planEvaluator.evaluate(input, cache);
+    }
+}
@@ -0,0 +1,167 @@
+package parser;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A class to represent a bounded, thread-safe cache of reduction plans keyed by expression shape (the sequence of an
+ * expression's token tags). `ParserContext.evaluate(input, cache)` looks an input's shape up before driving the
+ * parsing table's automaton, so inputs that differ only in their numbers parse once per shape.
+ * The cache is a two-way set-associative table of a fixed number of slots indexed by the shape's hash: a shape's plan
+ * is in one of the two slots of its set, so a lookup is at most two atomic reads and an insertion a single atomic
+ * write, and a plan evicts a plan in its set only if both slots are full. A plan is found only if its tags equal the
+ * input's, so a hash collision costs a miss but never a wrong value.
+ * The cache counts its hits, misses and evictions and estimates the memory that its plans occupy.
+ */
+public final class PlanCache {
+
+    // the default number of slots
+    public static final int DEFAULT_CAPACITY = 4096;
+    // the number of slots in a set
+    private static final int WAY_COUNT = 2;
+
+    // the slots
+    private final AtomicReferenceArray<ReductionPlan> slots;
+    // the mask of a slot's index
+    private final int mask;
+    // the counters of hits, misses and evictions
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    // the number of plans and their estimated size in bytes
+    private final AtomicInteger planCount = new AtomicInteger();
+    private final AtomicLong memoryUsage = new AtomicLong();
+
+    /**
+     * Initialises this cache with the default number of slots.
+     */
+    public PlanCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initialises this cache with a number of slots.
+     * @param capacity the number of slots (a power of two of at least `2`), which bounds the number of plans
+     */
+    public PlanCache(int capacity) {
+        if (capacity < WAY_COUNT || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("[PlanCache:PlanCache] Capacity must be a power of two of at least 2.");
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * @param hash a shape's hash
+     * @return the index of the first slot of the shape's set (the second slot is the next one)
+     */
+    private int getIndex(long hash) {
+        // fold the hash's high bits (which its final multiplication mixes best) into its low bits
+        return (int) (hash ^ hash >>> 32) & mask & ~1;
+    }
+
+    /**
+     * Finds the plan of a shape, counting a hit or a miss.
+     * @param hash the shape's hash
+     * @param tags an array whose first `length` elements are the ordinals of the shape's tags
+     * @param length the shape's length
+     * @return the shape's plan, or `null` if the cache has none
+     */
+    ReductionPlan find(long hash, byte[] tags, int length) {
+        int index = getIndex(hash);
+        for (int slot = index; slot < index + WAY_COUNT; slot++) {
+            ReductionPlan plan = slots.get(slot);
+            if (plan != null && plan.matches(hash, tags, length)) {
+                hitCount.increment();
+                return plan;
+            }
+        }
+        missCount.increment();
+        return null;
+    }
+
+    /**
+     * Stores a plan in an empty slot of its set, or else evicts a plan in the set, choosing the slot by another bit of
+     * the plan's hash. If the set already holds a plan of the same shape (which another thread recorded concurrently),
+     * the cache keeps that plan, and a plan that replaces one of its own shape in a race does not count as an eviction.
+     * @param plan a plan
+     */
+    void put(ReductionPlan plan) {
+        int index = getIndex(plan.getHash());
+        int target = -1;
+        for (int slot = index; slot < index + WAY_COUNT; slot++) {
+            ReductionPlan current = slots.get(slot);
+            if (current == null) {
+                target = target < 0 ? slot : target;
+            } else if (current.matches(plan)) {
+                return;
+            }
+        }
+        if (target < 0) {
+            target = index + (int) (plan.getHash() >>> 63);
+        }
+        ReductionPlan evicted = slots.getAndSet(target, plan);
+        if (evicted == null) {
+            planCount.incrementAndGet();
+            memoryUsage.addAndGet(plan.getMemoryUsage());
+        } else {
+            if (!evicted.matches(plan)) {
+                evictionCount.increment();
+            }
+            memoryUsage.addAndGet(plan.getMemoryUsage() - evicted.getMemoryUsage());
+        }
+    }
+
+    /**
+     * @return the number of slots, which bounds the number of plans
+     */
+    public int getCapacity() {
+        return slots.length();
+    }
+
+    /**
+     * @return the number of lookups that found a plan
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return the number of lookups that found no plan
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return the ratio of hits to lookups, or `0` if there have been no lookups
+     */
+    public double getHitRatio() {
+        long hits = getHitCount();
+        long lookups = hits + getMissCount();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * @return the number of plans that other plans replaced in their slots
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * @return the number of plans in the cache
+     */
+    public int getPlanCount() {
+        return planCount.get();
+    }
+
+    /**
+     * @return the estimated number of bytes that the cache's plans occupy (excluding the slots themselves)
+     */
+    public long getMemoryUsage() {
+        return memoryUsage.get();
+    }
+}
@@ -0,0 +1,231 @@
+package parser;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import lexer.ExpressionLexer;
+import lexer.IllegalLexemeException;
+import lexer.TokenCursor;
+import lexer.token.ExpressionTokenTag;
+
+import parser.production.ExpressionProduction;
+import parser.symbol.ExpressionNonterminalTag;
+
+/**
+ * A class to represent an evaluator that computes an expression's value by the reduction plan of its shape (see
+ * `PlanCache`).
+ * The evaluator lexes the whole input first, collecting the tags' ordinals and the numbers' values and computing the
+ * rolling hash of the tags as it goes. On a hit, it runs the cached plan over the numbers. On a miss, it drives the
+ * parsing table's automaton over the collected tags to record the shape's plan, caches the plan and runs it.
+ * If the lexer or the automaton rejects the input, the evaluator evaluates the input again with an
+ * `ExpressionEvaluator`, so it throws exactly the exception (at exactly the position) that the evaluator would, even
+ * if the input has both a lexical and a syntactic error. An evaluator is thread-confined; its cache can be shared.
+ */
+final class PlanEvaluator {
+
+    // the multiplier of the rolling hash (the golden ratio's fraction of 2^64, which is odd)
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    // the ordinal of the number tag
+    private static final int NUMBER_ORDINAL = ExpressionTokenTag.NUMBER.ordinal();
+
+    // the lexer from which the evaluator receives tokens
+    private final ExpressionLexer lexer;
+    // the evaluator that reports rejected inputs
+    private final ExpressionEvaluator fallback;
+    // the parsing table whose automaton the evaluator drives on a miss
+    private final ParseTable<ExpressionTokenTag, ExpressionNonterminalTag> table;
+    // the table's productions, indexed by their numbers
+    private final ExpressionProduction[] productions;
+    // the ordinals of the input's tags and their number
+    private byte[] tags = new byte[Parser.DEFAULT_CAPACITY];
+    private int tagCount = 0;
+    // the values of the input's numbers and their number
+    private double[] numbers = new double[Parser.DEFAULT_CAPACITY];
+    private int numberCount = 0;
+    // the rolling hash of the input's tags
+    private long hash = 0;
+    // the stack of states while the evaluator records a plan
+    private int[] stateStack = new int[Parser.DEFAULT_CAPACITY];
+    // the codes of the plan that the evaluator records
+    private byte[] program = new byte[2 * Parser.DEFAULT_CAPACITY];
+    // the stack of values while a plan runs
+    private double[] valueStack = new double[Parser.DEFAULT_CAPACITY];
+
+    /**
+     * Initialises this evaluator's lexer and fallback evaluator, which must read from the same lexer.
+     * @param lexer a lexer
+     * @param fallback an evaluator that reads from the lexer
+     */
+    PlanEvaluator(ExpressionLexer lexer, ExpressionEvaluator fallback) {
+        this.lexer = lexer;
+        this.fallback = fallback;
+        this.table = ExpressionParser.getTable();
+        this.productions = ExpressionEvaluator.getExpressionProductions(table);
+    }
+
+    /**
+     * Computes the value of an input's expression by its shape's plan.
+     * @param input an input character sequence
+     * @param cache the cache of plans
+     * @return the expression's value
+     * @throws IOException the lexer throws an IO exception
+     * @throws IllegalLexemeException the lexer throws an `IllegalLexemeException`
+     * @throws IllegalTokenException the automaton encounters an invalid token
+     */
+    double evaluate(CharSequence input, PlanCache cache) throws
+        IOException,
+        IllegalLexemeException,
+        IllegalTokenException
+    {
+        ReductionPlan plan = scan(input) ? findPlan(cache) : null;
+        if (plan == null) {
+            return reject(input);
+        }
+        if (valueStack.length < plan.getMaxDepth()) {
+            valueStack = new double[plan.getMaxDepth()];
+        }
+        return plan.evaluate(numbers, valueStack, productions);
+    }
+
+    /**
+     * Lexes a whole input, collecting its tags' ordinals and its numbers' values (see `getNumbers`).
+     * @param input an input character sequence
+     * @return whether the lexer accepts the input
+     * @throws IOException the lexer throws an IO exception
+     */
+    boolean scan(CharSequence input) throws IOException {
+        lexer.reset(input);
+        try {
+            hash = collect();
+            return true;
+        } catch (IllegalLexemeException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Finds the plan of the scanned input's shape in a cache, or records it and stores it in the cache.
+     * @param cache the cache of plans
+     * @return the plan, or `null` if the automaton rejects the shape
+     */
+    ReductionPlan findPlan(PlanCache cache) {
+        ReductionPlan plan = cache.find(hash, tags, tagCount);
+        if (plan == null) {
+            plan = record(hash);
+            if (plan != null) {
+                cache.put(plan);
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * @return an array whose first elements are the scanned input's numbers (which the next scan overwrites)
+     */
+    double[] getNumbers() {
+        return numbers;
+    }
+
+    /**
+     * @return the table's productions, indexed by their numbers
+     */
+    ExpressionProduction[] getProductions() {
+        return productions;
+    }
+
+    /**
+     * Evaluates a rejected input again with the fallback evaluator, which throws the input's exception.
+     * @param input the input
+     * @return the input's value (if the fallback evaluator accepts it after all)
+     */
+    double reject(CharSequence input) throws IOException, IllegalLexemeException, IllegalTokenException {
+        lexer.reset(input);
+        return fallback.run();
+    }
+
+    /**
+     * Lexes the whole input, collecting the tags' ordinals and the numbers' values.
+     * @return the rolling hash of the tags
+     * @throws IOException the lexer throws an IO exception
+     * @throws IllegalLexemeException the lexer throws an `IllegalLexemeException`
+     */
+    private long collect() throws IOException, IllegalLexemeException {
+        tagCount = 0;
+        numberCount = 0;
+        long hash = 0;
+        for (int ordinal = lexer.advance(); ordinal != TokenCursor.EOF; ordinal = lexer.advance()) {
+            if (tagCount == tags.length) {
+                tags = Arrays.copyOf(tags, 2 * tagCount);
+            }
+            tags[tagCount++] = (byte) ordinal;
+            hash = (hash ^ (ordinal + 1)) * HASH_MULTIPLIER;
+            if (ordinal == NUMBER_ORDINAL) {
+                if (numberCount == numbers.length) {
+                    numbers = Arrays.copyOf(numbers, 2 * numberCount);
+                }
+                numbers[numberCount++] = lexer.numberValue();
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Drives the automaton over the collected tags to record their plan.
+     * @param hash the tags' hash
+     * @return the plan, or `null` if the automaton rejects the tags
+     */
+    private ReductionPlan record(long hash) {
+        int stackSize = 0;
+        int maxDepth = 0;
+        int programLength = 0;
+        stateStack[stackSize++] = table.getInitialState();
+        int position = 0;
+        while (true) {
+            int column = position < tagCount ? tags[position] : table.getEndColumn();
+            int entry = table.getAction(stateStack[stackSize - 1], column);
+            int kind = ParseTable.getKind(entry);
+            if (kind == ParseTable.ACCEPT) {
+                return new ReductionPlan(
+                    hash,
+                    Arrays.copyOf(tags, tagCount),
+                    Arrays.copyOf(program, programLength),
+                    numberCount,
+                    maxDepth
+                );
+            } else if (kind == ParseTable.ERROR) {
+                return null;
+            }
+            if (programLength == program.length) {
+                program = Arrays.copyOf(program, 2 * programLength);
+            }
+            if (kind == ParseTable.SHIFT) {
+                program[programLength++] = column == NUMBER_ORDINAL
+                    ? ReductionPlan.SHIFT_NUMBER
+                    : ReductionPlan.SHIFT_OPERATOR;
+                push(stackSize++, ParseTable.getOperand(entry));
+                position++;
+            } else {
+                int productionNumber = ParseTable.getOperand(entry);
+                program[programLength++] = (byte) productionNumber;
+                ExpressionProduction production = productions[productionNumber];
+                int base = stackSize - production.getLength();
+                stackSize = base;
+                push(stackSize++, table.getNextState(stateStack[base - 1], production.getTag()));
+            }
+            // the value stack of a plan has no entry for the initial state
+            maxDepth = Math.max(maxDepth, stackSize - 1);
+        }
+    }
+
+    /**
+     * Stores a state in the state stack, doubling the stack's capacity if it is full.
+     * @param index the state's index in the stack
+     * @param state the number of the state
+     */
+    private void push(int index, int state) {
+        if (index == stateStack.length) {
+            stateStack = Arrays.copyOf(stateStack, 2 * index);
+        }
+        stateStack[index] = state;
+    }
+}
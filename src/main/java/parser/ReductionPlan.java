@@ -0,0 +1,138 @@
+package parser;
+
+import java.util.Arrays;
+
+import parser.production.ExpressionProduction;
+
+/**
+ * A class to represent the reduction plan of an expression shape: the sequence of shifts and reductions by which the
+ * parsing table's automaton accepts a sequence of token tags. The automaton's actions depend only on the tags (not on
+ * the numbers' values), so a plan evaluates every expression of its shape: it pushes the numbers in order and reduces
+ * by each production's `evaluate` method exactly as an `ExpressionEvaluator` would, without any states or table
+ * lookups. A plan is immutable, so many threads can share it.
+ */
+final class ReductionPlan {
+
+    // the program's codes for shifting a number and an operator (any other code is the number of a production)
+    static final byte SHIFT_NUMBER = -1;
+    static final byte SHIFT_OPERATOR = -2;
+    // the estimated size of a plan object (without its arrays) and of an array's header in bytes
+    private static final int OBJECT_SIZE = 40;
+    private static final int ARRAY_HEADER_SIZE = 16;
+
+    // the hash of the shape's tags (see `PlanEvaluator`)
+    private final long hash;
+    // the ordinals of the shape's tags
+    private final byte[] tags;
+    // the codes of the shifts and reductions
+    private final byte[] program;
+    // the number of numbers in the shape
+    private final int numberCount;
+    // the maximum depth of the value stack while the plan runs
+    private final int maxDepth;
+
+    /**
+     * Initialises this plan's shape and program.
+     * @param hash the hash of the shape's tags
+     * @param tags the ordinals of the shape's tags
+     * @param program the codes of the shifts and reductions
+     * @param numberCount the number of numbers in the shape
+     * @param maxDepth the maximum depth of the value stack while the plan runs
+     */
+    ReductionPlan(long hash, byte[] tags, byte[] program, int numberCount, int maxDepth) {
+        this.hash = hash;
+        this.tags = tags;
+        this.program = program;
+        this.numberCount = numberCount;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * @return the hash of the shape's tags
+     */
+    long getHash() {
+        return hash;
+    }
+
+    /**
+     * @return the number of numbers in the shape
+     */
+    int getNumberCount() {
+        return numberCount;
+    }
+
+    /**
+     * @return the maximum depth of the value stack while the plan runs
+     */
+    int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * @return the codes of the shifts and reductions (which the caller must not modify)
+     */
+    byte[] getProgram() {
+        return program;
+    }
+
+    /**
+     * Checks whether the plan's shape is a sequence of tags.
+     * @param hash the sequence's hash
+     * @param tags an array whose first `length` elements are the ordinals of the sequence's tags
+     * @param length the sequence's length
+     * @return whether the shape is the sequence
+     */
+    boolean matches(long hash, byte[] tags, int length) {
+        return this.hash == hash && Arrays.equals(this.tags, 0, this.tags.length, tags, 0, length);
+    }
+
+    /**
+     * @param plan a plan
+     * @return whether the plan is of this plan's shape
+     */
+    boolean matches(ReductionPlan plan) {
+        return matches(plan.hash, plan.tags, plan.tags.length);
+    }
+
+    /**
+     * Computes the value of an expression of the plan's shape.
+     * @param numbers the expression's numbers in order
+     * @param values a value stack with at least `getMaxDepth()` elements
+     * @param productions the parsing table's productions, indexed by their numbers
+     * @return the expression's value
+     */
+    double evaluate(double[] numbers, double[] values, ExpressionProduction[] productions) {
+        int size = 0;
+        int numberIndex = 0;
+        for (byte code : program) {
+            if (code == SHIFT_NUMBER) {
+                values[size++] = numbers[numberIndex++];
+            } else if (code == SHIFT_OPERATOR) {
+                // the value of an operator is unspecified
+                values[size++] = 0;
+            } else {
+                // combine the production's values to form its head's value, as `ExpressionEvaluator` does
+                ExpressionProduction production = productions[code];
+                int base = size - production.getLength();
+                values[base] = production.evaluate(values, base);
+                size = base + 1;
+            }
+        }
+        return values[0];
+    }
+
+    /**
+     * @return the estimated number of bytes that the plan occupies
+     */
+    long getMemoryUsage() {
+        return OBJECT_SIZE + getArraySize(tags.length) + getArraySize(program.length);
+    }
+
+    /**
+     * @param length the length of a byte array
+     * @return the estimated number of bytes that the array occupies
+     */
+    private static long getArraySize(int length) {
+        return ARRAY_HEADER_SIZE + ((length + 7L) & ~7L);
+    }
+}
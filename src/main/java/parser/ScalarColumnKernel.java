@@ -0,0 +1,40 @@
+package parser;
+
+/**
+ * A class to represent the column kernel of plain loops, whose results equal the productions' `evaluate` methods' bit
+ * for bit (the JIT compiler may still vectorise the sums and differences).
+ */
+final class ScalarColumnKernel implements ColumnKernel {
+
+    // the kernel, which has no state
+    static final ScalarColumnKernel INSTANCE = new ScalarColumnKernel();
+
+    private ScalarColumnKernel() {
+    }
+
+    @Override
+    public void add(double[] first, double[] second, double[] result, int length) {
+        for (int index = 0; index < length; index++) {
+            result[index] = first[index] + second[index];
+        }
+    }
+
+    @Override
+    public void subtract(double[] first, double[] second, double[] result, int length) {
+        for (int index = 0; index < length; index++) {
+            result[index] = first[index] - second[index];
+        }
+    }
+
+    @Override
+    public void power(double[] first, double[] second, double[] result, int length) {
+        for (int index = 0; index < length; index++) {
+            result[index] = Math.pow(first[index], second[index]);
+        }
+    }
+
+    @Override
+    public boolean isVectorized() {
+        return false;
+    }
+}
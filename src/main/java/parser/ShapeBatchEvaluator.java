@@ -0,0 +1,257 @@
+package parser;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lexer.ExpressionLexer;
+import main.UnpositionedException;
+
+import parser.production.ExpressionProduction;
+import parser.production.MinusProduction;
+import parser.production.NumberProduction;
+import parser.production.PlusProduction;
+import parser.production.PowerProduction;
+
+/**
+ * A class to represent an evaluator that computes a batch of expressions shape by shape. It lexes each input and
+ * finds its shape's reduction plan in a `PlanCache` (so the automaton parses each shape once), and groups the inputs
+ * by plan, storing each group's numbers as columns: one array per number position, with one lane per input. It then
+ * runs each plan once over its group's columns, so a sum, difference or power is a single `ColumnKernel` call over
+ * all the group's lanes, while a cosine or factorial computes lane by lane with its production's `evaluate` method.
+ * The kernel uses the incubating vector API if the JVM resolves `jdk.incubator.vector`, and plain loops otherwise.
+ * An input that the lexer or the automaton rejects is evaluated again by an `ExpressionEvaluator`, and a lane whose
+ * factorial fails keeps the production's exception, so each input fails with exactly the exception that the evaluator
+ * would throw. An evaluator is thread-confined; its cache can be shared.
+ */
+public final class ShapeBatchEvaluator {
+
+    // the initial number of lanes of a group
+    private static final int INITIAL_LANE_COUNT = 16;
+
+    // the evaluator that lexes inputs and finds their plans (and reports rejected inputs)
+    private final PlanEvaluator planEvaluator;
+    // the cache of plans
+    private final PlanCache cache;
+    // the arithmetic over columns
+    private final ColumnKernel kernel;
+    // the table's productions, indexed by their numbers
+    private final ExpressionProduction[] productions;
+
+    /**
+     * Initialises this evaluator with a cache of its own and the default kernel.
+     */
+    public ShapeBatchEvaluator() {
+        this(new PlanCache());
+    }
+
+    /**
+     * Initialises this evaluator with a cache of plans and the default kernel.
+     * @param cache a cache of plans, which other evaluators may share
+     */
+    public ShapeBatchEvaluator(PlanCache cache) {
+        this(cache, ColumnKernel.getDefault());
+    }
+
+    /**
+     * Initialises this evaluator with a cache of plans and a kernel.
+     * @param cache a cache of plans
+     * @param kernel a column kernel
+     */
+    ShapeBatchEvaluator(PlanCache cache, ColumnKernel kernel) {
+        if (cache == null) {
+            throw new IllegalArgumentException("[ShapeBatchEvaluator:ShapeBatchEvaluator] Cache cannot be null.");
+        }
+        ExpressionLexer lexer;
+        try {
+            lexer = new ExpressionLexer("");
+        } catch (IOException exception) {
+            // a lexer reading an empty string does not throw an IO exception
+            throw new IllegalStateException(
+                "[ShapeBatchEvaluator:ShapeBatchEvaluator] Lexer cannot read an empty input."
+            );
+        }
+        this.planEvaluator = new PlanEvaluator(lexer, new ExpressionEvaluator(lexer));
+        this.cache = cache;
+        this.kernel = kernel;
+        this.productions = planEvaluator.getProductions();
+    }
+
+    /**
+     * @return the cache of plans
+     */
+    public PlanCache getPlanCache() {
+        return cache;
+    }
+
+    /**
+     * @return whether the evaluator's arithmetic uses the vector API
+     */
+    public boolean isVectorized() {
+        return kernel.isVectorized();
+    }
+
+    /**
+     * Computes the values of a batch of expressions.
+     * @param inputs the input character sequences
+     * @param failures an array with at least as many elements as `inputs`, whose element at an input's index becomes
+     * the exception that evaluating the input throws, or `null` if it succeeds
+     * @return the inputs' values in order, with `NaN` for an input that fails
+     */
+    public double[] evaluate(List<? extends CharSequence> inputs, Exception[] failures) {
+        if (inputs == null || failures == null || failures.length < inputs.size()) {
+            throw new IllegalArgumentException(
+                "[ShapeBatchEvaluator:evaluate] Inputs and a failure array at least as long cannot be null."
+            );
+        }
+        int inputCount = inputs.size();
+        double[] values = new double[inputCount];
+        Arrays.fill(failures, 0, inputCount, null);
+        // group the inputs by plan (whose identity is its shape's as long as the cache keeps it)
+        Map<ReductionPlan, ShapeGroup> groups = new IdentityHashMap<>();
+        for (int index = 0; index < inputCount; index++) {
+            CharSequence input = inputs.get(index);
+            try {
+                ReductionPlan plan = planEvaluator.scan(input) ? planEvaluator.findPlan(cache) : null;
+                if (plan == null) {
+                    values[index] = planEvaluator.reject(input);
+                } else {
+                    groups.computeIfAbsent(plan, ShapeGroup::new).add(index, planEvaluator.getNumbers());
+                }
+            } catch (Exception exception) {
+                failures[index] = exception;
+                values[index] = Double.NaN;
+            }
+        }
+        for (ShapeGroup group : groups.values()) {
+            evaluate(group, values, failures);
+        }
+        return values;
+    }
+
+    /**
+     * Runs a group's plan over its columns and stores the lanes' values (or `NaN` for the lanes that fail).
+     * @param group a group
+     * @param values the inputs' values
+     * @param failures the inputs' exceptions
+     */
+    private void evaluate(ShapeGroup group, double[] values, Exception[] failures) {
+        int laneCount = group.laneCount;
+        // the stack of columns, whose operator entries are `null` (each column appears once, so a kernel can overwrite
+        // its first operand)
+        double[][] columns = new double[group.plan.getMaxDepth()][];
+        int size = 0;
+        int numberIndex = 0;
+        for (byte code : group.plan.getProgram()) {
+            if (code == ReductionPlan.SHIFT_NUMBER) {
+                columns[size++] = group.columns[numberIndex++];
+            } else if (code == ReductionPlan.SHIFT_OPERATOR) {
+                columns[size++] = null;
+            } else {
+                ExpressionProduction production = productions[code];
+                int base = size - production.getLength();
+                if (production instanceof PlusProduction) {
+                    kernel.add(columns[base], columns[base + 2], columns[base], laneCount);
+                } else if (production instanceof MinusProduction) {
+                    kernel.subtract(columns[base], columns[base + 2], columns[base], laneCount);
+                } else if (production instanceof PowerProduction) {
+                    kernel.power(columns[base], columns[base + 2], columns[base], laneCount);
+                } else if (!(production instanceof NumberProduction)) {
+                    // a number's value is its literal's, so only the other productions compute lane by lane
+                    columns[base] = evaluateLanes(production, columns, base, group, failures);
+                }
+                size = base + 1;
+            }
+        }
+        for (int lane = 0; lane < laneCount; lane++) {
+            int index = group.indices[lane];
+            values[index] = failures[index] == null ? columns[0][lane] : Double.NaN;
+        }
+    }
+
+    /**
+     * Reduces the top columns of the stack by a production lane by lane, keeping the first exception of each lane.
+     * @param production the production
+     * @param columns the stack of columns
+     * @param base the index in `columns` of the column of the production's first symbol
+     * @param group the group
+     * @param failures the inputs' exceptions
+     * @return the column of the head's values (which overwrites the production's first operand column)
+     */
+    private static double[] evaluateLanes(
+        ExpressionProduction production,
+        double[][] columns,
+        int base,
+        ShapeGroup group,
+        Exception[] failures
+    ) {
+        int length = production.getLength();
+        double[] result = null;
+        for (int offset = 0; offset < length && result == null; offset++) {
+            result = columns[base + offset];
+        }
+        double[] lane = new double[length];
+        for (int laneIndex = 0; laneIndex < group.laneCount; laneIndex++) {
+            for (int offset = 0; offset < length; offset++) {
+                double[] column = columns[base + offset];
+                // the value of an operator is unspecified
+                lane[offset] = column == null ? 0 : column[laneIndex];
+            }
+            try {
+                result[laneIndex] = production.evaluate(lane, 0);
+            } catch (UnpositionedException exception) {
+                // the evaluator would throw the lane's first exception and compute nothing further
+                int index = group.indices[laneIndex];
+                if (failures[index] == null) {
+                    failures[index] = exception;
+                }
+                result[laneIndex] = Double.NaN;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * A class to represent the inputs of a shape: their indices and their numbers' columns.
+     */
+    private static final class ShapeGroup {
+
+        // the shape's plan
+        private final ReductionPlan plan;
+        // the columns of the numbers, one per number position
+        private final double[][] columns;
+        // the inputs' indices, one per lane, and the number of lanes
+        private int[] indices = new int[INITIAL_LANE_COUNT];
+        private int laneCount = 0;
+
+        /**
+         * Initialises this group's plan and empty columns.
+         * @param plan the shape's plan
+         */
+        private ShapeGroup(ReductionPlan plan) {
+            this.plan = plan;
+            this.columns = new double[plan.getNumberCount()][INITIAL_LANE_COUNT];
+        }
+
+        /**
+         * Appends an input's lane, doubling the group's capacity if it is full.
+         * @param index the input's index
+         * @param numbers an array whose first elements are the input's numbers
+         */
+        private void add(int index, double[] numbers) {
+            if (laneCount == indices.length) {
+                indices = Arrays.copyOf(indices, 2 * laneCount);
+                for (int position = 0; position < columns.length; position++) {
+                    columns[position] = Arrays.copyOf(columns[position], 2 * laneCount);
+                }
+            }
+            indices[laneCount] = index;
+            for (int position = 0; position < columns.length; position++) {
+                columns[position][laneCount] = numbers[position];
+            }
+            laneCount++;
+        }
+    }
+}
@@ -12,9 +12,9 @@ import java.util.HashMap;
 public class State<TerminalTag, NonterminalTag> extends OptionallyNamed {
 
     // this state's default action
-    private final Action defaultAction;
+    private final Action<TerminalTag, NonterminalTag> defaultAction;
     // a mapping from token tags to actions
-    private final HashMap<TerminalTag, Action> actions;
+    private final HashMap<TerminalTag, Action<TerminalTag, NonterminalTag>> actions;
     // a mapping from nonterminal tags to next states
     private final HashMap<NonterminalTag, State<TerminalTag, NonterminalTag>> nextStates;
 
@@ -22,7 +22,7 @@ public class State<TerminalTag, NonterminalTag> extends OptionallyNamed {
      * Initialises this state's name to be that provided and both mappings to be empty hashmaps.
      * @param name this state's name
      */
-    public State(String name, Action defaultAction) {
+    public State(String name, Action<TerminalTag, NonterminalTag> defaultAction) {
         super(name);
         this.defaultAction = defaultAction;
         actions = new HashMap<>();
@@ -32,7 +32,7 @@ public class State<TerminalTag, NonterminalTag> extends OptionallyNamed {
     /**
      * @return this state's default action
      */
-    public Action getDefaultAction() {
+    public Action<TerminalTag, NonterminalTag> getDefaultAction() {
         return defaultAction;
     }
 
@@ -41,8 +41,8 @@ public class State<TerminalTag, NonterminalTag> extends OptionallyNamed {
      * @param terminalTag a token tag
      * @return an action
      */
-    public Action getAction(TerminalTag terminalTag) {
-        Action action = actions.get(terminalTag);
+    public Action<TerminalTag, NonterminalTag> getAction(TerminalTag terminalTag) {
+        Action<TerminalTag, NonterminalTag> action = actions.get(terminalTag);
         // return the default action if the retrieved action is `null`
         return (action == null) ? defaultAction : action;
     }
@@ -61,7 +61,7 @@ public class State<TerminalTag, NonterminalTag> extends OptionallyNamed {
      * @param terminalTag a token tag
      * @param action the action for the token tag
      */
-    public void putAction(TerminalTag terminalTag, Action action) {
+    public void putAction(TerminalTag terminalTag, Action<TerminalTag, NonterminalTag> action) {
         actions.put(terminalTag, action);
     }
 
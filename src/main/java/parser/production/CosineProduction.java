@@ -10,13 +10,13 @@ import java.util.List;
 /**
  * A class for the expression production of "E -> cos E".
  */
-public class CosineProduction extends Production<ExpressionTokenTag, ExpressionNonterminalTag> {
+public class CosineProduction extends ExpressionProduction {
 
     /**
      * A constructor to initialise this production's name, tag and length.
      */
     public CosineProduction() {
-        super("E -> cos E", ExpressionNonterminalTag.EXPRESSION, 2);
+        super("E -> cos E", 2);
     }
 
     /**
@@ -58,4 +58,32 @@ public class CosineProduction extends Production<ExpressionTokenTag, ExpressionN
         // The parent expression nonterminal's value is the cosine of the operand symbol's value.
         return new CosineNonterminal(nonterminal);
     }
+
+    /**
+     * Creates the nonterminal head of this production from a cosine terminal preceding an expression nonterminal.
+     * @param first the cosine terminal
+     * @param second the expression nonterminal
+     * @return the resulting nonterminal
+     */
+    @Override
+    public CosineNonterminal reduce(
+        Symbol<ExpressionTokenTag, ExpressionNonterminalTag> first,
+        Symbol<ExpressionTokenTag, ExpressionNonterminalTag> second
+    ) {
+        return new CosineNonterminal(
+            (ExpressionNonterminal) second,
+            (Terminal<ExpressionTokenTag, ExpressionNonterminalTag>) first
+        );
+    }
+
+    /**
+     * Computes the value of this production's head: the cosine of the operand symbol's value.
+     * @param values a stack of values, the top two of which correspond to this production's symbols
+     * @param base the index in `values` of the value of the production's first symbol
+     * @return the head's value
+     */
+    @Override
+    public double evaluate(double[] values, int base) {
+        return CosineNonterminal.cosine(values[base + 1]);
+    }
 }
@@ -0,0 +1,31 @@
+package parser.production;
+
+import lexer.token.ExpressionTokenTag;
+import parser.symbol.ExpressionNonterminalTag;
+
+/**
+ * A class for a production whose head is an expression nonterminal.
+ * Besides creating the head's nonterminal, such a production can compute the head's value directly from the values of
+ * its symbol sequence, so an evaluator need not build a parse tree.
+ */
+abstract public class ExpressionProduction extends Production<ExpressionTokenTag, ExpressionNonterminalTag> {
+
+    /**
+     * A constructor to initialise this production's name and length. The production's tag is `EXPRESSION`.
+     * @param name the production's name
+     * @param length the production's length
+     */
+    public ExpressionProduction(String name, int length) {
+        super(name, ExpressionNonterminalTag.EXPRESSION, length);
+    }
+
+    /**
+     * Computes the value of this production's head from the values of its symbol sequence.
+     * The value of an expression nonterminal or number terminal is its value. The value of an operator terminal is
+     * unspecified.
+     * @param values a stack of values, the top `getLength()` of which correspond to this production's symbols
+     * @param base the index in `values` of the value of the production's first symbol
+     * @return the head's value
+     */
+    abstract public double evaluate(double[] values, int base);
+}
@@ -10,13 +10,13 @@ import parser.symbol.*;
 /**
  * A class for the expression production of "E -> E!".
  */
-public class FactorialProduction extends Production<ExpressionTokenTag, ExpressionNonterminalTag> {
+public class FactorialProduction extends ExpressionProduction {
 
     /**
      * A constructor to initialise this production's name, tag and length.
      */
     public FactorialProduction() {
-        super("E -> E!", ExpressionNonterminalTag.EXPRESSION, 2);
+        super("E -> E!", 2);
     }
 
     /**
@@ -70,4 +70,32 @@ public class FactorialProduction extends Production<ExpressionTokenTag, Expressi
         // The parent expression nonterminal's value is the factorial of the operand symbol's value.
         return new FactorialNonterminal(operandNonterminal, operatorSymbol);
     }
+
+    /**
+     * Creates the nonterminal head of this production from an expression nonterminal preceding a factorial terminal.
+     * @param first the expression nonterminal
+     * @param second the factorial terminal
+     * @return the resulting nonterminal
+     */
+    @Override
+    public FactorialNonterminal reduce(
+        Symbol<ExpressionTokenTag, ExpressionNonterminalTag> first,
+        Symbol<ExpressionTokenTag, ExpressionNonterminalTag> second
+    ) {
+        return new FactorialNonterminal(
+            (ExpressionNonterminal) first,
+            (Terminal<ExpressionTokenTag, ExpressionNonterminalTag>) second
+        );
+    }
+
+    /**
+     * Computes the value of this production's head: the factorial of the operand symbol's value.
+     * @param values a stack of values, the top two of which correspond to this production's symbols
+     * @param base the index in `values` of the value of the production's first symbol
+     * @return the head's value
+     */
+    @Override
+    public double evaluate(double[] values, int base) {
+        return FactorialNonterminal.factorial(values[base]);
+    }
 }
@@ -11,13 +11,13 @@ import java.util.List;
 /**
  * A class for the expression production of "E -> E - E".
  */
-public class MinusProduction extends Production<ExpressionTokenTag, ExpressionNonterminalTag> {
+public class MinusProduction extends ExpressionProduction {
 
     /**
      * A constructor to initialise this production's name, tag and length.
      */
     public MinusProduction() {
-        super("E -> E - E", ExpressionNonterminalTag.EXPRESSION, 3);
+        super("E -> E - E", 3);
     }
 
     /**
@@ -76,4 +76,35 @@ public class MinusProduction extends Production<ExpressionTokenTag, ExpressionNo
         // The parent expression nonterminal's value is first operand symbol's value minus that of the second.
         return new MinusNonterminal(firstNonterminal, secondNonterminal, operatorSymbol);
     }
+
+    /**
+     * Creates the nonterminal head of this production from a minus terminal separating two expression nonterminals.
+     * @param first the first expression nonterminal
+     * @param second the minus terminal
+     * @param third the second expression nonterminal
+     * @return the resulting nonterminal
+     */
+    @Override
+    public MinusNonterminal reduce(
+        Symbol<ExpressionTokenTag, ExpressionNonterminalTag> first,
+        Symbol<ExpressionTokenTag, ExpressionNonterminalTag> second,
+        Symbol<ExpressionTokenTag, ExpressionNonterminalTag> third
+    ) {
+        return new MinusNonterminal(
+            (ExpressionNonterminal) first,
+            (ExpressionNonterminal) third,
+            (Terminal<ExpressionTokenTag, ExpressionNonterminalTag>) second
+        );
+    }
+
+    /**
+     * Computes the value of this production's head: the first operand symbol's value minus that of the second.
+     * @param values a stack of values, the top three of which correspond to this production's symbols
+     * @param base the index in `values` of the value of the production's first symbol
+     * @return the head's value
+     */
+    @Override
+    public double evaluate(double[] values, int base) {
+        return values[base] - values[base + 2];
+    }
 }
@@ -10,13 +10,13 @@ import parser.symbol.*;
 /**
  * A class for the expression production of "E -> number".
  */
-public class NumberProduction extends Production<ExpressionTokenTag, ExpressionNonterminalTag> {
+public class NumberProduction extends ExpressionProduction {
 
     /**
      * A constructor to initialise this production's name, tag and length.
      */
     public NumberProduction() {
-        super("E -> number", ExpressionNonterminalTag.EXPRESSION, 1);
+        super("E -> number", 1);
     }
 
     /**
@@ -59,4 +59,25 @@ public class NumberProduction extends Production<ExpressionTokenTag, ExpressionN
         // The parent expression nonterminal's value is the number terminal's value.
         return new NumberNonterminal(operandTerminal);
     }
+
+    /**
+     * Creates the nonterminal head of this production from a number terminal.
+     * @param first the number terminal
+     * @return the resulting nonterminal
+     */
+    @Override
+    public NumberNonterminal reduce(Symbol<ExpressionTokenTag, ExpressionNonterminalTag> first) {
+        return new NumberNonterminal((Terminal<ExpressionTokenTag, ExpressionNonterminalTag>) first);
+    }
+
+    /**
+     * Computes the value of this production's head: the number terminal's value.
+     * @param values a stack of values, the top value of which corresponds to this production's symbol
+     * @param base the index in `values` of the value of the production's first symbol
+     * @return the head's value
+     */
+    @Override
+    public double evaluate(double[] values, int base) {
+        return values[base];
+    }
 }
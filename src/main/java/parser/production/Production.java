@@ -56,10 +56,67 @@ abstract public class Production<TerminalTag, NonterminalTag> extends Optionally
 
     /**
      * Creates the nonterminal head of this production from its symbol sequence.
+     * Checks that the sequence has this production's shape, so this method suits untrusted symbol sequences.
      * @param children the nonterminal's children
      * @return the resulting nonterminal
      */
     abstract public Nonterminal<TerminalTag, NonterminalTag> createNonterminal(
         List<Symbol<TerminalTag, NonterminalTag>> children
     ) throws UnpositionedException;
-}
\ No newline at end of file
+
+    /**
+     * Creates the nonterminal head of this production (of length one) from its only symbol.
+     * Unlike `createNonterminal`, this method trusts (and so does not check) that the symbol has this production's
+     * shape, as a parsing table guarantees. A production of length one overrides this method.
+     * @param first the nonterminal's only child
+     * @return the resulting nonterminal
+     */
+    public Nonterminal<TerminalTag, NonterminalTag> reduce(Symbol<TerminalTag, NonterminalTag> first) {
+        throw createArityException(1);
+    }
+
+    /**
+     * Creates the nonterminal head of this production (of length two) from its symbol sequence.
+     * Unlike `createNonterminal`, this method trusts (and so does not check) that the symbols have this production's
+     * shape, as a parsing table guarantees. A production of length two overrides this method.
+     * @param first the nonterminal's first child
+     * @param second the nonterminal's second child
+     * @return the resulting nonterminal
+     */
+    public Nonterminal<TerminalTag, NonterminalTag> reduce(
+        Symbol<TerminalTag, NonterminalTag> first,
+        Symbol<TerminalTag, NonterminalTag> second
+    ) {
+        throw createArityException(2);
+    }
+
+    /**
+     * Creates the nonterminal head of this production (of length three) from its symbol sequence.
+     * Unlike `createNonterminal`, this method trusts (and so does not check) that the symbols have this production's
+     * shape, as a parsing table guarantees. A production of length three overrides this method.
+     * @param first the nonterminal's first child
+     * @param second the nonterminal's second child
+     * @param third the nonterminal's third child
+     * @return the resulting nonterminal
+     */
+    public Nonterminal<TerminalTag, NonterminalTag> reduce(
+        Symbol<TerminalTag, NonterminalTag> first,
+        Symbol<TerminalTag, NonterminalTag> second,
+        Symbol<TerminalTag, NonterminalTag> third
+    ) {
+        throw createArityException(3);
+    }
+
+    /**
+     * Creates the exception to throw if a caller reduces by this production with the wrong number of symbols.
+     * @param symbolCount the number of symbols
+     * @return the resulting exception
+     */
+    private UnpositionedException createArityException(int symbolCount) {
+        return new UnpositionedException(
+            "Production",
+            "reduce",
+            String.format("Production %s of length %d cannot reduce %d symbols.", this, length, symbolCount)
+        );
+    }
+}
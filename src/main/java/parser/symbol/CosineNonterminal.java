@@ -13,14 +13,24 @@ import lexer.token.PlusToken;
 public class CosineNonterminal extends ExpressionNonterminal {
 
     /**
-     * A constructor to initialise this nonterminal's children to a new cosine terminal and an operand nonterminal.
+     * Calculates a number's cosine, consulting the global `OperationMemo` if there is one.
+     * @param number a number
+     * @return the number's cosine
+     */
+    public static double cosine(double number) {
+        OperationMemo memo = OperationMemo.getGlobal();
+        return memo == null ? Math.cos(number) : memo.cosine(number);
+    }
+
+    /**
+     * A constructor to initialise this nonterminal's children to the shared cosine terminal and an operand nonterminal.
      * This nonterminal's value is the cosine of the operand's value.
      * @param operandTerminal an operand nonterminal
      */
     public CosineNonterminal(ExpressionNonterminal operandTerminal) {
         this(
             operandTerminal,
-            new Terminal<>(new CosineToken())
+            ExpressionTerminals.COSINE
         );
     }
 
@@ -36,7 +46,7 @@ public class CosineNonterminal extends ExpressionNonterminal {
     ) {
         super(
             List.of(operatorTerminal, operandNonterminal),
-            Math.cos(operandNonterminal.getValue())
+            cosine(operandNonterminal.getValue())
         );
     }
 }
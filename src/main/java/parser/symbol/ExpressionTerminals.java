@@ -0,0 +1,45 @@
+package parser.symbol;
+
+import lexer.token.*;
+
+/**
+ * A class for the shared terminals of an expression's attribute-free tokens. A terminal (like its token) has no state
+ * beyond its token, so every parse tree can share these terminals rather than allocating one for every operator.
+ */
+public final class ExpressionTerminals {
+
+    // the shared terminal of the plus token
+    public static final Terminal<ExpressionTokenTag, ExpressionNonterminalTag> PLUS =
+        new Terminal<>(PlusToken.INSTANCE);
+    // the shared terminal of the minus token
+    public static final Terminal<ExpressionTokenTag, ExpressionNonterminalTag> MINUS =
+        new Terminal<>(MinusToken.INSTANCE);
+    // the shared terminal of the power token
+    public static final Terminal<ExpressionTokenTag, ExpressionNonterminalTag> POWER =
+        new Terminal<>(PowerToken.INSTANCE);
+    // the shared terminal of the cosine token
+    public static final Terminal<ExpressionTokenTag, ExpressionNonterminalTag> COSINE =
+        new Terminal<>(CosineToken.INSTANCE);
+    // the shared terminal of the factorial token
+    public static final Terminal<ExpressionTokenTag, ExpressionNonterminalTag> FACTORIAL =
+        new Terminal<>(FactorialToken.INSTANCE);
+
+    private ExpressionTerminals() {
+    }
+
+    /**
+     * Retrieves a terminal for a token: the shared terminal for an attribute-free token and otherwise a new terminal.
+     * @param token a token
+     * @return a terminal whose token is equal to the token
+     */
+    public static Terminal<ExpressionTokenTag, ExpressionNonterminalTag> of(Token<ExpressionTokenTag> token) {
+        return switch (token.getTag()) {
+            case PLUS -> PLUS;
+            case MINUS -> MINUS;
+            case POWER -> POWER;
+            case COSINE -> COSINE;
+            case FACTORIAL -> FACTORIAL;
+            case NUMBER -> new Terminal<>(token);
+        };
+    }
+}
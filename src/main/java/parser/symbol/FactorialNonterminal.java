@@ -14,11 +14,21 @@ public class FactorialNonterminal extends ExpressionNonterminal {
     private static final double DELTA = 1e-6;
 
     /**
-     * Calculates an integer's factorial.
+     * Calculates an integer's factorial, consulting the global `OperationMemo` if there is one.
      * @param number an integer
      * @return the integer's factorial
      */
     public static long factorial(double number) {
+        OperationMemo memo = OperationMemo.getGlobal();
+        return memo == null ? computeFactorial(number) : memo.factorial(number);
+    }
+
+    /**
+     * Calculates an integer's factorial.
+     * @param number an integer
+     * @return the integer's factorial
+     */
+    static long computeFactorial(double number) {
         // throw an `IllegalFactorialException` iff `number` differs from an integer by more than a delta.
         if (number > -DELTA && Math.abs(number % 1) > DELTA) {
             throw new UnpositionedException(
@@ -38,14 +48,15 @@ public class FactorialNonterminal extends ExpressionNonterminal {
 
 
     /**
-     * A constructor to initialise this nonterminal's children to an operand nonterminal and a new factorial terminal.
+     * A constructor to initialise this nonterminal's children to an operand nonterminal and the shared factorial
+     * terminal.
      * This nonterminal's value is the cosine of the operand's value.
      * @param operandTerminal an operand nonterminal
      */
     public FactorialNonterminal(ExpressionNonterminal operandTerminal) {
         this(
             operandTerminal,
-            new Terminal<>(new FactorialToken())
+            ExpressionTerminals.FACTORIAL
         );
     }
 
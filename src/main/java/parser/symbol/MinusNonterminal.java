@@ -12,8 +12,9 @@ import lexer.token.PlusToken;
 public class MinusNonterminal extends ExpressionNonterminal {
 
     /**
-     * A constructor to initialise this nonterminal's children to be the first operand nonterminal, a new minus terminal
-     * and the second operand nonterminal. This nonterminal's value is the first nonterminal's value minus the second's.
+     * A constructor to initialise this nonterminal's children to be the first operand nonterminal, the shared minus
+     * terminal and the second operand nonterminal. This nonterminal's value is the first nonterminal's value minus the
+     * second's.
      * @param firstOperand the first operand nonterminal
      * @param secondOperand the second operand nonterminal
      */
@@ -24,7 +25,7 @@ public class MinusNonterminal extends ExpressionNonterminal {
         this(
             firstOperand,
             secondOperand,
-            new Terminal<>(new MinusToken())
+            ExpressionTerminals.MINUS
         );
     }
 
@@ -0,0 +1,398 @@
+package parser.symbol;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A class to represent a bounded, thread-safe memo of the values of factorials, cosines and powers, keyed by the
+ * operator and the bits of its operands (so `0.0` and `-0.0`, or two NaNs with different payloads, are different
+ * keys). Once `setGlobal` installs a memo, `FactorialNonterminal.factorial`, `CosineNonterminal.cosine` and
+ * `PowerNonterminal.power` consult it, so the parse trees and the evaluators (except `ShapeBatchEvaluator`'s column
+ * kernels) share the values of repeated subexpressions across inputs and threads. By default there is no memo.
+ * The memo is a direct-mapped table of a fixed number of slots, so a lookup is one atomic read and a store one atomic
+ * write, and a value evicts the value in its slot. A memo only ever returns the exact value that the operator computes.
+ * Whether the memo pays depends on the operator: a hit costs about a tenth as much as a factorial of a large operand,
+ * about as much as a power and more than a cosine. The memo therefore samples each operator's hit ratio and stops
+ * consulting itself for an operator whose ratio in a sample falls below the operator's break-even ratio, and never
+ * consults itself for an operator whose break-even ratio exceeds `1` (a cosine); `enable` resumes (or forces) it.
+ * A sample skips compulsory misses (of empty slots), so the misses of a table that is still filling up do not disable
+ * the memo, and after `REPROBE_INTERVAL` calls that bypass a disabled memo, the memo samples the operator again, so a
+ * workload whose hit ratio rises re-enables it. Each thread samples into one of several stripes, a cache line apart,
+ * so that threads do not contend for a single counter.
+ * A factorial's cost grows with its operand, so the memo also skips the factorials of small operands. It holds the
+ * `long` that `FactorialNonterminal.computeFactorial` returns, so a memoised factorial equals a recomputed one even
+ * where the product overflows.
+ */
+public final class OperationMemo {
+
+    /**
+     * An enumeration of the operators whose values a memo can hold, with the hit ratio below which a lookup costs more
+     * on average than it saves (about the ratio of a hit's cost to the operator's, from `OperationMemoBenchmark`).
+     */
+    public enum Operator {
+        FACTORIAL(0.1),
+        COSINE(1.5),
+        POWER(0.9);
+
+        private final double breakEvenRatio;
+
+        Operator(double breakEvenRatio) {
+            this.breakEvenRatio = breakEvenRatio;
+        }
+
+        /**
+         * @return the hit ratio below which the memo disables itself for this operator
+         */
+        public double getBreakEvenRatio() {
+            return breakEvenRatio;
+        }
+    }
+
+    // the default number of slots
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+    // the least operand whose factorial the memo holds (a smaller factorial is a few multiplications)
+    public static final double MIN_FACTORIAL_OPERAND = 20;
+    // the number of lookups (other than compulsory misses) in a sample of an operator's hit ratio
+    static final int SAMPLE_SIZE = 4096;
+    // the number of calls on a stripe that bypass a disabled memo, after which the memo samples the operator again
+    static final int REPROBE_INTERVAL = 16 * SAMPLE_SIZE;
+    // the number of stripes of an operator's counters (a power of two of about twice the number of processors)
+    private static final int STRIPE_COUNT =
+        Integer.highestOneBit(2 * Runtime.getRuntime().availableProcessors() - 1) << 1;
+    // the number of longs in a stripe (a cache line), and the offsets of the sample and the bypass count in a stripe
+    private static final int STRIPE_LENGTH = 8;
+    private static final int SAMPLE_OFFSET = 0;
+    private static final int BYPASS_OFFSET = 1;
+    // the memo that the nonterminals consult, or `null` if there is none
+    private static volatile OperationMemo global = null;
+
+    // the slots
+    private final AtomicReferenceArray<Entry> slots;
+    // the mask of a slot's index
+    private final int mask;
+    // the state of each operator, indexed by the operator's ordinal
+    private final OperatorState[] states;
+    // the number of values that other values replaced in their slots and the number of values in the memo
+    private final LongAdder evictionCount = new LongAdder();
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Initialises this memo with the default number of slots.
+     */
+    public OperationMemo() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initialises this memo with a number of slots.
+     * @param capacity the number of slots (a power of two), which bounds the number of values
+     */
+    public OperationMemo(int capacity) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("[OperationMemo:OperationMemo] Capacity must be a power of two.");
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.states = new OperatorState[Operator.values().length];
+        for (Operator operator : Operator.values()) {
+            states[operator.ordinal()] = new OperatorState(operator.getBreakEvenRatio() <= 1);
+        }
+    }
+
+    /**
+     * @return the memo that the nonterminals consult, or `null` if there is none
+     */
+    public static OperationMemo getGlobal() {
+        return global;
+    }
+
+    /**
+     * Installs the memo that the nonterminals consult.
+     * @param memo a memo, or `null` to compute every value
+     */
+    public static void setGlobal(OperationMemo memo) {
+        global = memo;
+    }
+
+    /**
+     * Finds or computes an operand's factorial (see `FactorialNonterminal.factorial`).
+     * @param operand the operand
+     * @return the factorial
+     */
+    long factorial(double operand) {
+        OperatorState state = states[Operator.FACTORIAL.ordinal()];
+        if (!(operand >= MIN_FACTORIAL_OPERAND)) {
+            return FactorialNonterminal.computeFactorial(operand);
+        }
+        if (!state.enabled) {
+            bypass(Operator.FACTORIAL, state);
+            return FactorialNonterminal.computeFactorial(operand);
+        }
+        long bits = Double.doubleToRawLongBits(operand);
+        int index = getIndex(Operator.FACTORIAL, bits, 0);
+        Entry entry = slots.get(index);
+        if (entry != null && entry.matches(Operator.FACTORIAL, bits, 0)) {
+            record(Operator.FACTORIAL, state, true, false);
+            return entry.result;
+        }
+        // an invalid operand throws before the memo stores anything
+        long value = FactorialNonterminal.computeFactorial(operand);
+        store(index, new Entry(Operator.FACTORIAL, bits, 0, value));
+        record(Operator.FACTORIAL, state, false, entry == null);
+        return value;
+    }
+
+    /**
+     * Finds or computes an operand's cosine.
+     * @param operand the operand
+     * @return the cosine
+     */
+    double cosine(double operand) {
+        OperatorState state = states[Operator.COSINE.ordinal()];
+        if (!state.enabled) {
+            bypass(Operator.COSINE, state);
+            return Math.cos(operand);
+        }
+        long bits = Double.doubleToRawLongBits(operand);
+        int index = getIndex(Operator.COSINE, bits, 0);
+        Entry entry = slots.get(index);
+        if (entry != null && entry.matches(Operator.COSINE, bits, 0)) {
+            record(Operator.COSINE, state, true, false);
+            return Double.longBitsToDouble(entry.result);
+        }
+        double value = Math.cos(operand);
+        store(index, new Entry(Operator.COSINE, bits, 0, Double.doubleToRawLongBits(value)));
+        record(Operator.COSINE, state, false, entry == null);
+        return value;
+    }
+
+    /**
+     * Finds or computes a base to the power of an exponent.
+     * @param base the base
+     * @param exponent the exponent
+     * @return the power
+     */
+    double power(double base, double exponent) {
+        OperatorState state = states[Operator.POWER.ordinal()];
+        if (!state.enabled) {
+            bypass(Operator.POWER, state);
+            return Math.pow(base, exponent);
+        }
+        long firstBits = Double.doubleToRawLongBits(base);
+        long secondBits = Double.doubleToRawLongBits(exponent);
+        int index = getIndex(Operator.POWER, firstBits, secondBits);
+        Entry entry = slots.get(index);
+        if (entry != null && entry.matches(Operator.POWER, firstBits, secondBits)) {
+            record(Operator.POWER, state, true, false);
+            return Double.longBitsToDouble(entry.result);
+        }
+        double value = Math.pow(base, exponent);
+        store(index, new Entry(Operator.POWER, firstBits, secondBits, Double.doubleToRawLongBits(value)));
+        record(Operator.POWER, state, false, entry == null);
+        return value;
+    }
+
+    /**
+     * @param operator an operator
+     * @param firstBits the bits of the first operand
+     * @param secondBits the bits of the second operand (or `0` for a unary operator)
+     * @return the index of the key's slot
+     */
+    private int getIndex(Operator operator, long firstBits, long secondBits) {
+        return (int) mix(mix(firstBits ^ operator.ordinal()) ^ secondBits) & mask;
+    }
+
+    /**
+     * Mixes every bit of a key into every bit of its hash (the finaliser of MurmurHash3). The bits of a number differ
+     * mostly in its high bits, which a multiplication alone would never carry into the index's low bits.
+     * @param key a key
+     * @return the key's hash
+     */
+    private static long mix(long key) {
+        key = (key ^ key >>> 33) * 0xFF51AFD7ED558CCDL;
+        key = (key ^ key >>> 33) * 0xC4CEB9FE1A85EC53L;
+        return key ^ key >>> 33;
+    }
+
+    /**
+     * Stores an entry in its slot, counting an eviction if it replaces another entry.
+     * @param index the slot's index
+     * @param entry the entry
+     */
+    private void store(int index, Entry entry) {
+        if (slots.getAndSet(index, entry) == null) {
+            size.incrementAndGet();
+        } else {
+            evictionCount.increment();
+        }
+    }
+
+    /**
+     * @return the offset of the calling thread's stripe
+     */
+    private static int getStripe() {
+        return ((int) mix(System.identityHashCode(Thread.currentThread())) & (STRIPE_COUNT - 1)) * STRIPE_LENGTH;
+    }
+
+    /**
+     * Counts a lookup and, once the sample of the calling thread's stripe is complete, disables the memo for an
+     * operator if the sample's hit ratio is below the operator's break-even ratio. A compulsory miss (of an empty slot)
+     * counts towards the operator's misses but not towards the sample.
+     * @param operator the operator
+     * @param state the operator's state
+     * @param hit whether the lookup found a value
+     * @param compulsory whether the lookup missed because its slot was empty
+     */
+    private static void record(Operator operator, OperatorState state, boolean hit, boolean compulsory) {
+        (hit ? state.hitCount : state.missCount).increment();
+        if (compulsory) {
+            return;
+        }
+        // the sample counts hits in its high half and lookups in its low half
+        int index = getStripe() + SAMPLE_OFFSET;
+        long sample = state.stripes.addAndGet(index, hit ? (1L << 32) + 1 : 1);
+        if ((int) sample == SAMPLE_SIZE) {
+            state.stripes.addAndGet(index, -sample);
+            // an operator that the memo holds only on request (whose ratio exceeds `1`) keeps the memo regardless
+            double breakEvenRatio = operator.getBreakEvenRatio();
+            if (breakEvenRatio <= 1 && (sample >>> 32) < breakEvenRatio * SAMPLE_SIZE) {
+                state.enabled = false;
+            }
+        }
+    }
+
+    /**
+     * Counts a call that bypasses the memo for an operator for which the memo disabled itself and, after
+     * `REPROBE_INTERVAL` such calls on the calling thread's stripe, resumes consulting the memo for a new sample.
+     * @param operator the operator
+     * @param state the operator's state
+     */
+    private static void bypass(Operator operator, OperatorState state) {
+        // the memo never consults itself for an operator that it holds only on request, unless `enable` forces it
+        if (operator.getBreakEvenRatio() > 1) {
+            return;
+        }
+        int index = getStripe() + BYPASS_OFFSET;
+        if (state.stripes.incrementAndGet(index) >= REPROBE_INTERVAL) {
+            state.stripes.set(index, 0);
+            resume(state);
+        }
+    }
+
+    /**
+     * Discards an operator's partial samples and resumes consulting the memo for it.
+     * @param state the operator's state
+     */
+    private static void resume(OperatorState state) {
+        for (int stripe = 0; stripe < STRIPE_COUNT; stripe++) {
+            state.stripes.set(stripe * STRIPE_LENGTH + SAMPLE_OFFSET, 0);
+        }
+        state.enabled = true;
+    }
+
+    /**
+     * Resumes consulting the memo for an operator, after the memo disabled itself for it. For an operator that the memo
+     * never consults by default, the memo then keeps consulting itself; for any other operator, the memo disables
+     * itself again if a sample's hit ratio is too low.
+     * @param operator the operator
+     */
+    public void enable(Operator operator) {
+        resume(states[operator.ordinal()]);
+    }
+
+    /**
+     * @param operator an operator
+     * @return whether the memo holds the operator's values (rather than having disabled itself for the operator)
+     */
+    public boolean isEnabled(Operator operator) {
+        return states[operator.ordinal()].enabled;
+    }
+
+    /**
+     * @param operator an operator
+     * @return the number of the operator's lookups that found a value
+     */
+    public long getHitCount(Operator operator) {
+        return states[operator.ordinal()].hitCount.sum();
+    }
+
+    /**
+     * @param operator an operator
+     * @return the number of the operator's lookups that found no value
+     */
+    public long getMissCount(Operator operator) {
+        return states[operator.ordinal()].missCount.sum();
+    }
+
+    /**
+     * @param operator an operator
+     * @return the ratio of the operator's hits to its lookups, or `0` if there have been no lookups
+     */
+    public double getHitRatio(Operator operator) {
+        long hits = getHitCount(operator);
+        long lookups = hits + getMissCount(operator);
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * @return the number of values that other values replaced in their slots
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * @return the number of slots, which bounds the number of values
+     */
+    public int getCapacity() {
+        return slots.length();
+    }
+
+    /**
+     * @return the number of values in the memo
+     */
+    public int getSize() {
+        return size.get();
+    }
+
+    /**
+     * A class to represent an operator's value for the bits of its operands.
+     */
+    private static final class Entry {
+
+        private final Operator operator;
+        private final long firstBits;
+        private final long secondBits;
+        // the factorial, or the bits of the cosine or the power
+        private final long result;
+
+        private Entry(Operator operator, long firstBits, long secondBits, long result) {
+            this.operator = operator;
+            this.firstBits = firstBits;
+            this.secondBits = secondBits;
+            this.result = result;
+        }
+
+        private boolean matches(Operator operator, long firstBits, long secondBits) {
+            return this.operator == operator && this.firstBits == firstBits && this.secondBits == secondBits;
+        }
+    }
+
+    /**
+     * A class to represent an operator's counters, its stripes' current samples and bypass counts, and whether the
+     * memo holds its values.
+     */
+    private static final class OperatorState {
+
+        private volatile boolean enabled;
+        private final AtomicLongArray stripes = new AtomicLongArray(STRIPE_COUNT * STRIPE_LENGTH);
+        private final LongAdder hitCount = new LongAdder();
+        private final LongAdder missCount = new LongAdder();
+
+        private OperatorState(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+}
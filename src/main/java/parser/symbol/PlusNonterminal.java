@@ -11,8 +11,8 @@ import lexer.token.PlusToken;
 public class PlusNonterminal extends ExpressionNonterminal {
 
     /**
-     * A constructor to initialise this nonterminal's children to be the first operand nonterminal, a new plus terminal
-     * and the second operand nonterminal. This nonterminal's value is the sum of those nonterminals' values.
+     * A constructor to initialise this nonterminal's children to be the first operand nonterminal, the shared plus
+     * terminal and the second operand nonterminal. This nonterminal's value is the sum of those nonterminals' values.
      * @param firstOperand the first operand nonterminal
      * @param secondOperand the second operand nonterminal
      */
@@ -23,7 +23,7 @@ public class PlusNonterminal extends ExpressionNonterminal {
         this(
             firstOperand,
             secondOperand,
-            new Terminal<>(new PlusToken())
+            ExpressionTerminals.PLUS
         );
     }
 
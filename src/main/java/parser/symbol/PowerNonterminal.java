@@ -13,8 +13,20 @@ import lexer.token.PowerToken;
 public class PowerNonterminal extends ExpressionNonterminal {
 
     /**
-     * A constructor to initialise this nonterminal's children to be the first operand nonterminal, a new power terminal
-     * and the second operand nonterminal. This nonterminal's value is the first operand's to the power of the second's.
+     * Calculates a number to the power of another, consulting the global `OperationMemo` if there is one.
+     * @param base the base
+     * @param exponent the exponent
+     * @return the base to the power of the exponent
+     */
+    public static double power(double base, double exponent) {
+        OperationMemo memo = OperationMemo.getGlobal();
+        return memo == null ? Math.pow(base, exponent) : memo.power(base, exponent);
+    }
+
+    /**
+     * A constructor to initialise this nonterminal's children to be the first operand nonterminal, the shared power
+     * terminal and the second operand nonterminal. This nonterminal's value is the first operand's to the power of the
+     * second's.
      * @param firstOperand the first operand nonterminal
      * @param secondOperand the second operand nonterminal
      */
@@ -25,7 +37,7 @@ public class PowerNonterminal extends ExpressionNonterminal {
         this(
             firstOperand,
             secondOperand,
-            new Terminal<>(new PowerToken())
+            ExpressionTerminals.POWER
         );
     }
 
@@ -43,7 +55,7 @@ public class PowerNonterminal extends ExpressionNonterminal {
     ) {
         super(
             List.of(firstOperand, operatorTerminal, secondOperand),
-            Math.pow(firstOperand.getValue(), secondOperand.getValue())
+            power(firstOperand.getValue(), secondOperand.getValue())
         );
     }
 }
@@ -0,0 +1,323 @@
+package service;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lexer.IllegalLexemeException;
+
+import parser.IllegalTokenException;
+import parser.ParserContext;
+import parser.PlanCache;
+
+/**
+ * A class to represent a thread-safe service that evaluates expressions, synchronously on the calling thread or
+ * asynchronously on an executor.
+ * Every evaluation drives the parsing table that all parsers share (which is immutable) with the lexer and driver of
+ * a `ParserContext` that it borrows from the service's pool of idle contexts and returns when it completes, so
+ * evaluations share no mutable state, and the contexts outlive the threads that use them (a virtual thread runs a
+ * single task, so a context per thread would be created for each evaluation and then discarded). The pool keeps at
+ * most two idle contexts per processor. By default the service runs its tasks on virtual threads if the runtime
+ * supports them (Java 21 or later) and otherwise on a work-stealing pool with a thread per processor. Closing the
+ * service shuts its executor down iff the service created it.
+ * A service can evaluate by the reduction plans of a `PlanCache`, which its evaluations share, and can consult a
+ * `ResultCache` of expressions' outcomes before it evaluates an expression at all, and a `RejectionCache` of recently
+ * rejected inputs before either.
+ */
+public class ExpressionService implements AutoCloseable {
+
+    // the maximum number of idle contexts in the pool
+    private static final int MAX_IDLE_CONTEXT_COUNT = 2 * Runtime.getRuntime().availableProcessors();
+
+    // the idle contexts, their number and the number of contexts that the service has created
+    private final ConcurrentLinkedQueue<ParserContext> idleContexts = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleContextCount = new AtomicInteger();
+    private final AtomicInteger createdContextCount = new AtomicInteger();
+    // the executor that runs the service's asynchronous evaluations
+    private final Executor executor;
+    // the executor to shut down when the service closes, or `null` if a caller provided the executor
+    private final ExecutorService ownedExecutor;
+    // the cache of reduction plans, or `null` if the service drives the automaton for every expression
+    private final PlanCache planCache;
+    // the cache of outcomes, or `null` if the service evaluates every expression
+    private final ResultCache resultCache;
+    // the cache of rejected inputs, or `null` if the service evaluates every expression that the other caches miss
+    private final RejectionCache rejectionCache;
+
+    /**
+     * Initialises this service to run on a new default executor (see `createDefaultExecutor`), which the service owns.
+     */
+    public ExpressionService() {
+        ExecutorService defaultExecutor = createDefaultExecutor();
+        this.executor = defaultExecutor;
+        this.ownedExecutor = defaultExecutor;
+        this.planCache = null;
+        this.resultCache = null;
+        this.rejectionCache = null;
+    }
+
+    /**
+     * Initialises this service to run on an executor, which the caller owns (so closing the service does not shut it
+     * down).
+     * @param executor an executor
+     */
+    public ExpressionService(Executor executor) {
+        this(executor, null);
+    }
+
+    /**
+     * Initialises this service to run on an executor, which the caller owns, and to evaluate by the reduction plans of
+     * a cache.
+     * @param executor an executor
+     * @param planCache a cache of reduction plans, or `null` to drive the automaton for every expression
+     */
+    public ExpressionService(Executor executor, PlanCache planCache) {
+        this(executor, planCache, null);
+    }
+
+    /**
+     * Initialises this service to run on an executor, which the caller owns, to evaluate by the reduction plans of a
+     * cache and to consult a cache of outcomes first.
+     * @param executor an executor
+     * @param planCache a cache of reduction plans, or `null` to drive the automaton for every expression
+     * @param resultCache a cache of outcomes, or `null` to evaluate every expression
+     */
+    public ExpressionService(Executor executor, PlanCache planCache, ResultCache resultCache) {
+        this(executor, planCache, resultCache, null);
+    }
+
+    /**
+     * Initialises this service to run on an executor, which the caller owns, to evaluate by the reduction plans of a
+     * cache, to consult a cache of outcomes first and to consult a cache of rejected inputs before that.
+     * @param executor an executor
+     * @param planCache a cache of reduction plans, or `null` to drive the automaton for every expression
+     * @param resultCache a cache of outcomes, or `null` to evaluate every expression
+     * @param rejectionCache a cache of rejected inputs, or `null` to evaluate every expression that the other caches
+     * miss
+     */
+    public ExpressionService(
+        Executor executor,
+        PlanCache planCache,
+        ResultCache resultCache,
+        RejectionCache rejectionCache
+    ) {
+        if (executor == null) {
+            throw new IllegalArgumentException("[ExpressionService:ExpressionService] Executor cannot be null.");
+        }
+        this.executor = executor;
+        this.ownedExecutor = null;
+        this.planCache = planCache;
+        this.resultCache = resultCache;
+        this.rejectionCache = rejectionCache;
+    }
+
+    /**
+     * @return the service's cache of reduction plans, or `null` if it has none
+     */
+    public PlanCache getPlanCache() {
+        return planCache;
+    }
+
+    /**
+     * @return the service's cache of outcomes, or `null` if it has none
+     */
+    public ResultCache getResultCache() {
+        return resultCache;
+    }
+
+    /**
+     * @return the service's cache of rejected inputs, or `null` if it has none
+     */
+    public RejectionCache getRejectionCache() {
+        return rejectionCache;
+    }
+
+    /**
+     * Creates an executor that runs each task on a new virtual thread if the runtime supports virtual threads, and
+     * otherwise a work-stealing pool with a thread per processor. We look the virtual-thread factory method up
+     * reflectively so that the service also compiles and runs on Java 17.
+     * @return the executor
+     */
+    public static ExecutorService createDefaultExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException exception) {
+            return Executors.newWorkStealingPool();
+        }
+    }
+
+    /**
+     * Computes the value of an expression on the calling thread.
+     * @param inputString an input string
+     * @return the expression's value
+     * @throws IOException the lexer throws an IO exception
+     * @throws IllegalLexemeException the lexer throws an `IllegalLexemeException`
+     * @throws IllegalTokenException the evaluator encounters an invalid token
+     */
+    public double evaluate(String inputString) throws IOException, IllegalLexemeException, IllegalTokenException {
+        return rejectionCache == null
+            ? evaluateUnrejected(inputString)
+            : rejectionCache.evaluate(inputString, this::evaluateUnrejected);
+    }
+
+    /**
+     * Computes the value of an expression on the calling thread without the cache of rejected inputs.
+     * @param inputString an input string
+     * @return the expression's value
+     * @throws IOException the lexer throws an IO exception
+     * @throws IllegalLexemeException the lexer throws an `IllegalLexemeException`
+     * @throws IllegalTokenException the evaluator encounters an invalid token
+     */
+    private double evaluateUnrejected(String inputString) throws
+        IOException,
+        IllegalLexemeException,
+        IllegalTokenException
+    {
+        return resultCache == null ? compute(inputString) : resultCache.evaluate(inputString, this::compute);
+    }
+
+    /**
+     * Computes the value of an expression on the calling thread without the cache of outcomes.
+     * @param inputString an input string
+     * @return the expression's value
+     * @throws IOException the lexer throws an IO exception
+     * @throws IllegalLexemeException the lexer throws an `IllegalLexemeException`
+     * @throws IllegalTokenException the evaluator encounters an invalid token
+     */
+    private double compute(String inputString) throws IOException, IllegalLexemeException, IllegalTokenException {
+        ParserContext context = borrowContext();
+        try {
+            return planCache == null ? context.evaluate(inputString) : context.evaluate(inputString, planCache);
+        } finally {
+            returnContext(context);
+        }
+    }
+
+    /**
+     * Takes an idle context from the pool, or creates a context if the pool is empty.
+     * @return the context, which the caller must return
+     */
+    private ParserContext borrowContext() {
+        ParserContext context = idleContexts.poll();
+        if (context == null) {
+            createdContextCount.incrementAndGet();
+            return new ParserContext();
+        }
+        idleContextCount.decrementAndGet();
+        return context;
+    }
+
+    /**
+     * Returns a context to the pool, or discards it if the pool is full.
+     * @param context a borrowed context
+     */
+    private void returnContext(ParserContext context) {
+        if (idleContextCount.incrementAndGet() <= MAX_IDLE_CONTEXT_COUNT) {
+            idleContexts.offer(context);
+        } else {
+            idleContextCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * @return the number of contexts that the service has created
+     */
+    int getCreatedContextCount() {
+        return createdContextCount.get();
+    }
+
+    /**
+     * Computes the value of an expression on the service's executor.
+     * @param inputString an input string
+     * @return a future of the expression's value, which completes exceptionally with the exception that `evaluate`
+     * would throw
+     */
+    public CompletableFuture<Double> evaluateAsync(String inputString) {
+        CompletableFuture<Double> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                future.complete(evaluate(inputString));
+            } catch (Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Computes the values of expressions in parallel on the service's executor and waits for them all.
+     * @param inputStrings input strings
+     * @return the expressions' values, in the order of the input strings
+     * @throws IOException the lexer throws an IO exception
+     * @throws IllegalLexemeException the lexer throws an `IllegalLexemeException`
+     * @throws IllegalTokenException the evaluator encounters an invalid token
+     * (In each case, the method throws the exception of the first input string in order that fails.)
+     */
+    public List<Double> evaluateAll(List<String> inputStrings) throws
+        IOException,
+        IllegalLexemeException,
+        IllegalTokenException
+    {
+        // start every evaluation before waiting for any
+        List<CompletableFuture<Double>> futures = new ArrayList<>(inputStrings.size());
+        for (String inputString : inputStrings) {
+            futures.add(evaluateAsync(inputString));
+        }
+        List<Double> values = new ArrayList<>(futures.size());
+        for (CompletableFuture<Double> future : futures) {
+            values.add(join(future));
+        }
+        return values;
+    }
+
+    /**
+     * Waits for a future of a value and rethrows the exception with which it completes (rather than a wrapper).
+     * @param future a future of an evaluation's value
+     * @return the value
+     * @throws IOException the lexer throws an IO exception
+     * @throws IllegalLexemeException the lexer throws an `IllegalLexemeException`
+     * @throws IllegalTokenException the evaluator encounters an invalid token
+     */
+    private static double join(CompletableFuture<Double> future) throws
+        IOException,
+        IllegalLexemeException,
+        IllegalTokenException
+    {
+        try {
+            return future.join();
+        } catch (CompletionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            } else if (cause instanceof IllegalLexemeException lexemeException) {
+                throw lexemeException;
+            } else if (cause instanceof IllegalTokenException tokenException) {
+                throw tokenException;
+            } else if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            } else if (cause instanceof Error error) {
+                throw error;
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Shuts the service's executor down iff the service created it. Evaluations that have started still complete.
+     */
+    @Override
+    public void close() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package service;
+
+/**
+ * A class to represent a count-min sketch that estimates how often keys occurred recently, for the admission policy of
+ * `ResultCache` (TinyLFU). Each key increments one saturating 4-bit counter in each of four rows, and its estimate is
+ * the least of its counters. After as many increments as ten times the rows' width, the sketch halves every counter,
+ * so old frequencies decay. A sketch is not thread-safe; each segment of a cache guards its own sketch.
+ */
+final class FrequencySketch {
+
+    // the number of rows and the maximum value of a counter
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    // the odd multipliers that derive a row's index from a key's hash
+    private static final long[] SEEDS = {
+        0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+
+    // the counters, row by row
+    private final byte[] counters;
+    // the mask of an index within a row
+    private final int mask;
+    // the number of increments after which the sketch halves its counters, and the increments since the last halving
+    private final int sampleSize;
+    private int additionCount = 0;
+
+    /**
+     * Initialises this sketch for a number of keys.
+     * @param keyCount the number of keys that the sketch distinguishes (the cache's capacity)
+     */
+    FrequencySketch(int keyCount) {
+        int width = Integer.highestOneBit(Math.max(16, keyCount - 1) << 1);
+        this.counters = new byte[DEPTH * width];
+        this.mask = width - 1;
+        this.sampleSize = 10 * width;
+    }
+
+    /**
+     * @param hash a key's hash
+     * @param row a row
+     * @return the index of the key's counter in the row
+     */
+    private int getIndex(int hash, int row) {
+        long mixed = (hash + SEEDS[row]) * SEEDS[row];
+        return row * (mask + 1) + ((int) (mixed >>> 32) & mask);
+    }
+
+    /**
+     * Estimates how often a key occurred recently.
+     * @param hash the key's hash
+     * @return the estimate (from `0` to `15`)
+     */
+    int frequency(int hash) {
+        int frequency = MAX_COUNT;
+        for (int row = 0; row < DEPTH; row++) {
+            frequency = Math.min(frequency, counters[getIndex(hash, row)]);
+        }
+        return frequency;
+    }
+
+    /**
+     * Records an occurrence of a key, halving every counter once the sample is complete.
+     * @param hash the key's hash
+     */
+    void increment(int hash) {
+        for (int row = 0; row < DEPTH; row++) {
+            int index = getIndex(hash, row);
+            if (counters[index] < MAX_COUNT) {
+                counters[index]++;
+            }
+        }
+        if (++additionCount == sampleSize) {
+            for (int index = 0; index < counters.length; index++) {
+                counters[index] >>= 1;
+            }
+            additionCount = 0;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package service;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import lexer.IllegalLexemeException;
+import main.PositionedException;
+
+import parser.IllegalTokenException;
+
+/**
+ * A class to represent a bounded, thread-safe cache of recently rejected inputs (inputs that fail to lex or parse),
+ * which an `ExpressionService` consults before it lexes an input, so a client that retries a malformed input fails in
+ * constant time instead of lexing the input and constructing an exception (with its stack trace) again.
+ * The cache is a two-way set-associative table of a fixed number of slots indexed by the input's hash: a rejection is
+ * in one of the two slots of its set, and a rejection evicts a rejection in its set only if both slots are full. A
+ * rejection is found only if its input equals the looked-up input, so a hash collision costs a miss but never a wrong
+ * failure. `find` reports a rejection as a `Rejection` (the failure's class and position) without any exception;
+ * `evaluate` throws a new exception of the class, position and message of the exception that the input first threw
+ * (as `ResultCache` replays a cached exception), so callers never share an exception object, and without a stack
+ * trace, so a hit costs one allocation.
+ * The cache counts its hits, misses and evictions.
+ */
+public final class RejectionCache {
+
+    // the default number of slots
+    public static final int DEFAULT_CAPACITY = 1024;
+    // the number of slots in a set
+    private static final int WAY_COUNT = 2;
+
+    // the slots
+    private final AtomicReferenceArray<Rejection> slots;
+    // the mask of a slot's index
+    private final int mask;
+    // the counters of hits, misses and evictions and the number of rejections
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Initialises this cache with the default number of slots.
+     */
+    public RejectionCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initialises this cache with a number of slots.
+     * @param capacity the number of slots (a power of two of at least `2`), which bounds the number of rejections
+     */
+    public RejectionCache(int capacity) {
+        if (capacity < WAY_COUNT || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException(
+                "[RejectionCache:RejectionCache] Capacity must be a power of two of at least 2."
+            );
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * @param hash an input's hash
+     * @return the index of the first slot of the input's set (the second slot is the next one)
+     */
+    private int getIndex(int hash) {
+        // spread the hash's high bits, which `String.hashCode` mixes best, into its low bits
+        return (hash ^ hash >>> 16) & mask & ~1;
+    }
+
+    /**
+     * Finds an input's rejection, counting a hit or a miss.
+     * @param inputString an input string
+     * @return the input's rejection, or `null` if the cache has none (because the input is valid or not recent)
+     */
+    public Rejection find(String inputString) {
+        int hash = inputString.hashCode();
+        int index = getIndex(hash);
+        for (int slot = index; slot < index + WAY_COUNT; slot++) {
+            Rejection rejection = slots.get(slot);
+            if (rejection != null && rejection.matches(hash, inputString)) {
+                hitCount.increment();
+                return rejection;
+            }
+        }
+        missCount.increment();
+        return null;
+    }
+
+    /**
+     * Stores an input's rejection in an empty slot of its set (or a slot with a rejection of the same input), or else
+     * evicts a rejection in the set, choosing the slot by another bit of the input's hash.
+     * @param inputString the input string
+     * @param exception the exception that the input threw (an `IllegalLexemeException` or an `IllegalTokenException`)
+     */
+    void put(String inputString, PositionedException exception) {
+        Rejection rejection = new Rejection(inputString, exception);
+        int index = getIndex(rejection.hash);
+        int target = index + (rejection.hash >>> 31);
+        for (int slot = index; slot < index + WAY_COUNT; slot++) {
+            Rejection current = slots.get(slot);
+            if (current == null || current.matches(rejection.hash, inputString)) {
+                target = slot;
+                break;
+            }
+        }
+        Rejection evicted = slots.getAndSet(target, rejection);
+        if (evicted == null) {
+            size.incrementAndGet();
+        } else if (!evicted.matches(rejection.hash, inputString)) {
+            evictionCount.increment();
+        }
+    }
+
+    /**
+     * Fails at once for a recently rejected input, or else computes the input's value, storing its rejection if it
+     * fails to lex or parse.
+     * @param inputString an input string
+     * @param computation the computation of the input's value on a miss
+     * @return the input's value
+     * @throws IOException the computation throws an IO exception (which the cache does not keep)
+     * @throws IllegalLexemeException the computation throws (or threw) an `IllegalLexemeException`
+     * @throws IllegalTokenException the computation throws (or threw) an `IllegalTokenException`
+     */
+    public double evaluate(String inputString, ResultCache.Computation computation) throws
+        IOException,
+        IllegalLexemeException,
+        IllegalTokenException
+    {
+        Rejection rejection = find(inputString);
+        if (rejection != null) {
+            rejection.rethrow();
+        }
+        try {
+            return computation.compute(inputString);
+        } catch (IllegalLexemeException | IllegalTokenException exception) {
+            put(inputString, exception);
+            throw exception;
+        }
+    }
+
+    /**
+     * @return the number of lookups that found a rejection
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return the number of lookups that found no rejection
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return the number of rejections that other inputs' rejections replaced in their slots
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * @return the number of slots, which bounds the number of rejections
+     */
+    public int getCapacity() {
+        return slots.length();
+    }
+
+    /**
+     * @return the number of rejections in the cache
+     */
+    public int getSize() {
+        return size.get();
+    }
+
+    /**
+     * A class to represent the rejection of an input: the class and position of the exception that it threw.
+     */
+    public static final class Rejection {
+
+        private final int hash;
+        private final String inputString;
+        private final PositionedException exception;
+
+        /**
+         * Initialises this rejection's input and exception.
+         * @param inputString the input string
+         * @param exception the exception that the input threw
+         */
+        private Rejection(String inputString, PositionedException exception) {
+            this.hash = inputString.hashCode();
+            this.inputString = inputString;
+            this.exception = exception;
+        }
+
+        /**
+         * @param hash an input's hash
+         * @param inputString the input string
+         * @return whether this rejection is the input's
+         */
+        private boolean matches(int hash, String inputString) {
+            return this.hash == hash && this.inputString.equals(inputString);
+        }
+
+        /**
+         * Throws a new exception, without a stack trace, of the class, position and message of the exception that the
+         * input threw.
+         * @throws IllegalLexemeException the exception is an `IllegalLexemeException`
+         * @throws IllegalTokenException the exception is an `IllegalTokenException`
+         */
+        private void rethrow() throws IllegalLexemeException, IllegalTokenException {
+            throw ResultCache.replay(exception);
+        }
+
+        /**
+         * @return the rejected input string
+         */
+        public String getInputString() {
+            return inputString;
+        }
+
+        /**
+         * @return the class of the exception that the input threw
+         */
+        public Class<? extends PositionedException> getExceptionClass() {
+            return exception.getClass();
+        }
+
+        /**
+         * @return the input line number at which the input failed
+         */
+        public int getLineNumber() {
+            return exception.getLineNumber();
+        }
+
+        /**
+         * @return the input character number at which the input failed
+         */
+        public int getCharacterNumber() {
+            return exception.getCharacterNumber();
+        }
+
+        /**
+         * @return the exception's message
+         */
+        public String getMessage() {
+            return exception.getMessage();
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package service;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import lexer.IllegalLexemeException;
+import main.PositionedException;
+
+import parser.IllegalTokenException;
+
+/**
+ * A class to represent a bounded, thread-safe cache of expressions' outcomes (values and positioned exceptions), which
+ * an `ExpressionService` can consult before it lexes and evaluates an input.
+ * The cache keys an outcome by the input with each run of whitespace collapsed to a space and no leading or trailing
+ * whitespace, which the lexer reads as the same tokens, so inputs that differ only in their whitespace share a value.
+ * An exception's position depends on the whitespace, so a cached exception is replayed only for exactly the input
+ * that threw it: as a new exception of the same `PositionedException` subclass with the same position and message (and
+ * no stack trace).
+ * The cache is striped into segments by the key's hash, each guarded by its own lock and holding its entries in
+ * least-recently-used order. Once a segment is full, a new entry replaces the segment's least recently used entry only
+ * if a `FrequencySketch` of the segment's recent lookups estimates that the new key occurs more often (TinyLFU), so a
+ * stream of one-off inputs cannot flush the inputs that recur. The cache counts its hits, misses, evictions and
+ * rejected admissions.
+ */
+public final class ResultCache {
+
+    // the default maximum number of entries
+    public static final int DEFAULT_MAXIMUM_SIZE = 10000;
+    // the maximum number of segments
+    private static final int MAX_SEGMENT_COUNT = 16;
+
+    // the constructors by which the cache replays an exception of each class (the protected constructors that take a
+    // preformatted message and capture no stack trace), or `null` if a class has none
+    private static final ClassValue<Constructor<? extends PositionedException>> CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected Constructor<? extends PositionedException> computeValue(Class<?> type) {
+            try {
+                Constructor<? extends PositionedException> constructor = type.asSubclass(PositionedException.class)
+                    .getDeclaredConstructor(
+                        String.class, String.class, int.class, int.class, String.class, String.class
+                    );
+                constructor.setAccessible(true);
+                return constructor;
+            } catch (NoSuchMethodException | RuntimeException exception) {
+                return null;
+            }
+        }
+    };
+
+    /**
+     * A functional interface for the computation of an input's value on a miss.
+     */
+    public interface Computation {
+        double compute(String inputString) throws IOException, IllegalLexemeException, IllegalTokenException;
+    }
+
+    // the segments and the mask of a segment's index
+    private final Segment[] segments;
+    private final int segmentMask;
+    // the counters of hits, misses, evictions and rejected admissions
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder rejectionCount = new LongAdder();
+
+    /**
+     * Initialises this cache with the default maximum number of entries.
+     */
+    public ResultCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Initialises this cache with a maximum number of entries.
+     * @param maximumSize the maximum number of entries (at least `1`)
+     */
+    public ResultCache(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("[ResultCache:ResultCache] Maximum size must be at least 1.");
+        }
+        int segmentCount = Math.min(MAX_SEGMENT_COUNT, Integer.highestOneBit(maximumSize));
+        this.segments = new Segment[segmentCount];
+        for (int index = 0; index < segmentCount; index++) {
+            segments[index] = new Segment(maximumSize / segmentCount);
+        }
+        this.segmentMask = segmentCount - 1;
+    }
+
+    /**
+     * Collapses each run of whitespace in an input to a space and removes leading and trailing whitespace.
+     * @param inputString an input string
+     * @return the normalised input (the input itself if it is already normalised)
+     */
+    static String normalize(String inputString) {
+        if (isNormalized(inputString)) {
+            return inputString;
+        }
+        StringBuilder builder = new StringBuilder(inputString.length());
+        boolean separated = false;
+        for (int index = 0; index < inputString.length(); index++) {
+            char character = inputString.charAt(index);
+            // the lexer treats every whitespace character alike, except that a newline also starts a line
+            if (Character.isWhitespace(character)) {
+                separated = builder.length() > 0;
+            } else {
+                if (separated) {
+                    builder.append(' ');
+                    separated = false;
+                }
+                builder.append(character);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * @param inputString an input string
+     * @return whether the input has no whitespace but single spaces between other characters
+     */
+    private static boolean isNormalized(String inputString) {
+        int length = inputString.length();
+        for (int index = 0; index < length; index++) {
+            char character = inputString.charAt(index);
+            if (
+                character == ' '
+                    ? index == 0 || index == length - 1 || inputString.charAt(index + 1) == ' '
+                    : Character.isWhitespace(character)
+            ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param key a key
+     * @return the key's hash, with its high bits folded into its low bits
+     */
+    private static int getHash(String key) {
+        int hash = key.hashCode();
+        return hash ^ hash >>> 16;
+    }
+
+    /**
+     * Finds an input's cached outcome, or computes it and offers it to the cache.
+     * @param inputString an input string
+     * @param computation the computation of the input's value on a miss
+     * @return the input's value
+     * @throws IOException the computation throws an IO exception (which the cache does not keep)
+     * @throws IllegalLexemeException the computation throws (or threw) an `IllegalLexemeException`
+     * @throws IllegalTokenException the computation throws (or threw) an `IllegalTokenException`
+     */
+    public double evaluate(String inputString, Computation computation) throws
+        IOException,
+        IllegalLexemeException,
+        IllegalTokenException
+    {
+        String key = normalize(inputString);
+        int hash = getHash(key);
+        Segment segment = segments[hash & segmentMask];
+        Outcome outcome;
+        synchronized (segment) {
+            segment.sketch.increment(hash);
+            outcome = segment.outcomes.get(key);
+        }
+        if (outcome != null && (outcome.exception == null || outcome.inputString.equals(inputString))) {
+            hitCount.increment();
+            if (outcome.exception == null) {
+                return outcome.value;
+            }
+            throw replay(outcome.exception);
+        }
+        missCount.increment();
+        // compute without the segment's lock, so a slow input does not block the segment's other inputs
+        try {
+            double value = computation.compute(inputString);
+            offer(segment, key, hash, new Outcome(value, null, null));
+            return value;
+        } catch (IllegalLexemeException | IllegalTokenException exception) {
+            offer(segment, key, hash, new Outcome(Double.NaN, exception, inputString));
+            throw exception;
+        }
+    }
+
+    /**
+     * Stores an outcome in a segment, replacing the key's outcome, filling a free entry or replacing the least recently
+     * used entry if the sketch estimates that the key occurs more often than that entry's.
+     * @param segment the key's segment
+     * @param key the key
+     * @param hash the key's hash
+     * @param outcome the outcome
+     */
+    private void offer(Segment segment, String key, int hash, Outcome outcome) {
+        synchronized (segment) {
+            if (segment.outcomes.size() < segment.capacity || segment.outcomes.containsKey(key)) {
+                segment.outcomes.put(key, outcome);
+                return;
+            }
+            Iterator<Map.Entry<String, Outcome>> iterator = segment.outcomes.entrySet().iterator();
+            String victim = iterator.next().getKey();
+            if (segment.sketch.frequency(hash) > segment.sketch.frequency(getHash(victim))) {
+                iterator.remove();
+                segment.outcomes.put(key, outcome);
+                evictionCount.increment();
+            } else {
+                rejectionCount.increment();
+            }
+        }
+    }
+
+    /**
+     * Creates a new exception of a cached exception's class with its names, position, description and message, so
+     * that callers never share an exception object. The new exception reuses the cached message and has no stack
+     * trace, so a replay costs an allocation rather than the formatting and stack walk of the original failure.
+     * @param exception a cached exception (an `IllegalLexemeException` or an `IllegalTokenException`)
+     * @return nothing, since the method always throws (so that a caller can `throw` its result to end its flow)
+     * @throws IllegalLexemeException the new exception (or the cached exception itself if its class has no such
+     * constructor), if it is an `IllegalLexemeException`
+     * @throws IllegalTokenException the new exception (or the cached exception itself), if it is an
+     * `IllegalTokenException`
+     */
+    static RuntimeException replay(PositionedException exception) throws
+        IllegalLexemeException,
+        IllegalTokenException
+    {
+        PositionedException replayed = exception;
+        Constructor<? extends PositionedException> constructor = CONSTRUCTORS.get(exception.getClass());
+        if (constructor != null) {
+            try {
+                replayed = constructor.newInstance(
+                    exception.getClassName(),
+                    exception.getMethodName(),
+                    exception.getLineNumber(),
+                    exception.getCharacterNumber(),
+                    exception.getDescription(),
+                    exception.getMessage()
+                );
+            } catch (ReflectiveOperationException reflectiveException) {
+                // keep the cached exception
+            }
+        }
+        if (replayed instanceof IllegalLexemeException lexemeException) {
+            throw lexemeException;
+        }
+        throw (IllegalTokenException) replayed;
+    }
+
+    /**
+     * @return the number of lookups that found an outcome
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return the number of lookups that found no outcome (or an exception of an input with other whitespace)
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return the ratio of hits to lookups, or `0` if there have been no lookups
+     */
+    public double getHitRatio() {
+        long hits = getHitCount();
+        long lookups = hits + getMissCount();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * @return the number of entries that new entries replaced
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * @return the number of outcomes that the cache declined because their keys occur less often than the entries
+     * they would replace
+     */
+    public long getRejectionCount() {
+        return rejectionCount.sum();
+    }
+
+    /**
+     * @return the maximum number of entries
+     */
+    public int getMaximumSize() {
+        return segments.length * segments[0].capacity;
+    }
+
+    /**
+     * @return the number of entries
+     */
+    public int getSize() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.outcomes.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * A class to represent the outcome of an input: its value, or its exception and the exact input that threw it.
+     */
+    private static final class Outcome {
+
+        private final double value;
+        private final PositionedException exception;
+        private final String inputString;
+
+        private Outcome(double value, PositionedException exception, String inputString) {
+            this.value = value;
+            this.exception = exception;
+            this.inputString = inputString;
+        }
+    }
+
+    /**
+     * A class to represent a segment: its entries in least-recently-used order and its frequency sketch, both guarded
+     * by the segment's lock.
+     */
+    private static final class Segment {
+
+        private final int capacity;
+        private final LinkedHashMap<String, Outcome> outcomes;
+        private final FrequencySketch sketch;
+
+        private Segment(int capacity) {
+            this.capacity = capacity;
+            this.outcomes = new LinkedHashMap<>(16, 0.75f, true);
+            this.sketch = new FrequencySketch(capacity);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package lexer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class ByteBufferExpressionLexerUnitTest {
+
+    private final String inputString;
+
+    public ByteBufferExpressionLexerUnitTest(String inputString) {
+        this.inputString = inputString;
+    }
+
+    @Parameters
+    public static List<Object[]> getParameters() {
+        // `ByteBufferExpressionLexer` agrees with `ExpressionLexer` (on the bytes decoded as US-ASCII) on the lexer
+        // tests' inputs, encoded as UTF-8.
+        return LexerOutcomes.getCorpus();
+    }
+
+    @Test
+    public void testByteBufferExpressionLexer() {
+        // ARRANGE
+        byte[] bytes = inputString.getBytes(StandardCharsets.UTF_8);
+        // The heap buffer is a slice of a larger array, between a nonzero position and a limit before its end.
+        ByteBuffer heapBuffer = ByteBuffer.wrap(new byte[bytes.length + 4]);
+        heapBuffer.position(2).mark();
+        heapBuffer.put(bytes).limit(heapBuffer.position()).reset();
+        ByteBuffer directBuffer = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        // ACTION
+        String expectedOutcome = LexerOutcomes.getOutcome(
+            string -> new ExpressionLexer(new String(bytes, StandardCharsets.US_ASCII)),
+            inputString
+        );
+        String observedHeapOutcome = LexerOutcomes.getOutcome(
+            string -> new ByteBufferExpressionLexer(heapBuffer),
+            inputString
+        );
+        String observedDirectOutcome = LexerOutcomes.getOutcome(
+            string -> new ByteBufferExpressionLexer(directBuffer),
+            inputString
+        );
+        // ASSERT
+        Assert.assertEquals(expectedOutcome, observedHeapOutcome);
+        Assert.assertEquals(expectedOutcome, observedDirectOutcome);
+        // the lexer does not change the buffers' positions
+        Assert.assertEquals(2, heapBuffer.position());
+        Assert.assertEquals(0, directBuffer.position());
+    }
+}
@@ -0,0 +1,40 @@
+package lexer;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class CharSequenceExpressionLexerUnitTest {
+
+    private final String inputString;
+
+    public CharSequenceExpressionLexerUnitTest(String inputString) {
+        this.inputString = inputString;
+    }
+
+    @Parameters
+    public static List<Object[]> getParameters() {
+        // `CharSequenceExpressionLexer` agrees with `ExpressionLexer` on the lexer tests' inputs.
+        return LexerOutcomes.getCorpus();
+    }
+
+    @Test
+    public void testCharSequenceExpressionLexer() {
+        // ARRANGE
+        // ACTION
+        String expectedOutcome = LexerOutcomes.getOutcome(ExpressionLexer::new, inputString);
+        String observedOutcome = LexerOutcomes.getOutcome(CharSequenceExpressionLexer::new, inputString);
+        String observedArrayOutcome = LexerOutcomes.getOutcome(
+            string -> new CharSequenceExpressionLexer(string.toCharArray()),
+            inputString
+        );
+        // ASSERT
+        Assert.assertEquals(expectedOutcome, observedOutcome);
+        Assert.assertEquals(expectedOutcome, observedArrayOutcome);
+    }
+}
@@ -0,0 +1,107 @@
+package lexer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import lexer.token.NumberToken;
+
+@RunWith(Parameterized.class)
+public class DecimalConversionUnitTest {
+
+    // the number of random literals that each test converts
+    private static final int RANDOM_COUNT = 20000;
+
+    private final String inputString;
+
+    public DecimalConversionUnitTest(String inputString) {
+        this.inputString = inputString;
+    }
+
+    @Parameters
+    public static List<Object[]> getParameters() {
+        // `ExpressionLexer` converts a literal to the double nearest to it (as `Double.parseDouble` does) for ...
+        return Arrays.asList(new Object[][] {
+                // short literals that a `float` rounds
+                {"0.1"},
+                {"3.1415927"},
+                {"16777217"},
+                {"42.3"},
+                // the largest exact significand and its successor
+                {"9007199254740992"},
+                {"9007199254740993"},
+                // powers of ten at the edges of the fast path
+                {"1e22"},
+                {"1e23"},
+                {"1e-22"},
+                {"123456789e-30"},
+                // halfway cases that round to even
+                {"9007199254740993e0"},
+                {"9007199254740995"},
+                // literals near the ends of the range of doubles
+                {"1.7976931348623157e308"},
+                {"1.7976931348623159e308"},
+                {"2.2250738585072014e-308"},
+                {"2.2250738585072011e-308"},
+                {"4.9e-324"},
+                {"2.4703282292062328e-324"},
+                {"2.4703282292062327e-324"},
+                {"1e-400"},
+                {"1e400"},
+                // literals with more than 19 significant digits
+                {"12345678901234567890123"},
+                {"0.000000000000000000000012345678901234567890123"},
+                {"9007199254740993.0000000000000000001"},
+                {"2.22507385850720113605740979670913197593481954635164564e-308"},
+                // zeros and literals whose exponent saturates
+                {"0.000"},
+                {"0e400"},
+                {"1e999999999999"},
+                {"1e-999999999999"},
+        });
+    }
+
+    @Test
+    public void testDecimalConversion() throws Exception {
+        // ARRANGE
+        double expectedValue = Double.parseDouble(inputString);
+        // ACTION
+        double observedValue = ((NumberToken) new ExpressionLexer(inputString).scan()).getValue();
+        double observedCharSequenceValue = ((NumberToken) new CharSequenceExpressionLexer(inputString).scan())
+            .getValue();
+        // the lazy token's conversion (on its first call to `getValue`) agrees with the eager conversion
+        DfaExpressionLexer lazyLexer = new DfaExpressionLexer("  " + inputString + " ");
+        lazyLexer.setLazyNumbers(true);
+        double observedLazyValue = ((NumberToken) lazyLexer.scan()).getValue();
+        // ASSERT
+        Assert.assertEquals(Double.doubleToLongBits(expectedValue), Double.doubleToLongBits(observedValue));
+        Assert.assertEquals(Double.doubleToLongBits(expectedValue), Double.doubleToLongBits(observedCharSequenceValue));
+        Assert.assertEquals(Double.doubleToLongBits(expectedValue), Double.doubleToLongBits(observedLazyValue));
+    }
+
+    @Test
+    public void testRandomDecimalConversion() {
+        // ARRANGE
+        // The seed depends on the parameter so that each parameter converts different random literals.
+        Random random = new Random(inputString.hashCode());
+        for (int count = 0; count < RANDOM_COUNT; count++) {
+            long significand = random.nextLong() >>> random.nextInt(64);
+            int exponent = random.nextInt(700) - 360;
+            double expectedValue = Double.parseDouble(Long.toUnsignedString(significand) + "E" + exponent);
+            // ACTION
+            double observedValue = DecimalConversion.toDouble(significand, exponent);
+            // ASSERT
+            Assert.assertEquals(
+                Long.toUnsignedString(significand) + "E" + exponent,
+                Double.doubleToLongBits(expectedValue),
+                Double.doubleToLongBits(observedValue)
+            );
+        }
+    }
+}
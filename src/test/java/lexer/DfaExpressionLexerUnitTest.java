@@ -0,0 +1,62 @@
+package lexer;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class DfaExpressionLexerUnitTest {
+
+    // the characters of the random inputs
+    private static final String ALPHABET = "0123456789.e+-^!cosx \n\t\u0663";
+    // the number of random inputs that each test lexes
+    private static final int RANDOM_COUNT = 500;
+    // the maximum length of a random input
+    private static final int RANDOM_LENGTH = 12;
+
+    private final String inputString;
+
+    public DfaExpressionLexerUnitTest(String inputString) {
+        this.inputString = inputString;
+    }
+
+    @Parameters
+    public static List<Object[]> getParameters() {
+        // `DfaExpressionLexer` agrees with `ExpressionLexer` on the lexer tests' inputs.
+        return LexerOutcomes.getCorpus();
+    }
+
+    @Test
+    public void testDfaExpressionLexer() {
+        // ARRANGE
+        // ACTION
+        String expectedOutcome = LexerOutcomes.getOutcome(ExpressionLexer::new, inputString);
+        String observedOutcome = LexerOutcomes.getOutcome(DfaExpressionLexer::new, inputString);
+        // ASSERT
+        Assert.assertEquals(expectedOutcome, observedOutcome);
+    }
+
+    @Test
+    public void testRandomDfaExpressionLexer() {
+        // ARRANGE
+        // The seed depends on the parameter so that each parameter lexes different random inputs.
+        Random random = new Random(inputString.hashCode());
+        for (int count = 0; count < RANDOM_COUNT; count++) {
+            StringBuilder randomInput = new StringBuilder();
+            int length = random.nextInt(RANDOM_LENGTH);
+            for (int index = 0; index < length; index++) {
+                randomInput.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            // ACTION
+            String expectedOutcome = LexerOutcomes.getOutcome(ExpressionLexer::new, randomInput.toString());
+            String observedOutcome = LexerOutcomes.getOutcome(DfaExpressionLexer::new, randomInput.toString());
+            // ASSERT
+            Assert.assertEquals(randomInput.toString(), expectedOutcome, observedOutcome);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package lexer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lexer.token.ExpressionTokenTag;
+import lexer.token.Token;
+
+/**
+ * A class to compare lexers by their outcomes on a corpus of inputs.
+ */
+class LexerOutcomes {
+
+    /**
+     * A functional interface for the construction of a lexer from an input string.
+     */
+    interface LexerFactory {
+        Lexer<ExpressionTokenTag> create(String inputString) throws Exception;
+    }
+
+    /**
+     * Collects the input strings of the existing lexer tests and further inputs that exercise non-ASCII characters,
+     * positions across lines and every exception.
+     * @return the input strings, each in an array (as a parameterized test expects)
+     */
+    static List<Object[]> getCorpus() {
+        List<Object[]> corpus = new ArrayList<>();
+        for (Object[] parameters : ExpressionLexerUnitTest.getParameters()) {
+            corpus.add(new Object[] {parameters[0]});
+        }
+        for (Object[] parameters : ExpressionLexerIntegrationTest.getParameters()) {
+            corpus.add(new Object[] {parameters[0]});
+        }
+        for (Object[] parameters : ExpressionLexerExceptionUnitTest.getParameters()) {
+            corpus.add(new Object[] {parameters[0]});
+        }
+        for (String inputString : List.of(
+            // non-ASCII digits and whitespace
+            "\u0663\u0662.\u0665 +\u2003\u00a07",
+            // exceptions after several lines
+            "1\n+ 2\r\n\t-.",
+            "4 ^\n\n 3e-",
+            "cos 5\n  + c",
+            "2 ! \n $",
+            "\n\n007",
+            // a sign that follows a number
+            "5-3+-2",
+            // long literals
+            "123456789.987654321e-2 + 99999999999",
+            "-.5e+3-+.5e-3"
+        )) {
+            corpus.add(new Object[] {inputString});
+        }
+        return corpus;
+    }
+
+    /**
+     * Represents the outcome of lexing an input string as a comparable string: the tokens (and their exact values) or
+     * an exception's class and position.
+     * @param factory a factory for the lexer
+     * @param inputString an input string
+     * @return the outcome's representation
+     */
+    static String getOutcome(LexerFactory factory, String inputString) {
+        StringBuilder outcome = new StringBuilder();
+        try {
+            Lexer<ExpressionTokenTag> lexer = factory.create(inputString);
+            for (Token<ExpressionTokenTag> token = lexer.scan(); token != null; token = lexer.scan()) {
+                outcome.append(token).append(' ');
+            }
+            outcome.append(String.format("END %d:%d", lexer.getLineNumber(), lexer.getCharacterNumber()));
+        } catch (IllegalLexemeException exception) {
+            outcome.append(String.format(
+                "%s %d:%d",
+                exception.getClass().getName(),
+                exception.getLineNumber(),
+                exception.getCharacterNumber()
+            ));
+        } catch (Exception exception) {
+            outcome.append(exception.getClass().getName());
+        }
+        return outcome.toString();
+    }
+}
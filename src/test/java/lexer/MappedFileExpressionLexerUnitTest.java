@@ -0,0 +1,73 @@
+package lexer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class MappedFileExpressionLexerUnitTest {
+
+    // the window sizes with which the lexer reads each input: small sizes make tokens (and UTF-8 sequences) cross the
+    // windows' boundaries
+    private static final int[] WINDOW_SIZES = {1, 2, 3, 7, MappedFileExpressionLexer.DEFAULT_WINDOW_SIZE};
+
+    private final String inputString;
+    private final List<MappedFileExpressionLexer> lexers = new ArrayList<>();
+    private final List<Path> paths = new ArrayList<>();
+
+    public MappedFileExpressionLexerUnitTest(String inputString) {
+        this.inputString = inputString;
+    }
+
+    @Parameters
+    public static List<Object[]> getParameters() {
+        // `MappedFileExpressionLexer` agrees with `ExpressionLexer` on the lexer tests' inputs and on inputs with
+        // multi-byte UTF-8 sequences.
+        List<Object[]> parameters = LexerOutcomes.getCorpus();
+        parameters.add(new Object[] {"\u00e9 + 2\u00e9"});
+        parameters.add(new Object[] {"12 + 3\u00a0\u2003-\n4 \uD83D\uDE00"});
+        return parameters;
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        for (MappedFileExpressionLexer lexer : lexers) {
+            lexer.close();
+        }
+        for (Path path : paths) {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testMappedFileExpressionLexer() throws IOException {
+        // ARRANGE
+        Path path = Files.createTempFile("expression", ".txt");
+        paths.add(path);
+        Files.writeString(path, inputString, StandardCharsets.UTF_8);
+        String expectedOutcome = LexerOutcomes.getOutcome(ExpressionLexer::new, inputString);
+        for (int windowSize : WINDOW_SIZES) {
+            // ACTION
+            String observedOutcome = LexerOutcomes.getOutcome(
+                string -> {
+                    MappedFileExpressionLexer lexer = new MappedFileExpressionLexer(path, windowSize);
+                    lexers.add(lexer);
+                    return lexer;
+                },
+                inputString
+            );
+            // ASSERT
+            Assert.assertEquals("window size " + windowSize, expectedOutcome, observedOutcome);
+        }
+    }
+}
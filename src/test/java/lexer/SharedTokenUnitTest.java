@@ -0,0 +1,58 @@
+package lexer;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import lexer.token.*;
+import parser.symbol.ExpressionTerminals;
+import parser.symbol.Terminal;
+
+@RunWith(Parameterized.class)
+public class SharedTokenUnitTest {
+
+    private final String inputString;
+    private final Token<ExpressionTokenTag> expectedToken;
+    private final Terminal<?, ?> expectedTerminal;
+
+    public SharedTokenUnitTest(
+        String inputString,
+        Token<ExpressionTokenTag> expectedToken,
+        Terminal<?, ?> expectedTerminal
+    ) {
+        this.inputString = inputString;
+        this.expectedToken = expectedToken;
+        this.expectedTerminal = expectedTerminal;
+    }
+
+    @Parameters
+    public static List<Object[]> getParameters() {
+        // Both lexers return the shared instance of each attribute-free token, which maps to its shared terminal.
+        return Arrays.asList(new Object[][] {
+                {"+", PlusToken.INSTANCE, ExpressionTerminals.PLUS},
+                {"-", MinusToken.INSTANCE, ExpressionTerminals.MINUS},
+                {"^", PowerToken.INSTANCE, ExpressionTerminals.POWER},
+                {"cos", CosineToken.INSTANCE, ExpressionTerminals.COSINE},
+                {"!", FactorialToken.INSTANCE, ExpressionTerminals.FACTORIAL},
+        });
+    }
+
+    @Test
+    public void testSharedToken() throws Exception {
+        // ARRANGE
+        Lexer<ExpressionTokenTag> expressionLexer = new ExpressionLexer(inputString);
+        Lexer<ExpressionTokenTag> charSequenceLexer = new CharSequenceExpressionLexer(inputString);
+        // ACTION
+        Token<ExpressionTokenTag> observedToken = expressionLexer.scan();
+        Token<ExpressionTokenTag> observedCharSequenceToken = charSequenceLexer.scan();
+        // ASSERT
+        Assert.assertSame(expectedToken, observedToken);
+        Assert.assertSame(expectedToken, observedCharSequenceToken);
+        Assert.assertSame(expectedTerminal, ExpressionTerminals.of(observedToken));
+    }
+}
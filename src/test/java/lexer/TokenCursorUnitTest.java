@@ -0,0 +1,154 @@
+package lexer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import lexer.token.ExpressionTokenTag;
+
+@RunWith(Parameterized.class)
+public class TokenCursorUnitTest {
+
+    private final String inputString;
+
+    public TokenCursorUnitTest(String inputString) {
+        this.inputString = inputString;
+    }
+
+    @Parameters
+    public static List<Object[]> getParameters() {
+        // The cursors agree with `scan` (and with each other) on the lexer tests' inputs.
+        return LexerOutcomes.getCorpus();
+    }
+
+    /**
+     * Represents the outcome of advancing a cursor through an input string as a comparable string: the tokens that
+     * it materialises and the lexemes between its offsets, or an exception's class and position.
+     * @param cursor a token cursor over the input string
+     * @return the outcome's representation
+     */
+    private String getCursorOutcome(TokenCursor<ExpressionTokenTag> cursor) {
+        StringBuilder outcome = new StringBuilder();
+        int previousEndOffset = 0;
+        try {
+            for (int ordinal = cursor.advance(); ordinal != TokenCursor.EOF; ordinal = cursor.advance()) {
+                // a lexeme follows the previous one and neither starts nor ends with whitespace
+                Assert.assertTrue(previousEndOffset <= cursor.startOffset());
+                Assert.assertTrue(cursor.startOffset() < cursor.endOffset());
+                Assert.assertTrue(cursor.endOffset() <= inputString.length());
+                String lexeme = inputString.substring(cursor.startOffset(), cursor.endOffset());
+                Assert.assertEquals(lexeme.strip(), lexeme);
+                Assert.assertEquals(ordinal, cursor.currentToken().getTag().ordinal());
+                previousEndOffset = cursor.endOffset();
+                outcome.append(String.format("%s[%s] ", cursor.currentToken(), lexeme));
+            }
+            Assert.assertNull(cursor.currentToken());
+            outcome.append(String.format("END %d:%d", cursor.getLineNumber(), cursor.getCharacterNumber()));
+        } catch (IllegalLexemeException exception) {
+            outcome.append(String.format(
+                "%s %d:%d",
+                exception.getClass().getName(),
+                exception.getLineNumber(),
+                exception.getCharacterNumber()
+            ));
+        } catch (Exception exception) {
+            outcome.append(exception.getClass().getName());
+        }
+        return outcome.toString();
+    }
+
+    @Test
+    public void testTokenCursor() throws Exception {
+        // ARRANGE
+        // ACTION
+        String expectedOutcome = getCursorOutcome(new ExpressionLexer(inputString));
+        String observedOutcome = getCursorOutcome(new DfaExpressionLexer(inputString));
+        String expectedScanOutcome = LexerOutcomes.getOutcome(ExpressionLexer::new, inputString);
+        String observedScanOutcome = LexerOutcomes.getOutcome(DfaExpressionLexer::new, inputString);
+        // ASSERT
+        Assert.assertEquals(expectedOutcome, observedOutcome);
+        // `scan` is an adapter over `advance`
+        Assert.assertEquals(expectedScanOutcome, observedScanOutcome);
+        Assert.assertEquals(
+            expectedScanOutcome,
+            LexerOutcomes.getOutcome(CharSequenceExpressionLexer::new, inputString)
+        );
+    }
+
+    @Test
+    public void testOffsetPositions() throws Exception {
+        // ARRANGE
+        ExpressionLexer lexer = new ExpressionLexer(inputString);
+        // `DfaExpressionLexer` tracks its position eagerly.
+        DfaExpressionLexer expectedLexer = new DfaExpressionLexer(inputString);
+        List<Integer> startOffsets = new ArrayList<>();
+        // ACTION
+        // ASSERT
+        try {
+            while (expectedLexer.advance() != TokenCursor.EOF) {
+                lexer.advance();
+                startOffsets.add(lexer.startOffset());
+                // the lexer resolves the offset after a token to the position after reading the token
+                Assert.assertEquals(expectedLexer.getLineNumber(), lexer.getLineNumber(lexer.endOffset()));
+                Assert.assertEquals(expectedLexer.getCharacterNumber(), lexer.getCharacterNumber(lexer.endOffset()));
+                Assert.assertEquals(expectedLexer.getLineNumber(), lexer.getLineNumber());
+                Assert.assertEquals(expectedLexer.getCharacterNumber(), lexer.getCharacterNumber());
+            }
+        } catch (IllegalLexemeException exception) {
+            // the lexers' exceptions are compared by `testTokenCursor`
+        }
+        // the lexer resolves the start offsets of earlier lines once it has read them all
+        for (int offset : startOffsets) {
+            String prefix = inputString.substring(0, offset);
+            Assert.assertEquals(prefix.split("\n", -1).length, lexer.getLineNumber(offset));
+            Assert.assertEquals(offset - prefix.lastIndexOf('\n'), lexer.getCharacterNumber(offset));
+        }
+    }
+
+    @Test
+    public void testLazyNumbers() throws Exception {
+        // ARRANGE
+        DfaExpressionLexer lexer = new DfaExpressionLexer(inputString);
+        DfaExpressionLexer lazyLexer = new DfaExpressionLexer(inputString);
+        lazyLexer.setLazyNumbers(true);
+        DfaExpressionLexer lazyCursor = new DfaExpressionLexer(inputString);
+        lazyCursor.setLazyNumbers(true);
+        // ACTION
+        String expectedOutcome = getCursorOutcome(lexer);
+        String observedOutcome = getCursorOutcome(lazyLexer);
+        String expectedScanOutcome = LexerOutcomes.getOutcome(DfaExpressionLexer::new, inputString);
+        String observedScanOutcome = LexerOutcomes.getOutcome(
+            string -> {
+                DfaExpressionLexer scanLexer = new DfaExpressionLexer(string);
+                scanLexer.setLazyNumbers(true);
+                return scanLexer;
+            },
+            inputString
+        );
+        // ASSERT
+        // The lazy lexer throws the same exceptions at the same positions, and its numbers have the same values.
+        Assert.assertEquals(expectedOutcome, observedOutcome);
+        Assert.assertEquals(expectedScanOutcome, observedScanOutcome);
+        // `numberValue` converts the current number on demand
+        DfaExpressionLexer eagerCursor = new DfaExpressionLexer(inputString);
+        try {
+            for (int ordinal = lazyCursor.advance(); ordinal != TokenCursor.EOF; ordinal = lazyCursor.advance()) {
+                Assert.assertEquals(ordinal, eagerCursor.advance());
+                if (lazyCursor.currentToken() instanceof LazyNumberToken token) {
+                    Assert.assertEquals(lazyCursor.startOffset(), token.getOffset());
+                    Assert.assertEquals(
+                        Double.doubleToLongBits(eagerCursor.numberValue()),
+                        Double.doubleToLongBits(lazyCursor.numberValue())
+                    );
+                }
+            }
+        } catch (IllegalLexemeException exception) {
+            // the lexers' exceptions are compared by `getCursorOutcome`
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package main;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import parser.ExpressionEvaluator;
+import service.ExpressionService;
+
+@RunWith(Parameterized.class)
+public class BatchEvaluatorUnitTest {
+
+    // the number of lines in the batch
+    private static final int LINE_COUNT = 2000;
+
+    private final int windowSize;
+    private final boolean ordered;
+
+    public BatchEvaluatorUnitTest(int windowSize, boolean ordered) {
+        this.windowSize = windowSize;
+        this.ordered = ordered;
+    }
+
+    @Parameters
+    public static List<Object[]> getParameters() {
+        // `BatchEvaluator` writes the same result as `ExpressionEvaluator` for every line with a window of ...
+        return Arrays.asList(new Object[][] {
+                // a single line in flight
+                {1, true},
+                {1, false},
+                // a few lines in flight
+                {7, true},
+                {7, false},
+                // every line in flight
+                {BatchEvaluator.DEFAULT_WINDOW_SIZE, true},
+                {BatchEvaluator.DEFAULT_WINDOW_SIZE, false},
+        });
+    }
+
+    /**
+     * Represents the result of a line as a fixed `ResultWriter` writes it, evaluating the line on the calling thread.
+     * @param line a line
+     * @return the result's text
+     */
+    private static String getExpectedResult(String line) {
+        try {
+            return String.format("%s = %f%n", line, ExpressionEvaluator.evaluate(line));
+        } catch (PositionedException | UnpositionedException exception) {
+            return String.format("%s: %s%n", line, exception.getMessage());
+        } catch (Exception exception) {
+            throw new AssertionError(exception);
+        }
+    }
+
+    @Test
+    public void testBatchEvaluator() throws Exception {
+        // ARRANGE
+        // the lines mix valid expressions, lexer errors, parser errors and empty lines
+        String[] templates = {"%d + cos %d", "%d ^ 0.5 - %d!", "0%d + %d", "%d ^ ^ %d", "", "%d.5e-%d"};
+        Random random = new Random(0);
+        List<String> lines = new ArrayList<>();
+        StringBuilder input = new StringBuilder();
+        for (int index = 0; index < LINE_COUNT; index++) {
+            String template = templates[random.nextInt(templates.length)];
+            String line = String.format(template, 1 + random.nextInt(9), random.nextInt(10));
+            lines.add(line);
+            input.append(line).append('\n');
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        // ACTION
+        long lineCount;
+        try (ResultSink sink = new ResultWriter(Channels.newChannel(output), true, !ordered)) {
+            lineCount = new BatchEvaluator(new ExpressionService(executor), windowSize, ordered)
+                .run(new BufferedReader(new StringReader(input.toString())), sink);
+        } finally {
+            executor.shutdown();
+        }
+        // ASSERT
+        Assert.assertEquals(LINE_COUNT, lineCount);
+        String[] results = output.toString(StandardCharsets.UTF_8).split("(?<=\\n)");
+        Assert.assertEquals(LINE_COUNT, results.length);
+        if (ordered) {
+            for (int index = 0; index < LINE_COUNT; index++) {
+                Assert.assertEquals(getExpectedResult(lines.get(index)), results[index]);
+            }
+        } else {
+            // each numbered result matches its line, and every line has exactly one result
+            boolean[] seen = new boolean[LINE_COUNT];
+            for (String result : results) {
+                int separator = result.indexOf(": ");
+                int index = Integer.parseInt(result.substring(0, separator)) - 1;
+                Assert.assertFalse(seen[index]);
+                seen[index] = true;
+                Assert.assertEquals(getExpectedResult(lines.get(index)), result.substring(separator + 2));
+            }
+        }
+    }
+
+    @Test
+    public void testUnpositionedFailure() throws Exception {
+        // ARRANGE
+        // the factorial of a non-integer fails without a position, between lines that succeed or fail with one
+        List<String> lines = Arrays.asList("1 + 2", "2.5!", "3 ^ ^ 2", "4!", "cos 0.5!");
+        StringBuilder input = new StringBuilder();
+        for (String line : lines) {
+            input.append(line).append('\n');
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        // ACTION
+        long lineCount;
+        try (ResultSink sink = new ResultWriter(Channels.newChannel(output), true, !ordered)) {
+            lineCount = new BatchEvaluator(new ExpressionService(executor), windowSize, ordered)
+                .run(new BufferedReader(new StringReader(input.toString())), sink);
+        } finally {
+            executor.shutdown();
+        }
+        // ASSERT
+        Assert.assertEquals(lines.size(), lineCount);
+        String[] results = output.toString(StandardCharsets.UTF_8).split("(?<=\\n)");
+        Assert.assertEquals(lines.size(), results.length);
+        List<String> expectedResults = new ArrayList<>();
+        for (int index = 0; index < lines.size(); index++) {
+            String expectedResult = getExpectedResult(lines.get(index));
+            expectedResults.add(ordered ? expectedResult : String.format("%d: %s", index + 1, expectedResult));
+        }
+        List<String> actualResults = new ArrayList<>(Arrays.asList(results));
+        if (!ordered) {
+            actualResults.sort((first, second) -> Integer.compare(
+                Integer.parseInt(first.substring(0, first.indexOf(':'))),
+                Integer.parseInt(second.substring(0, second.indexOf(':')))
+            ));
+        }
+        Assert.assertEquals(expectedResults, actualResults);
+        // the line without a position reports the exception's message
+        Assert.assertTrue(actualResults.get(1).endsWith("2.5!: [FactorialProduction:createNonterminal] "
+            + "Value of the operand symbol is not a positive integer." + System.lineSeparator()));
+    }
+}
@@ -0,0 +1,180 @@
+package main;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class DoubleFormatterUnitTest {
+
+    // the number of random doubles of each kind in each sweep
+    private static final int SWEEP_COUNT = 400;
+
+    private final double value;
+
+    public DoubleFormatterUnitTest(double value) {
+        this.value = value;
+    }
+
+    @Parameters
+    public static List<Object[]> getParameters() {
+        // `DoubleFormatter` writes the shortest round-trip decimal and exactly `%f` for ...
+        return Arrays.asList(new Object[][] {
+                // special values
+                {0.0},
+                {-0.0},
+                {Double.NaN},
+                {Double.POSITIVE_INFINITY},
+                {Double.NEGATIVE_INFINITY},
+                // extreme values
+                {Double.MIN_VALUE},
+                {2 * Double.MIN_VALUE},
+                {Double.MIN_NORMAL},
+                {Double.MAX_VALUE},
+                {-Double.MAX_VALUE},
+                // integers
+                {1.0},
+                {-42.0},
+                {1e15},
+                {9007199254740993.0},
+                {1e23},
+                // the boundaries of the plain layout
+                {1e-3},
+                {9.99e-4},
+                {1e7},
+                {9999999.0},
+                // values whose `%f` rounds at a midpoint
+                {0.5e-6},
+                {-0.5e-6},
+                {2.5e-6},
+                {0.0000015},
+                {1.0000005},
+                {-1e-9},
+                // values whose shortest decimals are not the digits of older conversions
+                {2e23},
+                {5e-324},
+                {1.0E23},
+                {8.41E21},
+                {2.0E-3},
+                // ordinary values
+                {0.1},
+                {0.3},
+                {Math.PI},
+                {-Math.E},
+                {123456.789},
+                {0.1 + 0.2},
+                {1099511627775.5},
+                {1099511627776.5},
+        });
+    }
+
+    /**
+     * Formats a double with a formatter.
+     * @param formatter a formatter
+     * @param value a double
+     * @return the formatted double
+     */
+    private static String format(DoubleFormatter formatter, double value) {
+        byte[] buffer = new byte[DoubleFormatter.MAX_LENGTH + 1];
+        // write at an offset to check that the formatter respects its position
+        int end = formatter.format(value, buffer, 1);
+        return new String(buffer, 1, end - 1, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Asserts that a string is the shortest decimal that rounds to a double, and that it is the closest such decimal
+     * with its number of digits.
+     * @param value a finite double
+     * @param text the formatted double
+     */
+    private static void assertShortest(double value, String text) {
+        Assert.assertEquals(text, Double.doubleToLongBits(value), Double.doubleToLongBits(Double.parseDouble(text)));
+        if (value == 0) {
+            return;
+        }
+        BigDecimal decimal = new BigDecimal(text).stripTrailingZeros();
+        BigDecimal exact = new BigDecimal(value);
+        int precision = decimal.precision();
+        // no decimal with fewer digits rounds to the double (a decimal of two digits is short enough, as it is for
+        // `Double.toString`)
+        if (precision > 2) {
+            for (RoundingMode mode : new RoundingMode[] {RoundingMode.FLOOR, RoundingMode.CEILING}) {
+                BigDecimal shorter = exact.round(new MathContext(precision - 1, mode));
+                Assert.assertNotEquals(text, value, shorter.doubleValue(), 0);
+            }
+        }
+        // the decimal is the closest one with its number of digits (up to a tie)
+        BigDecimal closest = exact.round(new MathContext(precision, RoundingMode.HALF_EVEN));
+        Assert.assertEquals(
+            text,
+            closest.subtract(exact).abs().compareTo(decimal.subtract(exact).abs()),
+            0
+        );
+    }
+
+    @Test
+    public void testShortest() {
+        // ARRANGE
+        DoubleFormatter formatter = new DoubleFormatter(false);
+        // ACTION
+        String text = format(formatter, value);
+        // ASSERT
+        if (Double.isFinite(value)) {
+            assertShortest(value, text);
+        }
+        // the layout is `Double.toString`'s (whose digits are the shortest from Java 19)
+        if (Double.isNaN(value) || Double.isInfinite(value) || value == 0) {
+            Assert.assertEquals(Double.toString(value), text);
+        } else {
+            Assert.assertEquals(Double.toString(value).contains("E"), text.contains("E"));
+        }
+    }
+
+    @Test
+    public void testFixed() {
+        // ARRANGE
+        DoubleFormatter formatter = new DoubleFormatter(true);
+        // ACTION
+        String text = format(formatter, value);
+        // ASSERT
+        Assert.assertEquals(String.format("%f", value), text);
+    }
+
+    @Test
+    public void testSweep() {
+        // ARRANGE
+        // random doubles of every magnitude and random doubles near the value
+        DoubleFormatter shortest = new DoubleFormatter(false);
+        DoubleFormatter fixed = new DoubleFormatter(true);
+        Random random = new Random(Double.hashCode(value));
+        List<Double> values = new ArrayList<>();
+        for (int index = 0; index < SWEEP_COUNT; index++) {
+            values.add(Double.longBitsToDouble(random.nextLong()));
+            values.add(random.nextDouble() * Math.pow(10, random.nextInt(30) - 15));
+            if (Double.isFinite(value)) {
+                values.add(Double.longBitsToDouble(Double.doubleToRawLongBits(value) + random.nextInt(64) - 32));
+            }
+        }
+        for (double next : values) {
+            // ACTION
+            String shortestText = format(shortest, next);
+            String fixedText = format(fixed, next);
+            // ASSERT
+            if (Double.isFinite(next)) {
+                assertShortest(next, shortestText);
+            }
+            Assert.assertEquals(String.format("%f", next), fixedText);
+        }
+    }
+}
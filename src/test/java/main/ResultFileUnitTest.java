@@ -0,0 +1,123 @@
+package main;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import parser.ExpressionEvaluator;
+import service.ExpressionService;
+
+@RunWith(Parameterized.class)
+public class ResultFileUnitTest {
+
+    private final int lineCount;
+    private final boolean ordered;
+
+    public ResultFileUnitTest(int lineCount, boolean ordered) {
+        this.lineCount = lineCount;
+        this.ordered = ordered;
+    }
+
+    @Parameters
+    public static List<Object[]> getParameters() {
+        // a `ResultFileReader` reads the results that a `BinaryResultWriter` wrote for a batch of ...
+        return Arrays.asList(new Object[][] {
+                // no lines
+                {0, true},
+                // a line
+                {1, true},
+                // lines in order
+                {3000, true},
+                // lines out of order
+                {3000, false},
+                // more lines than the values' buffer holds
+                {200_000, true},
+        });
+    }
+
+    @Test
+    public void testResultFile() throws Exception {
+        // ARRANGE
+        // the lines mix valid expressions, lexer errors, parser errors and empty lines
+        String[] templates = {"%d + cos %d", "%d ^ 0.5 - %d!", "0%d + %d", "%d ^ ^ %d", "", "%d.5e-%d", "%d $ %d"};
+        Random random = new Random(lineCount);
+        List<String> lines = new ArrayList<>();
+        StringBuilder input = new StringBuilder();
+        for (int index = 0; index < lineCount; index++) {
+            String template = templates[random.nextInt(templates.length)];
+            String line = String.format(template, 1 + random.nextInt(9), random.nextInt(10));
+            lines.add(line);
+            input.append(line).append('\n');
+        }
+        Path path = Files.createTempFile("results", ".bin");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            // ACTION
+            try (ResultSink sink = new BinaryResultWriter(path)) {
+                new BatchEvaluator(new ExpressionService(executor), 64, ordered)
+                    .run(new BufferedReader(new StringReader(input.toString())), sink);
+            }
+            // ASSERT
+            try (ResultFileReader reader = new ResultFileReader(path)) {
+                Assert.assertEquals(lineCount, reader.getCount());
+                int errorCount = 0;
+                int previousError = -1;
+                for (int index = 0; index < lineCount; index++) {
+                    int error = reader.findError(index);
+                    try {
+                        double value = ExpressionEvaluator.evaluate(lines.get(index));
+                        Assert.assertEquals(ResultFile.OK, reader.getStatus(index));
+                        Assert.assertEquals(-1, error);
+                        Assert.assertEquals(
+                            Double.doubleToLongBits(value),
+                            Double.doubleToLongBits(reader.getValues().get(index))
+                        );
+                    } catch (PositionedException exception) {
+                        Class<?> exceptionClass = ResultFile.getExceptionClass(reader.getStatus(index));
+                        Assert.assertEquals(exception.getClass(), exceptionClass);
+                        Assert.assertTrue(Double.isNaN(reader.getValue(index)));
+                        // the error index is in record order
+                        Assert.assertTrue(error > previousError);
+                        Assert.assertEquals(index, reader.getErrorRecord(error));
+                        Assert.assertEquals(exception.getLineNumber(), reader.getErrorLineNumber(error));
+                        Assert.assertEquals(exception.getCharacterNumber(), reader.getErrorCharacterNumber(error));
+                        Assert.assertEquals(exception.getMessage(), reader.getErrorMessage(error));
+                        previousError = error;
+                        errorCount++;
+                    }
+                }
+                Assert.assertEquals(errorCount, reader.getErrorCount());
+            }
+        } finally {
+            executor.shutdown();
+            Files.delete(path);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidFile() throws IOException {
+        // ARRANGE
+        Path path = Files.createTempFile("results", ".txt");
+        try {
+            Files.writeString(path, "1 = 1.0\n".repeat(16));
+            // ACTION
+            new ResultFileReader(path).close();
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
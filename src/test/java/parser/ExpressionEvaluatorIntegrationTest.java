@@ -0,0 +1,79 @@
+package parser;
+
+import java.util.Arrays;
+import java.util.List;
+
+import lexer.CharSequenceExpressionLexer;
+import lexer.DfaExpressionLexer;
+
+import parser.symbol.ExpressionNonterminal;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runner.RunWith;
+
+@RunWith(Parameterized.class)
+public class ExpressionEvaluatorIntegrationTest {
+
+    private final String inputString;
+
+    public ExpressionEvaluatorIntegrationTest(String inputString) {
+        this.inputString = inputString;
+    }
+
+    @Parameters
+    public static List<Object[]> getParameters() {
+        // `ExpressionEvaluator` agrees with `ExpressionParser` on ...
+        return Arrays.asList(new Object[][] {
+                // a number
+                {"30"},
+                // every operator
+                {"3.06e+2\n^-.89+5!-cos3!\n"},
+                {".008e+2^ -2^ 3+0! "},
+                {"2. + cos89-34- 54 \n+ 4!"},
+                // operator precedences and associativities
+                {"9.5+-2.003+100-3.95-4.7^1.3^0.7"},
+                {"cos cos 5! ^ 2 - 93 + 4!"},
+                // an invalid token
+                {"^4"},
+                {"2.445\n6e-10"},
+                {"cos14.0004e-4\n\n5"},
+                // an invalid lexeme
+                {"3e+"},
+                // an empty input
+                {""},
+        });
+    }
+
+    @Test
+    public void testExpressionEvaluator() {
+        // ARRANGE
+        // ACTION
+        Object expectedOutcome = ValueOutcomes.getOutcome(() -> ExpressionParser.parse(inputString).getValue());
+        Object observedOutcome = ValueOutcomes.getOutcome(() -> ExpressionEvaluator.evaluate(inputString));
+        // ASSERT
+        // The outcomes are exactly equal values or exceptions of the same class and position.
+        Assert.assertEquals(expectedOutcome, observedOutcome);
+    }
+
+    @Test
+    public void testTokenCursor() {
+        // ARRANGE
+        // ACTION
+        // A `CharSequenceExpressionLexer` is not a token cursor, so the drivers read its tokens by `scan`.
+        Object expectedOutcome = ValueOutcomes.getOutcome(
+            () -> new ExpressionEvaluator(new CharSequenceExpressionLexer(inputString)).run()
+        );
+        Object observedParserOutcome = ValueOutcomes.getOutcome(
+            () -> ((ExpressionNonterminal) new ExpressionParser(new DfaExpressionLexer(inputString)).run()).getValue()
+        );
+        Object observedEvaluatorOutcome = ValueOutcomes.getOutcome(
+            () -> new ExpressionEvaluator(new DfaExpressionLexer(inputString)).run()
+        );
+        // ASSERT
+        Assert.assertEquals(expectedOutcome, observedParserOutcome);
+        Assert.assertEquals(expectedOutcome, observedEvaluatorOutcome);
+    }
+}
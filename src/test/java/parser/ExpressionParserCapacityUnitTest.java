@@ -0,0 +1,58 @@
+package parser;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runner.RunWith;
+
+import lexer.ExpressionLexer;
+import lexer.IllegalLexemeException;
+import parser.symbol.ExpressionNonterminal;
+
+@RunWith(Parameterized.class)
+public class ExpressionParserCapacityUnitTest {
+
+    // the number of power operators in the input's right-associative chain
+    private static final int CHAIN_LENGTH = 5000;
+
+    private final int capacity;
+
+    public ExpressionParserCapacityUnitTest(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Parameters
+    public static List<Object[]> getParameters() {
+        // `ExpressionParser` correctly parses a long chain of power operators with stacks that ...
+        return Arrays.asList(new Object[][] {
+                // must grow from the smallest capacity
+                {1},
+                // must grow from the default capacity
+                {Parser.DEFAULT_CAPACITY},
+                // never grow
+                {2 * CHAIN_LENGTH + 2},
+        });
+    }
+
+    @Test
+    public void testExpressionParserCapacity() throws IOException, IllegalLexemeException, IllegalTokenException {
+        // ARRANGE
+        // The input is "2^1^1^...^1", whose value is `2`.
+        String inputString = "2" + "^1".repeat(CHAIN_LENGTH);
+        ExpressionParser expressionParser = new ExpressionParser(
+            new ExpressionLexer(inputString),
+            ExpressionParser.getTable(),
+            capacity
+        );
+        // ACTION
+        ExpressionNonterminal observedNonterminal = (ExpressionNonterminal) expressionParser.run();
+        // ASSERT
+        Assert.assertEquals(2, observedNonterminal.getValue(), 0);
+        Assert.assertTrue(expressionParser.getCapacity() >= capacity);
+    }
+}
@@ -351,4 +351,18 @@ public class ExpressionParserUnitTest {
             observedNonterminal.fuzzyEquals(expectedNonterminal)
         );
     }
+
+    @Test
+    public void testValidatingExpressionParser() throws IOException, IllegalLexemeException, IllegalTokenException {
+        // ARRANGE
+        ExpressionParser expressionParser = new ExpressionParser(new MockExpressionLexer(tokens));
+        expressionParser.setValidating(true);
+        // ACTION
+        Nonterminal<ExpressionTokenTag, ExpressionNonterminalTag> nonterminal = expressionParser.run();
+        // ASSERT
+        Assert.assertTrue(
+            (nonterminal instanceof ExpressionNonterminal observedNonterminal) &&
+            observedNonterminal.fuzzyEquals(expectedNonterminal)
+        );
+    }
 }
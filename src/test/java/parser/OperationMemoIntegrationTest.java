@@ -0,0 +1,52 @@
+package parser;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import parser.symbol.OperationMemo;
+
+@RunWith(Parameterized.class)
+public class OperationMemoIntegrationTest {
+
+    private final String inputString;
+
+    public OperationMemoIntegrationTest(String inputString) {
+        this.inputString = inputString;
+    }
+
+    @Parameters
+    public static List<Object[]> getParameters() {
+        // Evaluating with a global memo agrees with evaluating without one on the evaluator's inputs.
+        return ExpressionEvaluatorIntegrationTest.getParameters();
+    }
+
+    @After
+    public void tearDown() {
+        OperationMemo.setGlobal(null);
+    }
+
+    @Test
+    public void testOperationMemo() {
+        // ARRANGE
+        Object expectedOutcome = ValueOutcomes.getOutcome(() -> ExpressionEvaluator.evaluate(inputString));
+        Object expectedTreeOutcome = ValueOutcomes.getOutcome(() -> ExpressionParser.parse(inputString).getValue());
+        OperationMemo memo = new OperationMemo(16);
+        memo.enable(OperationMemo.Operator.COSINE);
+        OperationMemo.setGlobal(memo);
+        // ACTION
+        Object observedOutcome = ValueOutcomes.getOutcome(() -> ExpressionEvaluator.evaluate(inputString));
+        Object observedTreeOutcome = ValueOutcomes.getOutcome(() -> ExpressionParser.parse(inputString).getValue());
+        Object repeatedOutcome = ValueOutcomes.getOutcome(() -> ExpressionEvaluator.evaluate(inputString));
+        // ASSERT
+        Assert.assertEquals(expectedOutcome, observedOutcome);
+        Assert.assertEquals(expectedTreeOutcome, observedTreeOutcome);
+        Assert.assertEquals(expectedOutcome, repeatedOutcome);
+        Assert.assertTrue(memo.getSize() <= memo.getCapacity());
+    }
+}
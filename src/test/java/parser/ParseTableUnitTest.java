@@ -0,0 +1,59 @@
+package parser;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runner.RunWith;
+
+import lexer.token.ExpressionTokenTag;
+import parser.symbol.ExpressionNonterminalTag;
+
+@RunWith(Parameterized.class)
+public class ParseTableUnitTest {
+
+    private final int state;
+    private final ExpressionTokenTag tag;
+    private final int expectedKind;
+    private final int expectedOperand;
+
+    public ParseTableUnitTest(int state, ExpressionTokenTag tag, int expectedKind, int expectedOperand) {
+        this.state = state;
+        this.tag = tag;
+        this.expectedKind = expectedKind;
+        this.expectedOperand = expectedOperand;
+    }
+
+    @Parameters
+    public static List<Object[]> getParameters() {
+        // The compiled `ExpressionParser` table encodes a(n) ...
+        return Arrays.asList(new Object[][] {
+                // shift action
+                {0, ExpressionTokenTag.NUMBER, ParseTable.SHIFT, 3},
+                {11, ExpressionTokenTag.POWER, ParseTable.SHIFT, 6},
+                // reduce action (by the number production)
+                {3, ExpressionTokenTag.PLUS, ParseTable.REDUCE, 5},
+                // reduce action at the input's end (by the plus production)
+                {9, null, ParseTable.REDUCE, 0},
+                // accept action at the input's end
+                {1, null, ParseTable.ACCEPT, 0},
+                // default exception action
+                {0, ExpressionTokenTag.PLUS, ParseTable.ERROR, 0},
+                {1, ExpressionTokenTag.NUMBER, ParseTable.ERROR, 1},
+        });
+    }
+
+    @Test
+    public void testParseTableActions() {
+        // ARRANGE
+        ParseTable<ExpressionTokenTag, ExpressionNonterminalTag> table = ExpressionParser.getTable();
+        // ACTION
+        int entry = table.getAction(state, table.getColumn(tag));
+        // ASSERT
+        Assert.assertEquals(expectedKind, ParseTable.getKind(entry));
+        Assert.assertEquals(expectedOperand, ParseTable.getOperand(entry));
+    }
+}
@@ -0,0 +1,65 @@
+package parser;
+
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import lexer.ExpressionLexer;
+
+import parser.symbol.ExpressionNonterminal;
+
+@RunWith(Parameterized.class)
+public class ParserContextIntegrationTest {
+
+    private final String inputString;
+
+    public ParserContextIntegrationTest(String inputString) {
+        this.inputString = inputString;
+    }
+
+    @Parameters
+    public static List<Object[]> getParameters() {
+        // A reused `ParserContext` agrees with a new parser and evaluator on the evaluator's inputs.
+        return ExpressionEvaluatorIntegrationTest.getParameters();
+    }
+
+    @Test
+    public void testParserContext() {
+        // ARRANGE
+        // The context has already read inputs that fail midway and that span several lines.
+        ParserContext context = new ParserContext();
+        for (String previousInput : List.of("2 ! \n $", "cos 5\n\n  + 2^", "1 +\n 2", "3e+")) {
+            ValueOutcomes.getOutcome(() -> context.parse(previousInput).getValue());
+            ValueOutcomes.getOutcome(() -> context.evaluate(previousInput));
+        }
+        // ACTION
+        Object expectedOutcome = ValueOutcomes.getOutcome(
+            () -> ((ExpressionNonterminal) new ExpressionParser(new ExpressionLexer(inputString)).run()).getValue()
+        );
+        Object observedParserOutcome = ValueOutcomes.getOutcome(() -> context.parse(inputString).getValue());
+        Object observedEvaluatorOutcome = ValueOutcomes.getOutcome(() -> context.evaluate(inputString));
+        // ASSERT
+        Assert.assertEquals(expectedOutcome, observedParserOutcome);
+        Assert.assertEquals(expectedOutcome, observedEvaluatorOutcome);
+    }
+
+    @Test
+    public void testReset() throws Exception {
+        // ARRANGE
+        ExpressionLexer lexer = new ExpressionLexer("4 ^\n\n 3e-");
+        ExpressionParser parser = new ExpressionParser(lexer);
+        ValueOutcomes.getOutcome(() -> ((ExpressionNonterminal) parser.run()).getValue());
+        // ACTION
+        // a parser can run again once its lexer is reset to read another input (here, from a reader)
+        lexer.reset(new StringReader(inputString));
+        parser.reset();
+        Object observedOutcome = ValueOutcomes.getOutcome(() -> ((ExpressionNonterminal) parser.run()).getValue());
+        // ASSERT
+        Assert.assertEquals(ValueOutcomes.getOutcome(() -> ExpressionEvaluator.evaluate(inputString)), observedOutcome);
+    }
+}
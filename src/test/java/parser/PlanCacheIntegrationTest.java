@@ -0,0 +1,51 @@
+package parser;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class PlanCacheIntegrationTest {
+
+    private final String inputString;
+
+    public PlanCacheIntegrationTest(String inputString) {
+        this.inputString = inputString;
+    }
+
+    @Parameters
+    public static List<Object[]> getParameters() {
+        // Evaluating by reduction plans agrees with the evaluator on the evaluator's inputs.
+        return ExpressionEvaluatorIntegrationTest.getParameters();
+    }
+
+    @Test
+    public void testPlanCache() {
+        // ARRANGE
+        // The cache already holds the plans of other inputs, including one of the same shape with other numbers.
+        PlanCache cache = new PlanCache(8);
+        ParserContext context = new ParserContext();
+        String otherInput = ValueOutcomes.replaceDigits(inputString, 4);
+        for (String previousInput : List.of("2 ! \n $", "cos 5\n\n  + 2^", "3 ^ 2", otherInput)) {
+            ValueOutcomes.getOutcome(() -> context.evaluate(previousInput, cache));
+        }
+        long hitCount = cache.getHitCount();
+        // ACTION
+        Object expectedOutcome = ValueOutcomes.getOutcome(() -> ExpressionEvaluator.evaluate(inputString));
+        Object observedOutcome = ValueOutcomes.getOutcome(() -> context.evaluate(inputString, cache));
+        Object repeatedOutcome = ValueOutcomes.getOutcome(() -> context.evaluate(inputString, cache));
+        // ASSERT
+        Assert.assertEquals(expectedOutcome, observedOutcome);
+        Assert.assertEquals(expectedOutcome, repeatedOutcome);
+        // a valid input finds the plan that the input with other numbers recorded
+        if (expectedOutcome instanceof Double) {
+            Assert.assertEquals(hitCount + 2, cache.getHitCount());
+        }
+        Assert.assertTrue(cache.getPlanCount() <= cache.getCapacity());
+        Assert.assertTrue(cache.getMemoryUsage() > 0 || cache.getPlanCount() == 0);
+    }
+}
@@ -0,0 +1,122 @@
+package parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import lexer.ExpressionLexer;
+
+@RunWith(Parameterized.class)
+public class PlanCacheUnitTest {
+
+    // the number of threads that store plans of the same shape at once, and the number of times they do
+    private static final int THREAD_COUNT = 8;
+    private static final int ROUND_COUNT = 200;
+
+    private final String inputString;
+
+    public PlanCacheUnitTest(String inputString) {
+        this.inputString = inputString;
+    }
+
+    @Parameters
+    public static List<Object[]> getParameters() {
+        // A cache holds a single plan of a shape, however many evaluators store one, for an accepted input of ...
+        return Arrays.asList(new Object[][] {
+                // a number
+                {"5"},
+                // a binary operation
+                {"1 + 2"},
+                // every operator
+                {"cos 3 ^ 2 - 4! + 6"},
+                // a right-associative chain
+                {"2 ^ 3 ^ 2"},
+        });
+    }
+
+    /**
+     * Records plans of the input's shape with distinct evaluators, as threads that miss on the shape at once would.
+     * @param count the number of plans
+     * @return the plans
+     * @throws Exception the lexer throws an exception
+     */
+    private List<ReductionPlan> recordPlans(int count) throws Exception {
+        List<ReductionPlan> plans = new ArrayList<>(count);
+        for (int shift = 0; shift < count; shift++) {
+            ExpressionLexer lexer = new ExpressionLexer("");
+            PlanEvaluator planEvaluator = new PlanEvaluator(lexer, new ExpressionEvaluator(lexer));
+            Assert.assertTrue(planEvaluator.scan(ValueOutcomes.replaceDigits(inputString, shift)));
+            ReductionPlan plan = planEvaluator.findPlan(new PlanCache(2));
+            Assert.assertNotNull(plan);
+            plans.add(plan);
+        }
+        return plans;
+    }
+
+    @Test
+    public void testSameShape() throws Exception {
+        // ARRANGE
+        List<ReductionPlan> plans = recordPlans(2);
+        PlanCache cache = new PlanCache(8);
+        // ACTION
+        for (ReductionPlan plan : plans) {
+            cache.put(plan);
+        }
+        // ASSERT
+        // the second plan of the shape is no new plan and evicts nothing
+        Assert.assertNotSame(plans.get(0), plans.get(1));
+        Assert.assertEquals(1, cache.getPlanCount());
+        Assert.assertEquals(0, cache.getEvictionCount());
+        Assert.assertEquals(plans.get(0).getMemoryUsage(), cache.getMemoryUsage());
+    }
+
+    @Test
+    public void testConcurrentPut() throws Exception {
+        // ARRANGE
+        List<ReductionPlan> plans = recordPlans(THREAD_COUNT);
+        PlanCache[] caches = new PlanCache[ROUND_COUNT];
+        for (int round = 0; round < ROUND_COUNT; round++) {
+            caches[round] = new PlanCache(8);
+        }
+        // the threads start each round together, so their insertions of the shape race
+        CyclicBarrier barrier = new CyclicBarrier(THREAD_COUNT);
+        Throwable[] failures = new Throwable[THREAD_COUNT];
+        Thread[] threads = new Thread[THREAD_COUNT];
+        for (int index = 0; index < THREAD_COUNT; index++) {
+            int thread = index;
+            threads[index] = new Thread(() -> {
+                try {
+                    for (PlanCache cache : caches) {
+                        barrier.await();
+                        cache.put(plans.get(thread));
+                    }
+                } catch (Throwable throwable) {
+                    failures[thread] = throwable;
+                }
+            });
+        }
+        // ACTION
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // ASSERT
+        for (Throwable failure : failures) {
+            Assert.assertNull(failure);
+        }
+        for (PlanCache cache : caches) {
+            Assert.assertEquals(1, cache.getPlanCount());
+            Assert.assertEquals(0, cache.getEvictionCount());
+            Assert.assertEquals(plans.get(0).getMemoryUsage(), cache.getMemoryUsage());
+        }
+    }
+}
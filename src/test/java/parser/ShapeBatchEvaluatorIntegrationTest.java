@@ -0,0 +1,67 @@
+package parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class ShapeBatchEvaluatorIntegrationTest {
+
+    private final boolean vectorized;
+
+    public ShapeBatchEvaluatorIntegrationTest(boolean vectorized) {
+        this.vectorized = vectorized;
+    }
+
+    @Parameters
+    public static List<Object[]> getParameters() {
+        return List.of(new Object[]{false}, new Object[]{true});
+    }
+
+    @Test
+    public void testBatch() {
+        // ARRANGE
+        // The batch has each of the evaluator's inputs with several sets of numbers, so its shapes have many lanes.
+        ColumnKernel kernel = vectorized ? ColumnKernel.getDefault() : ScalarColumnKernel.INSTANCE;
+        Assume.assumeTrue(kernel.isVectorized() == vectorized);
+        List<String> inputs = new ArrayList<>();
+        for (int shift = 0; shift < 9; shift++) {
+            for (Object[] parameters : ExpressionEvaluatorIntegrationTest.getParameters()) {
+                inputs.add(ValueOutcomes.replaceDigits((String) parameters[0], shift));
+            }
+        }
+        ShapeBatchEvaluator evaluator = new ShapeBatchEvaluator(new PlanCache(), kernel);
+        Exception[] failures = new Exception[inputs.size()];
+        // ACTION
+        double[] values = evaluator.evaluate(inputs, failures);
+        // ASSERT
+        for (int index = 0; index < inputs.size(); index++) {
+            String input = inputs.get(index);
+            int finalIndex = index;
+            Object expectedOutcome = ValueOutcomes.getOutcome(() -> ExpressionEvaluator.evaluate(input));
+            Object observedOutcome = ValueOutcomes.getOutcome(() -> {
+                if (failures[finalIndex] != null) {
+                    throw failures[finalIndex];
+                }
+                return values[finalIndex];
+            });
+            if (
+                vectorized &&
+                expectedOutcome instanceof Double expected &&
+                observedOutcome instanceof Double observed
+            ) {
+                // the vector API bounds a power's error instead of matching `Math.pow` bit for bit
+                Assert.assertEquals(input, expected, observed, Math.abs(expected) * 1e-12);
+            } else {
+                Assert.assertEquals(input, expectedOutcome, observedOutcome);
+            }
+        }
+        Assert.assertEquals(evaluator.isVectorized(), vectorized);
+    }
+}
@@ -0,0 +1,63 @@
+package parser;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runner.RunWith;
+
+import lexer.ExpressionLexer;
+import lexer.TokenBuffer;
+import lexer.TokenBufferLexer;
+import parser.symbol.ExpressionNonterminal;
+
+@RunWith(Parameterized.class)
+public class TokenBufferIntegrationTest {
+
+    private final String inputString;
+
+    public TokenBufferIntegrationTest(String inputString) {
+        this.inputString = inputString;
+    }
+
+    @Parameters
+    public static List<Object[]> getParameters() {
+        // Replaying a `TokenBuffer` into an `ExpressionParser` agrees with parsing the input directly on the
+        // evaluator's inputs.
+        return ExpressionEvaluatorIntegrationTest.getParameters();
+    }
+
+    @Test
+    public void testTokenBuffer() {
+        // ARRANGE
+        // The buffer starts with the smallest capacity so that it must grow, and holds another input's tokens so that
+        // `fill` must clear it.
+        TokenBuffer buffer = new TokenBuffer(1);
+        // ACTION
+        Object expectedOutcome = ValueOutcomes.getOutcome(() -> ExpressionParser.parse(inputString).getValue());
+        Object observedOutcome = ValueOutcomes.getOutcome(() -> {
+            buffer.fill(new ExpressionLexer("1 + 2 ^ 3"));
+            buffer.fill(new ExpressionLexer(inputString));
+            return parse(new TokenBufferLexer(buffer));
+        });
+        Object observedReplayOutcome = ValueOutcomes.getOutcome(() -> {
+            // replay the buffer twice with one lexer
+            TokenBufferLexer lexer = new TokenBufferLexer(buffer);
+            parse(lexer);
+            lexer.rewind();
+            return parse(lexer);
+        });
+        // ASSERT
+        // The outcomes are exactly equal values or exceptions of the same class and position.
+        Assert.assertEquals(expectedOutcome, observedOutcome);
+        if (!(expectedOutcome instanceof String outcome && outcome.startsWith("lexer."))) {
+            Assert.assertEquals(expectedOutcome, observedReplayOutcome);
+        }
+    }
+
+    private static double parse(TokenBufferLexer lexer) throws Exception {
+        return ((ExpressionNonterminal) new ExpressionParser(lexer).run()).getValue();
+    }
+}
@@ -0,0 +1,53 @@
+package parser;
+
+import main.PositionedException;
+
+/**
+ * A class to compare parsers and evaluators by their outcomes on an input, and on inputs of the same shape.
+ */
+class ValueOutcomes {
+
+    /**
+     * A functional interface for a computation of an expression's value.
+     */
+    interface ValueComputation {
+        double compute() throws Exception;
+    }
+
+    /**
+     * Represents the outcome of a computation as a comparable string: its value or its exception's class and position.
+     * @param computation a computation
+     * @return the outcome's representation
+     */
+    static Object getOutcome(ValueComputation computation) {
+        try {
+            return computation.compute();
+        } catch (PositionedException exception) {
+            return String.format(
+                "%s %d:%d",
+                exception.getClass().getName(),
+                exception.getLineNumber(),
+                exception.getCharacterNumber()
+            );
+        } catch (Exception exception) {
+            return exception.getClass().getName();
+        }
+    }
+
+    /**
+     * Replaces each digit of an input with another digit, which keeps the input's shape (and its positions).
+     * @param input an input
+     * @param shift the number by which to shift each nonzero digit
+     * @return the input with other numbers
+     */
+    static String replaceDigits(String input, int shift) {
+        StringBuilder builder = new StringBuilder(input);
+        for (int index = 0; index < builder.length(); index++) {
+            char character = builder.charAt(index);
+            if (character >= '1' && character <= '9') {
+                builder.setCharAt(index, (char) ('1' + (character - '1' + shift) % 9));
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,208 @@
+package parser.symbol;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class OperationMemoUnitTest {
+
+    private final OperationMemo.Operator operator;
+
+    public OperationMemoUnitTest(OperationMemo.Operator operator) {
+        this.operator = operator;
+    }
+
+    @Parameters
+    public static List<Object[]> getParameters() {
+        // A memo holds exact values and disables itself when its hit ratio is too low for ...
+        return Arrays.asList(new Object[][] {
+                {OperationMemo.Operator.FACTORIAL},
+                {OperationMemo.Operator.COSINE},
+                {OperationMemo.Operator.POWER},
+        });
+    }
+
+    @After
+    public void tearDown() {
+        OperationMemo.setGlobal(null);
+    }
+
+    /**
+     * Computes an operator's value through its nonterminal's static method (which consults the global memo).
+     * @param operand an operand (the base of a power, whose exponent is `1.5`)
+     * @return the value
+     */
+    private double compute(double operand) {
+        switch (operator) {
+            case FACTORIAL:
+                return FactorialNonterminal.factorial(operand);
+            case COSINE:
+                return CosineNonterminal.cosine(operand);
+            default:
+                return PowerNonterminal.power(operand, 1.5);
+        }
+    }
+
+    /**
+     * @param operand an operand
+     * @return the operator's value without a memo
+     */
+    private double computeDirectly(double operand) {
+        switch (operator) {
+            case FACTORIAL:
+                return FactorialNonterminal.computeFactorial(operand);
+            case COSINE:
+                return Math.cos(operand);
+            default:
+                return Math.pow(operand, 1.5);
+        }
+    }
+
+    @Test
+    public void testRepeatedOperand() {
+        // ARRANGE
+        OperationMemo memo = new OperationMemo(64);
+        OperationMemo.setGlobal(memo);
+        boolean enabledByDefault = memo.isEnabled(operator);
+        memo.enable(operator);
+        double operand = 170;
+        // ACTION
+        for (int count = 0; count < OperationMemo.SAMPLE_SIZE; count++) {
+            Assert.assertEquals(
+                Double.doubleToRawLongBits(computeDirectly(operand)),
+                Double.doubleToRawLongBits(compute(operand))
+            );
+        }
+        // ASSERT
+        // a cosine costs less than a lookup, so the memo only holds cosines on request
+        Assert.assertEquals(operator != OperationMemo.Operator.COSINE, enabledByDefault);
+        Assert.assertTrue(memo.isEnabled(operator));
+        Assert.assertEquals(OperationMemo.SAMPLE_SIZE - 1, memo.getHitCount(operator));
+        Assert.assertEquals(1, memo.getMissCount(operator));
+        Assert.assertEquals(1, memo.getSize());
+    }
+
+    @Test
+    public void testDistinctOperands() {
+        // ARRANGE
+        // the memo has a single slot, so alternating operands evict each other (and only the first miss is compulsory)
+        OperationMemo memo = new OperationMemo(1);
+        OperationMemo.setGlobal(memo);
+        memo.enable(operator);
+        // ACTION
+        for (int count = 0; count <= OperationMemo.SAMPLE_SIZE; count++) {
+            double operand = OperationMemo.MIN_FACTORIAL_OPERAND + count % 2;
+            Assert.assertEquals(
+                Double.doubleToRawLongBits(computeDirectly(operand)),
+                Double.doubleToRawLongBits(compute(operand))
+            );
+        }
+        long lookupCount = memo.getHitCount(operator) + memo.getMissCount(operator);
+        compute(20);
+        // ASSERT
+        // every lookup misses, so the memo disables itself for the operator and stops counting its lookups, unless the
+        // operator is one that the memo holds only on request
+        boolean forced = operator == OperationMemo.Operator.COSINE;
+        Assert.assertEquals(forced, memo.isEnabled(operator));
+        Assert.assertEquals(OperationMemo.SAMPLE_SIZE + 1, lookupCount);
+        Assert.assertEquals(lookupCount + (forced ? 1 : 0), memo.getHitCount(operator) + memo.getMissCount(operator));
+        Assert.assertTrue(memo.getSize() <= memo.getCapacity());
+        Assert.assertEquals(
+            memo.getMissCount(operator) - memo.getSize(),
+            memo.getEvictionCount()
+        );
+    }
+
+    @Test
+    public void testCompulsoryMisses() {
+        // ARRANGE
+        // more distinct operands than a sample, each first looked up in an empty slot of a table large enough that
+        // they rarely share a slot
+        OperationMemo memo = new OperationMemo(1 << 20);
+        OperationMemo.setGlobal(memo);
+        memo.enable(operator);
+        int operandCount = 2 * OperationMemo.SAMPLE_SIZE;
+        // ACTION
+        for (int pass = 0; pass < 2; pass++) {
+            for (int count = 0; count < operandCount; count++) {
+                compute(OperationMemo.MIN_FACTORIAL_OPERAND + count);
+            }
+        }
+        // ASSERT
+        // the warm-up's compulsory misses do not disable the memo, so the second pass mostly hits
+        Assert.assertTrue(memo.isEnabled(operator));
+        Assert.assertTrue(memo.getHitCount(operator) > operandCount * 0.9);
+    }
+
+    @Test
+    public void testReprobe() {
+        // ARRANGE
+        // the memo disables itself on a workload that always misses
+        OperationMemo memo = new OperationMemo(1);
+        OperationMemo.setGlobal(memo);
+        memo.enable(operator);
+        for (int count = 0; count <= OperationMemo.SAMPLE_SIZE; count++) {
+            compute(OperationMemo.MIN_FACTORIAL_OPERAND + count % 2);
+        }
+        boolean forced = operator == OperationMemo.Operator.COSINE;
+        Assert.assertEquals(forced, memo.isEnabled(operator));
+        // ACTION
+        // the workload then repeats a single operand
+        double operand = OperationMemo.MIN_FACTORIAL_OPERAND;
+        for (int count = 1; count < OperationMemo.REPROBE_INTERVAL; count++) {
+            compute(operand);
+        }
+        boolean enabledBeforeReprobe = memo.isEnabled(operator);
+        compute(operand);
+        long hitCount = memo.getHitCount(operator);
+        for (int count = 0; count < OperationMemo.SAMPLE_SIZE; count++) {
+            compute(operand);
+        }
+        // ASSERT
+        // after `REPROBE_INTERVAL` bypassed calls the memo samples the operator again, and its hits keep it enabled
+        Assert.assertEquals(forced, enabledBeforeReprobe);
+        Assert.assertTrue(memo.isEnabled(operator));
+        Assert.assertTrue(memo.getHitCount(operator) - hitCount >= OperationMemo.SAMPLE_SIZE - 1);
+    }
+
+    @Test
+    public void testSmallFactorial() {
+        // ARRANGE
+        OperationMemo memo = new OperationMemo();
+        OperationMemo.setGlobal(memo);
+        // ACTION
+        long value = FactorialNonterminal.factorial(5);
+        // ASSERT
+        // the memo skips the factorials of small operands
+        Assert.assertEquals(120, value);
+        Assert.assertEquals(0, memo.getHitCount(OperationMemo.Operator.FACTORIAL));
+        Assert.assertEquals(0, memo.getMissCount(OperationMemo.Operator.FACTORIAL));
+    }
+
+    @Test
+    public void testExactFactorial() {
+        // ARRANGE
+        OperationMemo memo = new OperationMemo();
+        OperationMemo.setGlobal(memo);
+        // ACTION
+        long missValue = FactorialNonterminal.factorial(20);
+        long hitValue = FactorialNonterminal.factorial(20);
+        long overflowedValue = FactorialNonterminal.factorial(21);
+        // ASSERT
+        // `20!` is exact, and the memo returns the same `long` for a factorial that overflows as computing it does
+        Assert.assertEquals(2432902008176640000L, missValue);
+        Assert.assertEquals(2432902008176640000L, hitValue);
+        Assert.assertEquals(FactorialNonterminal.computeFactorial(21), overflowedValue);
+        Assert.assertEquals(FactorialNonterminal.computeFactorial(21), FactorialNonterminal.factorial(21));
+        Assert.assertEquals(2, memo.getHitCount(OperationMemo.Operator.FACTORIAL));
+        Assert.assertEquals(2, memo.getMissCount(OperationMemo.Operator.FACTORIAL));
+        Assert.assertEquals(2, memo.getSize());
+    }
+}
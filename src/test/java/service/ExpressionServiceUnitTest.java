@@ -0,0 +1,136 @@
+package service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import main.PositionedException;
+
+import parser.ExpressionEvaluator;
+
+@RunWith(Parameterized.class)
+public class ExpressionServiceUnitTest {
+
+    // the number of copies of the input that `evaluateAll` evaluates
+    private static final int BATCH_SIZE = 200;
+
+    private final String inputString;
+
+    public ExpressionServiceUnitTest(String inputString) {
+        this.inputString = inputString;
+    }
+
+    @Parameters
+    public static List<Object[]> getParameters() {
+        // `ExpressionService` agrees with `ExpressionEvaluator` (on every entry point) on ...
+        return Arrays.asList(new Object[][] {
+                // valid expressions
+                {"30"},
+                {"3.06e+2\n^-.89+5!-cos3!\n"},
+                {"cos cos 5! ^ 2 - 93 + 4!"},
+                // an invalid token
+                {"2.445\n6e-10"},
+                // an invalid lexeme
+                {"3e+"},
+                // an empty input
+                {""},
+        });
+    }
+
+    /**
+     * A functional interface for a computation of an expression's value.
+     */
+    private interface ValueComputation {
+        Object compute() throws Exception;
+    }
+
+    /**
+     * Represents the outcome of a computation as a comparable object: its value or its exception's class and position.
+     * @param computation a computation
+     * @return the outcome's representation
+     */
+    private static Object getOutcome(ValueComputation computation) {
+        try {
+            return computation.compute();
+        } catch (CompletionException exception) {
+            return getOutcome(() -> { throw (Exception) exception.getCause(); });
+        } catch (PositionedException exception) {
+            return String.format(
+                "%s %d:%d",
+                exception.getClass().getName(),
+                exception.getLineNumber(),
+                exception.getCharacterNumber()
+            );
+        } catch (Exception exception) {
+            return exception.getClass().getName();
+        }
+    }
+
+    @Test
+    public void testExpressionService() {
+        // ARRANGE
+        ExpressionService defaultService = new ExpressionService();
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        ExpressionService executorService = new ExpressionService(executor);
+        // The batch interleaves the input with valid inputs, so failures and values complete in any order.
+        List<String> batch = new ArrayList<>();
+        for (int index = 0; index < BATCH_SIZE; index++) {
+            batch.add(index % 2 == 0 ? inputString : "1 + " + index);
+        }
+        // ACTION
+        Object expectedOutcome = getOutcome(() -> ExpressionEvaluator.evaluate(inputString));
+        Object observedOutcome = getOutcome(() -> defaultService.evaluate(inputString));
+        Object observedAsyncOutcome = getOutcome(() -> defaultService.evaluateAsync(inputString).join());
+        Object observedExecutorOutcome = getOutcome(() -> executorService.evaluateAsync(inputString).join());
+        Object observedBatchOutcome = getOutcome(() -> defaultService.evaluateAll(batch));
+        Object observedExecutorBatchOutcome = getOutcome(() -> executorService.evaluateAll(batch));
+        defaultService.close();
+        executorService.close();
+        // ASSERT
+        Assert.assertEquals(expectedOutcome, observedOutcome);
+        Assert.assertEquals(expectedOutcome, observedAsyncOutcome);
+        Assert.assertEquals(expectedOutcome, observedExecutorOutcome);
+        // `evaluateAll` returns the values in order or throws the first failure's exception
+        Object expectedBatchOutcome = expectedOutcome;
+        if (expectedOutcome instanceof Double value) {
+            List<Double> values = new ArrayList<>();
+            for (int index = 0; index < BATCH_SIZE; index++) {
+                values.add(index % 2 == 0 ? value : 1.0 + index);
+            }
+            expectedBatchOutcome = values;
+        }
+        Assert.assertEquals(expectedBatchOutcome, observedBatchOutcome);
+        Assert.assertEquals(expectedBatchOutcome, observedExecutorBatchOutcome);
+        // closing a service does not shut down a caller's executor
+        Assert.assertFalse(executor.isShutdown());
+        executor.shutdown();
+    }
+
+    @Test
+    public void testContextReuse() {
+        // ARRANGE
+        // An executor that runs each task on a new thread (as a virtual-thread executor does) still reuses a context.
+        ExpressionService service = new ExpressionService(task -> new Thread(task).start());
+        // ACTION
+        Object expectedOutcome = getOutcome(() -> ExpressionEvaluator.evaluate(inputString));
+        List<Object> observedOutcomes = new ArrayList<>();
+        for (int index = 0; index < BATCH_SIZE; index++) {
+            observedOutcomes.add(getOutcome(() -> service.evaluateAsync(inputString).join()));
+        }
+        // ASSERT
+        for (Object observedOutcome : observedOutcomes) {
+            Assert.assertEquals(expectedOutcome, observedOutcome);
+        }
+        // the evaluations run one after another, so they all borrow the same context
+        Assert.assertEquals(1, service.getCreatedContextCount());
+    }
+}
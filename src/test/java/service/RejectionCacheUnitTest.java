@@ -0,0 +1,178 @@
+package service;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import main.PositionedException;
+
+import parser.ExpressionEvaluator;
+
+@RunWith(Parameterized.class)
+public class RejectionCacheUnitTest {
+
+    private final String inputString;
+
+    public RejectionCacheUnitTest(String inputString) {
+        this.inputString = inputString;
+    }
+
+    @Parameters
+    public static List<Object[]> getParameters() {
+        // A service with a cache of rejected inputs agrees with `ExpressionEvaluator` on an input, whether or not the
+        // cache holds its rejection, on ...
+        return Arrays.asList(new Object[][] {
+                // valid expressions
+                {"30"},
+                {"cos cos 5! ^ 2 - 93 + 4!"},
+                // invalid tokens
+                {"2.445\n6e-10"},
+                {"1 +\n\n+ 2"},
+                // invalid lexemes
+                {"3e+"},
+                {"cos 5 + co"},
+                // an empty input
+                {""},
+        });
+    }
+
+    /**
+     * A functional interface for a computation of an expression's value.
+     */
+    private interface ValueComputation {
+        Object compute() throws Exception;
+    }
+
+    /**
+     * Represents the outcome of a computation as a comparable object: its value or its exception's class, position and
+     * message.
+     * @param computation a computation
+     * @return the outcome's representation
+     */
+    private static Object getOutcome(ValueComputation computation) {
+        try {
+            return computation.compute();
+        } catch (PositionedException exception) {
+            return String.format(
+                "%s %d:%d %s",
+                exception.getClass().getName(),
+                exception.getLineNumber(),
+                exception.getCharacterNumber(),
+                exception.getMessage()
+            );
+        } catch (Exception exception) {
+            return exception.getClass().getName();
+        }
+    }
+
+    @Test
+    public void testRejectionCache() {
+        // ARRANGE
+        RejectionCache cache = new RejectionCache(8);
+        ExpressionService service = new ExpressionService(Runnable::run, null, null, cache);
+        // ACTION
+        Object expectedOutcome = getOutcome(() -> ExpressionEvaluator.evaluate(inputString));
+        Object missOutcome = getOutcome(() -> service.evaluate(inputString));
+        Object hitOutcome = getOutcome(() -> service.evaluate(inputString));
+        RejectionCache.Rejection rejection = cache.find(inputString);
+        // ASSERT
+        Assert.assertEquals(expectedOutcome, missOutcome);
+        Assert.assertEquals(expectedOutcome, hitOutcome);
+        if (expectedOutcome instanceof Double) {
+            // a valid input is never a rejection
+            Assert.assertNull(rejection);
+            Assert.assertEquals(0, cache.getHitCount());
+            Assert.assertEquals(3, cache.getMissCount());
+            Assert.assertEquals(0, cache.getSize());
+        } else {
+            // the rejection reports the failure without an exception
+            Assert.assertEquals(
+                expectedOutcome,
+                String.format(
+                    "%s %d:%d %s",
+                    rejection.getExceptionClass().getName(),
+                    rejection.getLineNumber(),
+                    rejection.getCharacterNumber(),
+                    rejection.getMessage()
+                )
+            );
+            Assert.assertEquals(inputString, rejection.getInputString());
+            Assert.assertEquals(2, cache.getHitCount());
+            Assert.assertEquals(1, cache.getMissCount());
+            Assert.assertEquals(1, cache.getSize());
+        }
+    }
+
+    @Test
+    public void testCollision() {
+        // ARRANGE
+        // Inputs with equal hashes ("Aa" and "BB" have equal hashes) are different rejections, and a full set evicts.
+        RejectionCache cache = new RejectionCache(2);
+        ExpressionService service = new ExpressionService(Runnable::run, null, null, cache);
+        String collidingInputString = inputString + "BB";
+        String otherInputString = inputString + "Aa";
+        String thirdInputString = inputString + "C#";
+        // ACTION
+        Object expectedOutcome = getOutcome(() -> ExpressionEvaluator.evaluate(collidingInputString));
+        getOutcome(() -> service.evaluate(otherInputString));
+        Object missOutcome = getOutcome(() -> service.evaluate(collidingInputString));
+        getOutcome(() -> service.evaluate(thirdInputString));
+        // ASSERT
+        Assert.assertEquals(otherInputString.hashCode(), collidingInputString.hashCode());
+        Assert.assertEquals(expectedOutcome, missOutcome);
+        Assert.assertEquals(0, cache.getHitCount());
+        Assert.assertEquals(3, cache.getMissCount());
+        Assert.assertEquals(2, cache.getSize());
+        Assert.assertEquals(1, cache.getEvictionCount());
+    }
+
+    /**
+     * @param computation a computation
+     * @return the exception that the computation throws, or `null` if it completes
+     */
+    private static Exception getException(ValueComputation computation) {
+        try {
+            computation.compute();
+            return null;
+        } catch (Exception exception) {
+            return exception;
+        }
+    }
+
+    @Test
+    public void testDistinctRethrows() {
+        // ARRANGE
+        RejectionCache cache = new RejectionCache(8);
+        ExpressionService service = new ExpressionService(Runnable::run, null, null, cache);
+        // ACTION
+        Exception missException = getException(() -> service.evaluate(inputString));
+        Exception firstHitException = getException(() -> service.evaluate(inputString));
+        Exception secondHitException = getException(() -> service.evaluate(inputString));
+        // ASSERT
+        if (missException == null) {
+            Assert.assertNull(firstHitException);
+            Assert.assertNull(secondHitException);
+        } else {
+            // each hit throws a new exception of the same class and message, never the cached one
+            Assert.assertNotSame(missException, firstHitException);
+            Assert.assertNotSame(missException, secondHitException);
+            Assert.assertNotSame(firstHitException, secondHitException);
+            Assert.assertEquals(missException.getClass(), secondHitException.getClass());
+            Assert.assertEquals(missException.getMessage(), secondHitException.getMessage());
+            // a hit captures no stack trace, unlike the original failure
+            Assert.assertTrue(missException.getStackTrace().length > 0);
+            Assert.assertEquals(0, secondHitException.getStackTrace().length);
+            PositionedException missPositioned = (PositionedException) missException;
+            PositionedException hitPositioned = (PositionedException) secondHitException;
+            Assert.assertEquals(missPositioned.getLineNumber(), hitPositioned.getLineNumber());
+            Assert.assertEquals(missPositioned.getCharacterNumber(), hitPositioned.getCharacterNumber());
+            Assert.assertEquals(missPositioned.getDescription(), hitPositioned.getDescription());
+            Assert.assertEquals(2, cache.getHitCount());
+        }
+    }
+}
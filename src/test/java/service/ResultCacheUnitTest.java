@@ -0,0 +1,124 @@
+package service;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import main.PositionedException;
+
+import parser.ExpressionEvaluator;
+
+@RunWith(Parameterized.class)
+public class ResultCacheUnitTest {
+
+    private final String inputString;
+    private final String respacedInputString;
+
+    public ResultCacheUnitTest(String inputString, String respacedInputString) {
+        this.inputString = inputString;
+        this.respacedInputString = respacedInputString;
+    }
+
+    @Parameters
+    public static List<Object[]> getParameters() {
+        // A service with a cache of outcomes agrees with `ExpressionEvaluator` on an input and on the input with other
+        // whitespace, whether or not the cache holds either's outcome, on ...
+        return Arrays.asList(new Object[][] {
+                // valid expressions
+                {"30", " 30\n"},
+                {"3.06e+2\n^-.89+5!-cos3!\n", "3.06e+2 ^-.89+5!-cos3!"},
+                {"cos cos 5! ^ 2 - 93 + 4!", "cos\tcos  5!\n^ 2 - 93 + 4!"},
+                // an invalid token
+                {"2.445\n6e-10", "  2.445 6e-10"},
+                // an invalid lexeme
+                {"3e+", "\n\n3e+"},
+                {"1 + 3e 5", "1 +\n3e 5"},
+                // an empty input
+                {"", " \n "},
+        });
+    }
+
+    /**
+     * A functional interface for a computation of an expression's value.
+     */
+    private interface ValueComputation {
+        Object compute() throws Exception;
+    }
+
+    /**
+     * Represents the outcome of a computation as a comparable object: its value or its exception's class, position and
+     * message.
+     * @param computation a computation
+     * @return the outcome's representation
+     */
+    private static Object getOutcome(ValueComputation computation) {
+        try {
+            return computation.compute();
+        } catch (PositionedException exception) {
+            return String.format(
+                "%s %d:%d %s",
+                exception.getClass().getName(),
+                exception.getLineNumber(),
+                exception.getCharacterNumber(),
+                exception.getMessage()
+            );
+        } catch (Exception exception) {
+            return exception.getClass().getName();
+        }
+    }
+
+    @Test
+    public void testResultCache() {
+        // ARRANGE
+        ResultCache cache = new ResultCache(64);
+        ExpressionService service = new ExpressionService(Runnable::run, null, cache);
+        // ACTION
+        Object expectedOutcome = getOutcome(() -> ExpressionEvaluator.evaluate(inputString));
+        Object expectedRespacedOutcome = getOutcome(() -> ExpressionEvaluator.evaluate(respacedInputString));
+        Object missOutcome = getOutcome(() -> service.evaluate(inputString));
+        Object hitOutcome = getOutcome(() -> service.evaluate(inputString));
+        Object respacedOutcome = getOutcome(() -> service.evaluate(respacedInputString));
+        Object repeatedRespacedOutcome = getOutcome(() -> service.evaluate(respacedInputString));
+        // ASSERT
+        Assert.assertEquals(expectedOutcome, missOutcome);
+        Assert.assertEquals(expectedOutcome, hitOutcome);
+        Assert.assertEquals(expectedRespacedOutcome, respacedOutcome);
+        Assert.assertEquals(expectedRespacedOutcome, repeatedRespacedOutcome);
+        // a value is shared by inputs with other whitespace, but an exception only replays for its exact input
+        if (expectedOutcome instanceof Double) {
+            Assert.assertEquals(3, cache.getHitCount());
+            Assert.assertEquals(1, cache.getMissCount());
+        } else {
+            Assert.assertEquals(2, cache.getHitCount());
+            Assert.assertEquals(2, cache.getMissCount());
+        }
+        Assert.assertEquals(1, cache.getSize());
+    }
+
+    @Test
+    public void testAdmission() {
+        // ARRANGE
+        // A cache of one entry per segment keeps a recurring input over a stream of one-off inputs.
+        ResultCache cache = new ResultCache(16);
+        ExpressionService service = new ExpressionService(Runnable::run, null, cache);
+        // ACTION
+        Object expectedOutcome = getOutcome(() -> ExpressionEvaluator.evaluate(inputString));
+        for (int index = 0; index < 1000; index++) {
+            getOutcome(() -> service.evaluate(inputString));
+            int number = index;
+            getOutcome(() -> service.evaluate(Integer.toString(number)));
+        }
+        long hitCount = cache.getHitCount();
+        Object observedOutcome = getOutcome(() -> service.evaluate(inputString));
+        // ASSERT
+        Assert.assertEquals(expectedOutcome, observedOutcome);
+        Assert.assertEquals(hitCount + 1, cache.getHitCount());
+        Assert.assertTrue(cache.getSize() <= cache.getMaximumSize());
+        Assert.assertTrue(cache.getRejectionCount() > 0);
+    }
+}
@@ -0,0 +1,63 @@
+package parser;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * A class to represent the column kernel of the incubating vector API, which processes as many lanes per instruction
+ * as the platform's preferred vector shape holds and the remaining lanes in a scalar loop.
+ * Sums and differences equal the scalar kernel's bit for bit; the vector API only bounds the error of `POW` (to an ulp
+ * of `Math.pow`), so a power may differ from the scalar evaluators' in its last bit. Only the `vector` build profile
+ * compiles this class, and `ColumnKernel.getDefault` loads it reflectively, and only if the JVM has resolved
+ * `jdk.incubator.vector`.
+ */
+final class VectorColumnKernel implements ColumnKernel {
+
+    // the platform's preferred species of double vectors
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void add(double[] first, double[] second, double[] result, int length) {
+        int index = 0;
+        for (int bound = SPECIES.loopBound(length); index < bound; index += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, first, index)
+                .add(DoubleVector.fromArray(SPECIES, second, index))
+                .intoArray(result, index);
+        }
+        for (; index < length; index++) {
+            result[index] = first[index] + second[index];
+        }
+    }
+
+    @Override
+    public void subtract(double[] first, double[] second, double[] result, int length) {
+        int index = 0;
+        for (int bound = SPECIES.loopBound(length); index < bound; index += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, first, index)
+                .sub(DoubleVector.fromArray(SPECIES, second, index))
+                .intoArray(result, index);
+        }
+        for (; index < length; index++) {
+            result[index] = first[index] - second[index];
+        }
+    }
+
+    @Override
+    public void power(double[] first, double[] second, double[] result, int length) {
+        int index = 0;
+        for (int bound = SPECIES.loopBound(length); index < bound; index += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, first, index)
+                .lanewise(VectorOperators.POW, DoubleVector.fromArray(SPECIES, second, index))
+                .intoArray(result, index);
+        }
+        for (; index < length; index++) {
+            result[index] = Math.pow(first[index], second[index]);
+        }
+    }
+
+    @Override
+    public boolean isVectorized() {
+        return true;
+    }
+}